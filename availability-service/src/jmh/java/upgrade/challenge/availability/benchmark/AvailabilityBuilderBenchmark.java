@@ -0,0 +1,64 @@
+package upgrade.challenge.availability.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import upgrade.challenge.availability.domain.CampsiteOccupancy;
+import upgrade.challenge.availability.v1.service.CampsiteOccupancyIndex;
+import upgrade.challenge.availability.v1.service.CampsiteOccupancyService;
+import upgrade.challenge.availability.v1.service.DailyAvailabilityService;
+import upgrade.challenge.availability.v1.v1.dto.AvailabilityDto;
+import upgrade.challenge.availability.v1.v1.helper.AvailabilityBuilder;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.time.temporal.ChronoUnit.DAYS;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AvailabilityBuilderBenchmark {
+
+    @Param({"7", "30", "365"})
+    private int windowDays;
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    private int occupancyCount;
+
+    private AvailabilityBuilder availabilityBuilder;
+    private Instant searchEndDate;
+
+    @Setup
+    public void setUp() {
+        final List<CampsiteOccupancy> campsiteOccupancies = CampsiteOccupancies.generate(occupancyCount, windowDays);
+        final CampsiteOccupancyService campsiteOccupancyService = new CampsiteOccupancyService(null, null, null, null) {
+            @Override
+            public List<CampsiteOccupancy> getAllBetweenDates(final Instant arrivalDate, final Instant departureDate) {
+                return campsiteOccupancies;
+            }
+        };
+
+        availabilityBuilder = new AvailabilityBuilder(new CampsiteOccupancyIndex(null, false),
+                campsiteOccupancyService,
+                new DailyAvailabilityService(null, false));
+        searchEndDate = CampsiteOccupancies.SEARCH_START_DATE.plus(windowDays - 1L, DAYS);
+    }
+
+    @Benchmark
+    public List<AvailabilityDto> searchAvailabilities() {
+        return availabilityBuilder.searchAvailabilities(CampsiteOccupancies.SEARCH_START_DATE, searchEndDate);
+    }
+}
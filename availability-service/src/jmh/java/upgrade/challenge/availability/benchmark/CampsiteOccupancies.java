@@ -0,0 +1,40 @@
+package upgrade.challenge.availability.benchmark;
+
+import upgrade.challenge.availability.domain.CampsiteOccupancy;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static java.time.temporal.ChronoUnit.DAYS;
+
+final class CampsiteOccupancies {
+
+    static final Instant SEARCH_START_DATE = Instant.parse("2030-01-01T00:00:00Z");
+
+    private static final long SEED = 42L;
+    private static final int MAXIMUM_STAY_DAYS = 3;
+
+    private CampsiteOccupancies() {
+    }
+
+    static List<CampsiteOccupancy> generate(final int occupancyCount, final int windowDays) {
+        final SplittableRandom random = new SplittableRandom(SEED);
+        final List<CampsiteOccupancy> campsiteOccupancies = new ArrayList<>(occupancyCount);
+
+        for (int i = 0; i < occupancyCount; i++) {
+            final Instant arrivalDate = SEARCH_START_DATE.plus(random.nextInt(windowDays), DAYS).plusSeconds(12L * 3600L);
+            final Instant departureDate = arrivalDate.plus(random.nextInt(MAXIMUM_STAY_DAYS), DAYS).plusSeconds(7L * 3600L);
+
+            campsiteOccupancies.add(CampsiteOccupancy.builder()
+                    .id((long) i)
+                    .reservationId((long) i)
+                    .arrivalDate(arrivalDate)
+                    .departureDate(departureDate)
+                    .build());
+        }
+
+        return campsiteOccupancies;
+    }
+}
@@ -0,0 +1,113 @@
+package upgrade.challenge.availability.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
+import upgrade.challenge.availability.domain.CampsiteOccupancy;
+import upgrade.challenge.availability.repository.CampsiteOccupancyRepository;
+import upgrade.challenge.availability.validator.CampsiteOccupancyValidator;
+
+import java.lang.reflect.Proxy;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static java.time.temporal.ChronoUnit.DAYS;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CampsiteOccupancyValidatorBenchmark {
+
+    @Param({"7", "30", "365"})
+    private int windowDays;
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    private int occupancyCount;
+
+    private static final int BATCH_SIZE = 50;
+
+    private CampsiteOccupancyValidator campsiteOccupancyValidator;
+    private CampsiteOccupancy campsiteOccupancy;
+    private List<CampsiteOccupancy> campsiteOccupancyBatch;
+
+    @Setup
+    public void setUp() {
+        final List<CampsiteOccupancy> campsiteOccupancies = CampsiteOccupancies.generate(occupancyCount, windowDays);
+
+        campsiteOccupancy = CampsiteOccupancy.builder()
+                .reservationId(-1L)
+                .arrivalDate(CampsiteOccupancies.SEARCH_START_DATE.plus(windowDays / 2L, DAYS))
+                .departureDate(CampsiteOccupancies.SEARCH_START_DATE.plus(windowDays / 2L + 2L, DAYS))
+                .build();
+        campsiteOccupancyBatch = CampsiteOccupancies.generate(BATCH_SIZE, windowDays).stream()
+                .map(batchCampsiteOccupancy -> batchCampsiteOccupancy.setReservationId(-batchCampsiteOccupancy.getReservationId() - 1L))
+                .collect(Collectors.toList());
+
+        final Instant batchArrivalDate = campsiteOccupancyBatch.stream()
+                .map(CampsiteOccupancy::getArrivalDate)
+                .min(Comparator.naturalOrder())
+                .orElseThrow();
+        final Instant batchDepartureDate = campsiteOccupancyBatch.stream()
+                .map(CampsiteOccupancy::getDepartureDate)
+                .max(Comparator.naturalOrder())
+                .orElseThrow();
+        final boolean overlappingOccupancyExists = campsiteOccupancies.stream()
+                .anyMatch(existing -> overlaps(existing, campsiteOccupancy.getArrivalDate(), campsiteOccupancy.getDepartureDate()));
+        final List<CampsiteOccupancy> batchOverlappingOccupancies = campsiteOccupancies.stream()
+                .filter(existing -> overlaps(existing, batchArrivalDate, batchDepartureDate))
+                .collect(Collectors.toUnmodifiableList());
+
+        campsiteOccupancyValidator = new CampsiteOccupancyValidator(
+                buildCampsiteOccupancyRepository(overlappingOccupancyExists, batchOverlappingOccupancies));
+    }
+
+    @Benchmark
+    public Errors validate() {
+        final Errors errors = new BeanPropertyBindingResult(campsiteOccupancy, "campsiteOccupancy");
+        campsiteOccupancyValidator.validate(campsiteOccupancy, errors);
+
+        return errors;
+    }
+
+    @Benchmark
+    public List<Errors> validateAll() {
+        return campsiteOccupancyValidator.validateAll(campsiteOccupancyBatch);
+    }
+
+    private static CampsiteOccupancyRepository buildCampsiteOccupancyRepository(final boolean overlappingOccupancyExists,
+                                                                                final List<CampsiteOccupancy> batchOverlappingOccupancies) {
+        return (CampsiteOccupancyRepository) Proxy.newProxyInstance(CampsiteOccupancyRepository.class.getClassLoader(),
+                new Class<?>[]{CampsiteOccupancyRepository.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "existsOverlappingOccupancy":
+                            return overlappingOccupancyExists;
+                        case "findAllOverlappingOccupancies":
+                            return batchOverlappingOccupancies;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private static boolean overlaps(final CampsiteOccupancy campsiteOccupancy, final Instant arrivalDate, final Instant departureDate) {
+        return !campsiteOccupancy.getArrivalDate().isAfter(departureDate)
+                && !arrivalDate.isAfter(campsiteOccupancy.getDepartureDate());
+    }
+}
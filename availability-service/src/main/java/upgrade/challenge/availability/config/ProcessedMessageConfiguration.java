@@ -0,0 +1,24 @@
+package upgrade.challenge.availability.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import upgrade.challenge.common.repository.ProcessedMessageRepository;
+import upgrade.challenge.common.service.ProcessedMessageProperties;
+import upgrade.challenge.common.service.ProcessedMessageService;
+
+@Configuration
+public class ProcessedMessageConfiguration {
+
+    @Bean
+    @ConfigurationProperties(prefix = "availability.dedupe")
+    public ProcessedMessageProperties processedMessageProperties() {
+        return new ProcessedMessageProperties();
+    }
+
+    @Bean
+    public ProcessedMessageService processedMessageService(final ProcessedMessageRepository processedMessageRepository,
+                                                           final ProcessedMessageProperties processedMessageProperties) {
+        return new ProcessedMessageService(processedMessageRepository, processedMessageProperties);
+    }
+}
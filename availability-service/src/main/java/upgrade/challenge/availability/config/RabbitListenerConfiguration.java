@@ -5,11 +5,23 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.springframework.amqp.rabbit.annotation.RabbitListenerConfigurer;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistrar;
+import org.springframework.amqp.support.converter.ContentTypeDelegatingMessageConverter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.converter.MappingJackson2MessageConverter;
 import org.springframework.messaging.handler.annotation.support.DefaultMessageHandlerMethodFactory;
+import org.springframework.retry.interceptor.RetryOperationsInterceptor;
+import upgrade.challenge.common.config.VirtualThreadConfiguration;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
 
 @Configuration
 public class RabbitListenerConfiguration implements RabbitListenerConfigurer {
@@ -40,4 +52,42 @@ public class RabbitListenerConfiguration implements RabbitListenerConfigurer {
         converter.setObjectMapper(objectMapper);
         return converter;
     }
+
+    @Bean
+    public SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(final SimpleRabbitListenerContainerFactoryConfigurer configurer,
+                                                                               final ConnectionFactory connectionFactory,
+                                                                               final ContentTypeDelegatingMessageConverter eventMessageConverter,
+                                                                               final RetryOperationsInterceptor retryQueueInterceptor,
+                                                                               @Qualifier(VirtualThreadConfiguration.VIRTUAL_THREAD_EXECUTOR) final ObjectProvider<Executor> virtualThreadExecutor) {
+        final SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setMessageConverter(eventMessageConverter);
+        factory.setDefaultRequeueRejected(false);
+        factory.setAdviceChain(retryQueueInterceptor);
+        virtualThreadExecutor.ifAvailable(factory::setTaskExecutor);
+        return factory;
+    }
+
+    @Bean
+    public SimpleRabbitListenerContainerFactory batchRabbitListenerContainerFactory(final SimpleRabbitListenerContainerFactoryConfigurer configurer,
+                                                                                    final ConnectionFactory connectionFactory,
+                                                                                    final ContentTypeDelegatingMessageConverter eventMessageConverter,
+                                                                                    final RetryOperationsInterceptor retryQueueInterceptor,
+                                                                                    @Qualifier(VirtualThreadConfiguration.VIRTUAL_THREAD_EXECUTOR) final ObjectProvider<Executor> virtualThreadExecutor,
+                                                                                    @Value("${availability.consumer.batch.size:50}") final int batchSize,
+                                                                                    @Value("${availability.consumer.batch.prefetch:250}") final int prefetch,
+                                                                                    @Value("${availability.consumer.batch.receive-timeout:1s}") final Duration receiveTimeout) {
+        final SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setMessageConverter(eventMessageConverter);
+        factory.setDefaultRequeueRejected(false);
+        factory.setAdviceChain(retryQueueInterceptor);
+        virtualThreadExecutor.ifAvailable(factory::setTaskExecutor);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setPrefetchCount(Math.max(prefetch, batchSize));
+        factory.setReceiveTimeout(receiveTimeout.toMillis());
+        return factory;
+    }
 }
@@ -1,15 +1,21 @@
 package upgrade.challenge.availability.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.amqp.core.MessageProperties;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.ContentTypeDelegatingMessageConverter;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import upgrade.challenge.availability.domain.EventType;
+import upgrade.challenge.common.messaging.converter.Jackson2CborMessageConverter;
 
 import java.util.Map;
+import java.util.Optional;
 
 @Configuration
 public class RabbitPublisherConfiguration {
@@ -20,9 +26,31 @@ public class RabbitPublisherConfiguration {
     }
 
     @Bean
-    public RabbitTemplate rabbitTemplate(final ConnectionFactory connectionFactory, final ObjectMapper objectMapper) {
+    public Jackson2CborMessageConverter jackson2CborMessageConverter() {
+        return new Jackson2CborMessageConverter();
+    }
+
+    @Bean
+    public ContentTypeDelegatingMessageConverter eventMessageConverter(final Jackson2JsonMessageConverter jackson2JsonMessageConverter,
+                                                                       final Jackson2CborMessageConverter jackson2CborMessageConverter,
+                                                                       @Value("${availability.messaging.content-type:application/json}") final String contentType) {
+        final Map<String, MessageConverter> convertersByContentType = Map.of(
+                MessageProperties.CONTENT_TYPE_JSON, jackson2JsonMessageConverter,
+                Jackson2CborMessageConverter.CONTENT_TYPE_CBOR, jackson2CborMessageConverter
+        );
+        final MessageConverter publishedMessageConverter = Optional.ofNullable(convertersByContentType.get(contentType))
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported event message content type " + contentType));
+        final ContentTypeDelegatingMessageConverter eventMessageConverter = new ContentTypeDelegatingMessageConverter(publishedMessageConverter);
+        convertersByContentType.forEach(eventMessageConverter::addDelegate);
+
+        return eventMessageConverter;
+    }
+
+    @Bean
+    public RabbitTemplate rabbitTemplate(final ConnectionFactory connectionFactory, final ContentTypeDelegatingMessageConverter eventMessageConverter) {
         final RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory);
-        rabbitTemplate.setMessageConverter(jackson2JsonMessageConverter(objectMapper));
+        rabbitTemplate.setMessageConverter(eventMessageConverter);
+        rabbitTemplate.setMandatory(true);
 
         return rabbitTemplate;
     }
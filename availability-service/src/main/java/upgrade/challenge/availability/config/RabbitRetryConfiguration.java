@@ -0,0 +1,51 @@
+package upgrade.challenge.availability.config;
+
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.rabbit.config.RetryInterceptorBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.retry.interceptor.RetryOperationsInterceptor;
+import upgrade.challenge.availability.v1.messaging.retry.RetryQueueMessageRecoverer;
+import upgrade.challenge.availability.v1.messaging.retry.RetryQueues;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+public class RabbitRetryConfiguration {
+
+    private static final String DEFAULT_EXCHANGE = "";
+
+    @Bean
+    public Declarables retryDeclarables(@Value("${availability.consumer.retry.max-retries:3}") final int maxRetries,
+                                        @Value("${availability.consumer.retry.initial-interval:1s}") final Duration initialInterval,
+                                        @Value("${availability.consumer.retry.multiplier:5}") final double multiplier) {
+        final List<Declarable> declarables = new ArrayList<>();
+
+        RetryQueues.CONSUMED_QUEUE_NAMES.forEach(queueName -> {
+            for (int retryCount = 1; retryCount <= maxRetries; retryCount++) {
+                declarables.add(QueueBuilder.durable(RetryQueues.getRetryQueueName(queueName, retryCount))
+                        .ttl((int) (initialInterval.toMillis() * Math.pow(multiplier, retryCount - 1)))
+                        .deadLetterExchange(DEFAULT_EXCHANGE)
+                        .deadLetterRoutingKey(queueName)
+                        .build());
+            }
+
+            declarables.add(QueueBuilder.durable(RetryQueues.getDeadLetterQueueName(queueName)).build());
+        });
+
+        return new Declarables(declarables);
+    }
+
+    @Bean
+    public RetryOperationsInterceptor retryQueueInterceptor(final RetryQueueMessageRecoverer retryQueueMessageRecoverer) {
+        return RetryInterceptorBuilder.stateless()
+                .maxAttempts(1)
+                .recoverer(retryQueueMessageRecoverer)
+                .build();
+    }
+}
@@ -0,0 +1,62 @@
+package upgrade.challenge.availability.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.time.Duration;
+
+@Configuration
+public class ReactiveRepositoryConfiguration implements DisposableBean {
+
+    private static final String JDBC_URL_PREFIX = "jdbc:";
+    private static final String R2DBC_URL_PREFIX = "r2dbc:";
+    private static final String URL_QUERY_SEPARATOR = "?";
+
+    private final ConnectionPool connectionPool;
+
+    @Autowired
+    public ReactiveRepositoryConfiguration(DataSourceProperties dataSourceProperties,
+                                           @Value("${availability.reactive.pool.max-size:10}") int maxPoolSize,
+                                           @Value("${availability.reactive.pool.max-idle-time:30m}") Duration maxIdleTime) {
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(buildConnectionFactoryOptions(dataSourceProperties)))
+                .initialSize(0)
+                .maxSize(maxPoolSize)
+                .maxIdleTime(maxIdleTime)
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient() {
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+
+    private static ConnectionFactoryOptions buildConnectionFactoryOptions(final DataSourceProperties dataSourceProperties) {
+        final ConnectionFactoryOptions.Builder optionsBuilder = ConnectionFactoryOptions
+                .parse(R2DBC_URL_PREFIX + StringUtils.substringBefore(
+                        StringUtils.removeStart(dataSourceProperties.getUrl(), JDBC_URL_PREFIX), URL_QUERY_SEPARATOR))
+                .mutate()
+                .option(ConnectionFactoryOptions.USER, dataSourceProperties.getUsername());
+
+        if (StringUtils.isNotEmpty(dataSourceProperties.getPassword())) {
+            optionsBuilder.option(ConnectionFactoryOptions.PASSWORD, dataSourceProperties.getPassword());
+        }
+
+        return optionsBuilder.build();
+    }
+}
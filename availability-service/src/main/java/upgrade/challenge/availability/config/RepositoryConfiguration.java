@@ -1,11 +1,19 @@
 package upgrade.challenge.availability.config;
 
+import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
+import upgrade.challenge.availability.domain.CampsiteOccupancy;
+import upgrade.challenge.availability.repository.CampsiteOccupancyRepository;
+import upgrade.challenge.common.domain.ProcessedMessage;
+import upgrade.challenge.common.repository.ProcessedMessageRepository;
 
 @Configuration
 @EnableJpaAuditing
+@EnableJpaRepositories(basePackageClasses = {CampsiteOccupancyRepository.class, ProcessedMessageRepository.class})
 @EnableTransactionManagement
+@EntityScan(basePackageClasses = {CampsiteOccupancy.class, ProcessedMessage.class})
 public class RepositoryConfiguration {
 }
@@ -0,0 +1,12 @@
+package upgrade.challenge.availability.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import upgrade.challenge.common.config.VirtualThreadConfiguration;
+
+@Configuration
+@ConditionalOnProperty(name = "availability.virtual-threads.enabled", havingValue = "true")
+@Import(VirtualThreadConfiguration.class)
+public class ThreadingConfiguration {
+}
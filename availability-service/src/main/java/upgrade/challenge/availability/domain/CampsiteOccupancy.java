@@ -24,7 +24,8 @@ import java.time.Instant;
 public class CampsiteOccupancy {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "campsite_occupancy_id_generator")
+    @SequenceGenerator(name = "campsite_occupancy_id_generator", sequenceName = "campsite_occupancy_id_seq", allocationSize = 50)
     private Long id;
 
     @NotNull
@@ -0,0 +1,38 @@
+package upgrade.challenge.availability.domain;
+
+import lombok.Value;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Value
+public class CampsiteOccupancyChangedEvent {
+
+    Long reservationId;
+    DayRange previousDayRange;
+    CampsiteOccupancy campsiteOccupancy;
+
+    public static CampsiteOccupancyChangedEvent created(final CampsiteOccupancy campsiteOccupancy) {
+        return new CampsiteOccupancyChangedEvent(campsiteOccupancy.getReservationId(), null, campsiteOccupancy);
+    }
+
+    public static CampsiteOccupancyChangedEvent modified(final DayRange previousDayRange, final CampsiteOccupancy campsiteOccupancy) {
+        return new CampsiteOccupancyChangedEvent(campsiteOccupancy.getReservationId(), previousDayRange, campsiteOccupancy);
+    }
+
+    public static CampsiteOccupancyChangedEvent cancelled(final CampsiteOccupancy campsiteOccupancy) {
+        return new CampsiteOccupancyChangedEvent(campsiteOccupancy.getReservationId(), DayRange.ofOccupancy(campsiteOccupancy), null);
+    }
+
+    public boolean isCancelled() {
+        return campsiteOccupancy == null;
+    }
+
+    public List<DayRange> getAffectedDayRanges() {
+        return Stream.of(Optional.ofNullable(previousDayRange), Optional.ofNullable(campsiteOccupancy).map(DayRange::ofOccupancy))
+                .flatMap(Optional::stream)
+                .collect(Collectors.toList());
+    }
+}
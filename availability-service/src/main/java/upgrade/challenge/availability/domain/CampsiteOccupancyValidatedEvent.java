@@ -0,0 +1,18 @@
+package upgrade.challenge.availability.domain;
+
+import lombok.Value;
+
+@Value
+public class CampsiteOccupancyValidatedEvent {
+
+    CampsiteOccupancy campsiteOccupancy;
+    EventType eventType;
+
+    public static CampsiteOccupancyValidatedEvent confirmed(final CampsiteOccupancy campsiteOccupancy) {
+        return new CampsiteOccupancyValidatedEvent(campsiteOccupancy, EventType.CAMPSITE_RESERVED);
+    }
+
+    public static CampsiteOccupancyValidatedEvent rejected(final CampsiteOccupancy campsiteOccupancy) {
+        return new CampsiteOccupancyValidatedEvent(campsiteOccupancy, EventType.CAMPSITE_RESERVATION_ROLLBACK);
+    }
+}
@@ -0,0 +1,27 @@
+package upgrade.challenge.availability.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.validation.constraints.NotNull;
+import java.time.LocalDate;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Accessors(chain = true)
+@Entity
+public class DailyAvailability {
+
+    @Id
+    private LocalDate calendarDay;
+
+    @NotNull
+    private Integer occupancyCount;
+}
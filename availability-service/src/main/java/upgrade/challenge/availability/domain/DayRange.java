@@ -0,0 +1,56 @@
+package upgrade.challenge.availability.domain;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+@Value
+public class DayRange {
+
+    private static final long SECONDS_PER_DAY = 86_400L;
+
+    long firstDay;
+    long endDay;
+
+    public static DayRange ofOccupancy(final Instant arrivalDate, final Instant departureDate) {
+        return new DayRange(toEpochDay(arrivalDate), toEpochDay(departureDate) + 1L);
+    }
+
+    public static DayRange ofOccupancy(final CampsiteOccupancy campsiteOccupancy) {
+        return ofOccupancy(campsiteOccupancy.getArrivalDate(), campsiteOccupancy.getDepartureDate());
+    }
+
+    public static DayRange ofSearch(final Instant searchStartDate, final Instant searchEndDate) {
+        final long firstDay = toEpochDay(searchStartDate);
+        final long endDay = toEpochDayCeiling(searchEndDate);
+
+        return new DayRange(firstDay, Math.max(firstDay, endDay));
+    }
+
+    public static long toEpochDay(final Instant instant) {
+        return Math.floorDiv(instant.getEpochSecond(), SECONDS_PER_DAY);
+    }
+
+    public static Instant toInstant(final long epochDay) {
+        return Instant.ofEpochSecond(epochDay * SECONDS_PER_DAY);
+    }
+
+    private static long toEpochDayCeiling(final Instant instant) {
+        final long epochDay = toEpochDay(instant);
+        final boolean isStartOfDay = instant.getNano() == 0 && Math.floorMod(instant.getEpochSecond(), SECONDS_PER_DAY) == 0;
+
+        return isStartOfDay ? epochDay : epochDay + 1L;
+    }
+
+    public int length() {
+        return Math.toIntExact(endDay - firstDay);
+    }
+
+    public boolean isEmpty() {
+        return endDay <= firstDay;
+    }
+
+    public boolean overlaps(final DayRange other) {
+        return firstDay < other.endDay && other.firstDay < endDay;
+    }
+}
@@ -1,6 +1,8 @@
 package upgrade.challenge.availability.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import upgrade.challenge.availability.domain.CampsiteOccupancy;
 
@@ -11,13 +13,21 @@ import java.util.Optional;
 @Repository
 public interface CampsiteOccupancyRepository extends JpaRepository<CampsiteOccupancy, Long> {
 
-    void deleteByReservationId(final Long reservationId);
+    List<CampsiteOccupancy> deleteByReservationId(final Long reservationId);
 
     Optional<CampsiteOccupancy> findByReservationId(final Long reservationId);
 
-    List<CampsiteOccupancy> findAllByArrivalDateLessThanEqualAndDepartureDateGreaterThanEqual(final Instant arrivalDate, final Instant departureDate);
-
-    List<CampsiteOccupancy> findAllByDepartureDateGreaterThanEqualAndDepartureDateLessThanEqual(final Instant arrivalDate, final Instant departureDate);
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM campsite_occupancy"
+            + " WHERE stay && tsrange(:arrivalDate, :departureDate, '[]')"
+            + " AND reservation_id <> :reservationId)", nativeQuery = true)
+    boolean existsOverlappingOccupancy(@Param("arrivalDate") final Instant arrivalDate,
+                                       @Param("departureDate") final Instant departureDate,
+                                       @Param("reservationId") final Long reservationId);
+
+    @Query(value = "SELECT * FROM campsite_occupancy"
+            + " WHERE stay && tsrange(:arrivalDate, :departureDate, '[]')", nativeQuery = true)
+    List<CampsiteOccupancy> findAllOverlappingOccupancies(@Param("arrivalDate") final Instant arrivalDate,
+                                                          @Param("departureDate") final Instant departureDate);
 
     List<CampsiteOccupancy> findAllByArrivalDateGreaterThanEqualAndDepartureDateLessThanEqualOrderByArrivalDate(final Instant arrivalDate, final Instant departureDate);
 }
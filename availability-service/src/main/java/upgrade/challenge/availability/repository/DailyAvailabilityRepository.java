@@ -0,0 +1,42 @@
+package upgrade.challenge.availability.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import upgrade.challenge.availability.domain.DailyAvailability;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyAvailabilityRepository extends JpaRepository<DailyAvailability, LocalDate> {
+
+    List<DailyAvailability> findAllByCalendarDayGreaterThanEqualAndCalendarDayLessThanAndOccupancyCountGreaterThan(final LocalDate firstDay,
+                                                                                                                   final LocalDate endDay,
+                                                                                                                   final Integer occupancyCount);
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_availability (calendar_day, occupancy_count)"
+            + " SELECT CAST(calendar_day AS date), 1 FROM generate_series(CAST(:firstDay AS date), CAST(:lastDay AS date), interval '1 day') AS calendar_day"
+            + " ON CONFLICT (calendar_day) DO UPDATE SET occupancy_count = daily_availability.occupancy_count + 1", nativeQuery = true)
+    void incrementOccupancyCount(@Param("firstDay") final LocalDate firstDay, @Param("lastDay") final LocalDate lastDay);
+
+    @Modifying
+    @Query(value = "UPDATE daily_availability SET occupancy_count = occupancy_count - 1"
+            + " WHERE calendar_day BETWEEN :firstDay AND :lastDay AND occupancy_count > 0", nativeQuery = true)
+    void decrementOccupancyCount(@Param("firstDay") final LocalDate firstDay, @Param("lastDay") final LocalDate lastDay);
+
+    @Modifying
+    @Query(value = "LOCK TABLE campsite_occupancy, daily_availability IN EXCLUSIVE MODE", nativeQuery = true)
+    void lockForRebuild();
+
+    @Modifying
+    @Query(value = "INSERT INTO daily_availability (calendar_day, occupancy_count)"
+            + " SELECT CAST(calendar_day AS date), COUNT(*) FROM campsite_occupancy"
+            + " CROSS JOIN LATERAL generate_series(date_trunc('day', timezone('UTC', timezone(:timeZone, arrival_date))),"
+            + " date_trunc('day', timezone('UTC', timezone(:timeZone, departure_date))), interval '1 day') AS calendar_day"
+            + " GROUP BY CAST(calendar_day AS date)", nativeQuery = true)
+    int insertAllFromCampsiteOccupancies(@Param("timeZone") final String timeZone);
+}
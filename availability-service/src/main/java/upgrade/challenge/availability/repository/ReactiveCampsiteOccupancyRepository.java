@@ -0,0 +1,44 @@
+package upgrade.challenge.availability.repository;
+
+import io.r2dbc.spi.Row;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import upgrade.challenge.availability.domain.CampsiteOccupancy;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+@Repository
+public class ReactiveCampsiteOccupancyRepository {
+
+    private static final String FIND_ALL_OVERLAPPING_OCCUPANCIES_QUERY =
+            "SELECT id, reservation_id, arrival_date, departure_date FROM campsite_occupancy"
+                    + " WHERE stay && tsrange(:arrivalDate, :departureDate, '[]')";
+
+    private final DatabaseClient databaseClient;
+
+    @Autowired
+    public ReactiveCampsiteOccupancyRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Flux<CampsiteOccupancy> findAllOverlappingOccupancies(final Instant arrivalDate, final Instant departureDate) {
+        return databaseClient.sql(FIND_ALL_OVERLAPPING_OCCUPANCIES_QUERY)
+                .bind("arrivalDate", LocalDateTime.ofInstant(arrivalDate, ZoneId.systemDefault()))
+                .bind("departureDate", LocalDateTime.ofInstant(departureDate, ZoneId.systemDefault()))
+                .map(this::mapToCampsiteOccupancy)
+                .all();
+    }
+
+    private CampsiteOccupancy mapToCampsiteOccupancy(final Row row) {
+        return CampsiteOccupancy.builder()
+                .id(row.get("id", Long.class))
+                .reservationId(row.get("reservation_id", Long.class))
+                .arrivalDate(row.get("arrival_date", LocalDateTime.class).atZone(ZoneId.systemDefault()).toInstant())
+                .departureDate(row.get("departure_date", LocalDateTime.class).atZone(ZoneId.systemDefault()).toInstant())
+                .build();
+    }
+}
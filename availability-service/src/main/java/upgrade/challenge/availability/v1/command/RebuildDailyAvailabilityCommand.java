@@ -0,0 +1,39 @@
+package upgrade.challenge.availability.v1.command;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+import upgrade.challenge.availability.v1.service.DailyAvailabilityService;
+
+@Slf4j
+@Component
+public class RebuildDailyAvailabilityCommand implements ApplicationRunner {
+
+    private static final String OPTION_NAME = "rebuild-daily-availability";
+
+    private final ConfigurableApplicationContext applicationContext;
+    private final DailyAvailabilityService dailyAvailabilityService;
+
+    @Autowired
+    public RebuildDailyAvailabilityCommand(ConfigurableApplicationContext applicationContext,
+                                           DailyAvailabilityService dailyAvailabilityService) {
+        this.applicationContext = applicationContext;
+        this.dailyAvailabilityService = dailyAvailabilityService;
+    }
+
+    @Override
+    public void run(final ApplicationArguments args) {
+        if (!args.containsOption(OPTION_NAME)) {
+            return;
+        }
+
+        final int rebuiltDayCount = dailyAvailabilityService.rebuild();
+        log.info("Rebuilt daily availability for {} occupied day(s), exiting", rebuiltDayCount);
+
+        System.exit(SpringApplication.exit(applicationContext));
+    }
+}
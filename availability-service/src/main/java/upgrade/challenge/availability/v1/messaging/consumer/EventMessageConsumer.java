@@ -1,51 +1,123 @@
 package upgrade.challenge.availability.v1.messaging.consumer;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.amqp.support.converter.ContentTypeDelegatingMessageConverter;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 import upgrade.challenge.availability.domain.CampsiteOccupancy;
 import upgrade.challenge.availability.v1.messaging.eventmessage.ReservationCancelledEvent;
 import upgrade.challenge.availability.v1.messaging.eventmessage.ReservationDateSelectionEvent;
+import upgrade.challenge.availability.v1.messaging.retry.RetryQueueMessageRecoverer;
 import upgrade.challenge.availability.v1.service.CampsiteOccupancyService;
+import upgrade.challenge.common.service.ProcessedMessageService;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Slf4j
 @Component
 public class EventMessageConsumer {
 
     private final CampsiteOccupancyService campsiteOccupancyService;
+    private final ProcessedMessageService processedMessageService;
+    private final ContentTypeDelegatingMessageConverter eventMessageConverter;
+    private final RetryQueueMessageRecoverer retryQueueMessageRecoverer;
+    private final MeterRegistry meterRegistry;
 
     @Autowired
-    public EventMessageConsumer(CampsiteOccupancyService campsiteOccupancyService) {
+    public EventMessageConsumer(CampsiteOccupancyService campsiteOccupancyService,
+                                ProcessedMessageService processedMessageService,
+                                ContentTypeDelegatingMessageConverter eventMessageConverter,
+                                RetryQueueMessageRecoverer retryQueueMessageRecoverer,
+                                MeterRegistry meterRegistry) {
         this.campsiteOccupancyService = campsiteOccupancyService;
+        this.processedMessageService = processedMessageService;
+        this.eventMessageConverter = eventMessageConverter;
+        this.retryQueueMessageRecoverer = retryQueueMessageRecoverer;
+        this.meterRegistry = meterRegistry;
     }
 
     @RabbitListener(queues = {"event.reservation.cancelled"})
-    public void consumeReservationCancelledEventMessage(@Payload ReservationCancelledEvent eventMessage) {
+    public void consumeReservationCancelledEventMessage(@Payload ReservationCancelledEvent eventMessage,
+                                                        @Header(name = AmqpHeaders.MESSAGE_ID, required = false) String messageId) {
+        consume("event.reservation.cancelled", () -> processedMessageService
+                .processOnce(messageId, () -> campsiteOccupancyService.cancel(eventMessage.getReservationId())));
+    }
+
+    @RabbitListener(queues = {"event.reservation.created"}, autoStartup = "#{!${availability.consumer.batch.enabled:false}}")
+    public void consumeReservationDateSelectionEventMessage(@Payload ReservationDateSelectionEvent eventMessage,
+                                                            @Header(name = AmqpHeaders.MESSAGE_ID, required = false) String messageId) {
+        consume("event.reservation.created", () -> processedMessageService
+                .processOnce(messageId, () -> campsiteOccupancyService.create(buildCampsiteOccupancy(eventMessage))));
+    }
+
+    @RabbitListener(queues = {"event.reservation.created"}, containerFactory = "batchRabbitListenerContainerFactory",
+            autoStartup = "${availability.consumer.batch.enabled:false}")
+    public void consumeReservationDateSelectionEventMessages(final List<Message> messages) {
         try {
-            campsiteOccupancyService.cancel(eventMessage.getReservationId());
-        } catch (Exception e) {
-            // TODO: 2022-01-29 Replace try/catch with proper configuration
+            final List<String> messageIds = messages.stream()
+                    .map(message -> message.getMessageProperties().getMessageId())
+                    .collect(Collectors.toList());
+            final List<ReservationDateSelectionEvent> eventMessages = messages.stream()
+                    .map(this::toReservationDateSelectionEvent)
+                    .collect(Collectors.toList());
+
+            consume("event.reservation.created", () -> processedMessageService
+                    .processAllOnce(messageIds, eventMessages, newEventMessages -> campsiteOccupancyService
+                            .createAll(newEventMessages.stream()
+                                    .map(this::buildCampsiteOccupancy)
+                                    .collect(Collectors.toList()))));
+        } catch (RuntimeException e) {
+            log.warn("Batch of {} messages from event.reservation.created failed, processing them one at a time", messages.size(), e);
+            messages.forEach(this::consumeReservationDateSelectionEventMessage);
         }
     }
 
-    @RabbitListener(queues = {"event.reservation.created"})
-    public void consumeReservationDateSelectionEventMessage(@Payload ReservationDateSelectionEvent eventMessage) {
+    @RabbitListener(queues = {"event.reservation.modified"})
+    public void consumeReservationModifiedEventMessage(@Payload ReservationDateSelectionEvent eventMessage,
+                                                       @Header(name = AmqpHeaders.MESSAGE_ID, required = false) String messageId) {
+        consume("event.reservation.modified", () -> processedMessageService
+                .processOnce(messageId, () -> campsiteOccupancyService
+                        .updateOccupancyDates(eventMessage.getReservationId(), buildCampsiteOccupancy(eventMessage))));
+    }
+
+    private void consume(final String queueName, final Runnable consumption) {
+        final Timer.Sample sample = Timer.start(meterRegistry);
+
         try {
-            campsiteOccupancyService.create(buildCampsiteOccupancy(eventMessage));
-        } catch (Exception e) {
-            // TODO: 2022-01-29 Replace try/catch with proper configuration
+            consumption.run();
+            sample.stop(meterRegistry.timer("availability.consumer.processing", "queue", queueName, "result", "success"));
+        } catch (RuntimeException e) {
+            sample.stop(meterRegistry.timer("availability.consumer.processing", "queue", queueName, "result", "error"));
+            meterRegistry.counter("availability.consumer.errors", "queue", queueName, "exception", e.getClass().getSimpleName())
+                    .increment();
+            throw e;
         }
     }
 
-    @RabbitListener(queues = {"event.reservation.modified"})
-    public void consumeReservationModifiedEventMessage(@Payload ReservationDateSelectionEvent eventMessage) {
+    private void consumeReservationDateSelectionEventMessage(final Message message) {
         try {
-            campsiteOccupancyService.updateOccupancyDates(eventMessage.getReservationId(), buildCampsiteOccupancy(eventMessage));
-        } catch (Exception e) {
-            // TODO: 2022-01-29 Replace try/catch with proper configuration
+            final ReservationDateSelectionEvent eventMessage = toReservationDateSelectionEvent(message);
+
+            consumeReservationDateSelectionEventMessage(eventMessage, message.getMessageProperties().getMessageId());
+        } catch (RuntimeException e) {
+            retryQueueMessageRecoverer.recover(message, e);
         }
     }
 
+    private ReservationDateSelectionEvent toReservationDateSelectionEvent(final Message message) {
+        message.getMessageProperties().setInferredArgumentType(ReservationDateSelectionEvent.class);
+
+        return (ReservationDateSelectionEvent) eventMessageConverter.fromMessage(message);
+    }
+
     private CampsiteOccupancy buildCampsiteOccupancy(final ReservationDateSelectionEvent reservationDateSelectionEvent) {
         return CampsiteOccupancy.builder()
                 .reservationId(reservationDateSelectionEvent.getReservationId())
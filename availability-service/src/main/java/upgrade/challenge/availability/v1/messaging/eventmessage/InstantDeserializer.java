@@ -13,6 +13,10 @@ public class InstantDeserializer extends JsonDeserializer<Instant> {
 
     @Override
     public Instant deserialize(JsonParser jsonParser, DeserializationContext deserializationContext) throws IOException {
+        if (jsonParser.currentToken().isNumeric()) {
+            return Instant.ofEpochMilli(jsonParser.getLongValue());
+        }
+
         return Instant.parse(jsonParser.getText());
     }
 }
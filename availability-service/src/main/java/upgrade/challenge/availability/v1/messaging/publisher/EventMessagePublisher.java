@@ -1,29 +1,131 @@
 package upgrade.challenge.availability.v1.messaging.publisher;
 
-import lombok.SneakyThrows;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import upgrade.challenge.availability.domain.EventType;
 
+import java.time.Duration;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
 
+@Slf4j
 @Component
 public class EventMessagePublisher {
 
     private final Map<EventType, Queue> queuesByEventType;
     private final RabbitTemplate rabbitTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore inFlightPermits;
+    private final Duration inFlightTimeout;
+    private final Map<String, PendingEventMessage> inFlightEventMessages = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<PendingEventMessage> pendingEventMessages = new ConcurrentLinkedQueue<>();
+    private final Counter retriedEventMessages;
 
     @Autowired
     public EventMessagePublisher(Map<EventType, Queue> queuesByEventType,
-                                 RabbitTemplate rabbitTemplate) {
+                                 RabbitTemplate rabbitTemplate,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${availability.publisher.max-in-flight:500}") int maxInFlight,
+                                 @Value("${availability.publisher.in-flight-timeout:5s}") Duration inFlightTimeout) {
         this.queuesByEventType = queuesByEventType;
         this.rabbitTemplate = rabbitTemplate;
+        this.meterRegistry = meterRegistry;
+        this.inFlightPermits = new Semaphore(maxInFlight);
+        this.inFlightTimeout = inFlightTimeout;
+        this.retriedEventMessages = meterRegistry.counter("availability.publisher.retried");
+
+        meterRegistry.gaugeMapSize("availability.publisher.in-flight", Tags.empty(), inFlightEventMessages);
+        meterRegistry.gaugeCollectionSize("availability.publisher.pending", Tags.empty(), pendingEventMessages);
     }
 
-    @SneakyThrows
     public void publishEvent(final Object eventMessage, final EventType eventType) {
-        rabbitTemplate.convertAndSend(queuesByEventType.get(eventType).getName(), eventMessage);
+        final MessageProperties messageProperties = new MessageProperties();
+        messageProperties.setMessageId(UUID.randomUUID().toString());
+        final PendingEventMessage pendingEventMessage = new PendingEventMessage(queuesByEventType.get(eventType).getName(),
+                rabbitTemplate.getMessageConverter().toMessage(eventMessage, messageProperties));
+
+        if (acquireInFlightPermit()) {
+            send(pendingEventMessage);
+        } else {
+            log.warn("Too many unconfirmed event messages, queuing message to {} for retry", pendingEventMessage.routingKey());
+            pendingEventMessages.add(pendingEventMessage);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${availability.publisher.retry-interval-millis:1000}")
+    public void retryPendingEventMessages() {
+        for (int remaining = pendingEventMessages.size(); remaining > 0 && inFlightPermits.tryAcquire(); remaining--) {
+            final PendingEventMessage pendingEventMessage = pendingEventMessages.poll();
+
+            if (pendingEventMessage == null) {
+                inFlightPermits.release();
+                return;
+            }
+
+            retriedEventMessages.increment();
+            send(pendingEventMessage);
+        }
+    }
+
+    private boolean acquireInFlightPermit() {
+        try {
+            return inFlightPermits.tryAcquire(inFlightTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void send(final PendingEventMessage pendingEventMessage) {
+        final CorrelationData correlationData = new CorrelationData();
+        final Timer.Sample sample = Timer.start(meterRegistry);
+        inFlightEventMessages.put(correlationData.getId(), pendingEventMessage);
+
+        correlationData.getFuture().addCallback(
+                confirm -> onConfirm(correlationData, sample, confirm != null && confirm.isAck() && correlationData.getReturned() == null),
+                throwable -> onConfirm(correlationData, sample, false));
+
+        try {
+            rabbitTemplate.send(pendingEventMessage.routingKey(), pendingEventMessage.message(), correlationData);
+        } catch (AmqpException e) {
+            correlationData.getFuture().setException(e);
+        }
+    }
+
+    private void onConfirm(final CorrelationData correlationData, final Timer.Sample sample, final boolean confirmed) {
+        final PendingEventMessage pendingEventMessage = inFlightEventMessages.remove(correlationData.getId());
+
+        if (pendingEventMessage == null) {
+            return;
+        }
+
+        inFlightPermits.release();
+        sample.stop(meterRegistry.timer("availability.publisher.latency",
+                "queue", pendingEventMessage.routingKey(), "result", confirmed ? "confirmed" : "unconfirmed"));
+
+        if (!confirmed) {
+            log.warn("Event message to {} was not confirmed by the broker, queuing it for retry", pendingEventMessage.routingKey());
+            pendingEventMessages.add(pendingEventMessage);
+        }
+    }
+
+    private record PendingEventMessage(String routingKey, Message message) {
     }
 }
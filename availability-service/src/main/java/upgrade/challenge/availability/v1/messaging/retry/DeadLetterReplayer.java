@@ -0,0 +1,61 @@
+package upgrade.challenge.availability.v1.messaging.retry;
+
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.GetResponse;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import upgrade.challenge.availability.exception.NotFoundException;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+@Component
+public class DeadLetterReplayer {
+
+    private static final String DEFAULT_EXCHANGE = "";
+
+    private final RabbitTemplate rabbitTemplate;
+
+    @Autowired
+    public DeadLetterReplayer(RabbitTemplate rabbitTemplate) {
+        this.rabbitTemplate = rabbitTemplate;
+    }
+
+    public int replay(final String queueName, final int limit) {
+        if (!RetryQueues.CONSUMED_QUEUE_NAMES.contains(queueName)) {
+            throw new NotFoundException();
+        }
+
+        final Integer replayedCount = rabbitTemplate.execute(channel -> {
+            int replayed = 0;
+
+            while (replayed < limit && replayOne(channel, queueName)) {
+                replayed++;
+            }
+
+            return replayed;
+        });
+
+        return Optional.ofNullable(replayedCount).orElse(0);
+    }
+
+    private boolean replayOne(final Channel channel, final String queueName) throws IOException {
+        final GetResponse getResponse = channel.basicGet(RetryQueues.getDeadLetterQueueName(queueName), false);
+
+        if (getResponse == null) {
+            return false;
+        }
+
+        final Map<String, Object> headers = new HashMap<>(Optional.ofNullable(getResponse.getProps().getHeaders()).orElse(Map.of()));
+        headers.remove(RetryQueues.RETRY_COUNT_HEADER);
+        headers.remove(RetryQueues.EXCEPTION_MESSAGE_HEADER);
+
+        channel.basicPublish(DEFAULT_EXCHANGE, queueName, getResponse.getProps().builder().headers(headers).build(), getResponse.getBody());
+        channel.basicAck(getResponse.getEnvelope().getDeliveryTag(), false);
+
+        return true;
+    }
+}
@@ -0,0 +1,90 @@
+package upgrade.challenge.availability.v1.messaging.retry;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.retry.MessageBatchRecoverer;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import upgrade.challenge.availability.exception.NotFoundException;
+import upgrade.challenge.availability.exception.ValidationException;
+
+import java.util.List;
+import java.util.Optional;
+
+@Slf4j
+@Component
+public class RetryQueueMessageRecoverer implements MessageBatchRecoverer {
+
+    private static final List<Class<? extends Throwable>> NON_RETRYABLE_EXCEPTIONS = List.of(
+            MessageConversionException.class,
+            org.springframework.messaging.converter.MessageConversionException.class,
+            NotFoundException.class
+    );
+
+    private final RabbitTemplate rabbitTemplate;
+    private final int maxRetries;
+
+    @Autowired
+    public RetryQueueMessageRecoverer(RabbitTemplate rabbitTemplate,
+                                      @Value("${availability.consumer.retry.max-retries:3}") int maxRetries) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.maxRetries = maxRetries;
+    }
+
+    @Override
+    public void recover(final List<Message> messages, final Throwable cause) {
+        messages.forEach(message -> recover(message, cause));
+    }
+
+    @Override
+    public void recover(final Message message, final Throwable cause) {
+        if (findCause(cause, List.of(ValidationException.class)).isPresent()) {
+            return;
+        }
+
+        final MessageProperties messageProperties = message.getMessageProperties();
+        final String queueName = messageProperties.getConsumerQueue();
+        final int retryCount = getRetryCount(messageProperties);
+
+        if (retryCount < maxRetries && findCause(cause, NON_RETRYABLE_EXCEPTIONS).isEmpty()) {
+            messageProperties.setHeader(RetryQueues.RETRY_COUNT_HEADER, retryCount + 1);
+            rabbitTemplate.send(RetryQueues.getRetryQueueName(queueName, retryCount + 1), message);
+        } else {
+            log.warn("Dead-lettering message from {} after {} retries", queueName, retryCount, cause);
+            messageProperties.setHeader(RetryQueues.EXCEPTION_MESSAGE_HEADER, String.valueOf(getRootCause(cause)));
+            rabbitTemplate.send(RetryQueues.getDeadLetterQueueName(queueName), message);
+        }
+    }
+
+    private int getRetryCount(final MessageProperties messageProperties) {
+        return Optional.ofNullable(messageProperties.<Number>getHeader(RetryQueues.RETRY_COUNT_HEADER))
+                .map(Number::intValue)
+                .orElse(0);
+    }
+
+    private Optional<Throwable> findCause(final Throwable throwable, final List<Class<? extends Throwable>> causeTypes) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            final Throwable currentCause = cause;
+
+            if (causeTypes.stream().anyMatch(causeType -> causeType.isInstance(currentCause))) {
+                return Optional.of(cause);
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private Throwable getRootCause(final Throwable throwable) {
+        Throwable rootCause = throwable;
+
+        while (rootCause.getCause() != null && rootCause.getCause() != rootCause) {
+            rootCause = rootCause.getCause();
+        }
+
+        return rootCause;
+    }
+}
@@ -0,0 +1,33 @@
+package upgrade.challenge.availability.v1.messaging.retry;
+
+import java.util.List;
+import java.util.Optional;
+
+public final class RetryQueues {
+
+    public static final List<String> CONSUMED_QUEUE_NAMES = List.of(
+            "event.reservation.cancelled",
+            "event.reservation.created",
+            "event.reservation.modified"
+    );
+
+    public static final String RETRY_COUNT_HEADER = "x-retry-count";
+    public static final String EXCEPTION_MESSAGE_HEADER = "x-exception-message";
+
+    private RetryQueues() {
+    }
+
+    public static String getRetryQueueName(final String queueName, final int retryCount) {
+        return queueName + ".retry." + retryCount;
+    }
+
+    public static String getDeadLetterQueueName(final String queueName) {
+        return queueName + ".dlq";
+    }
+
+    public static Optional<String> findConsumedQueueName(final String deadLetterQueueName) {
+        return CONSUMED_QUEUE_NAMES.stream()
+                .filter(queueName -> getDeadLetterQueueName(queueName).equals(deadLetterQueueName))
+                .findFirst();
+    }
+}
@@ -0,0 +1,142 @@
+package upgrade.challenge.availability.v1.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import upgrade.challenge.availability.domain.CampsiteOccupancy;
+import upgrade.challenge.availability.domain.CampsiteOccupancyChangedEvent;
+import upgrade.challenge.availability.domain.DayRange;
+import upgrade.challenge.availability.repository.CampsiteOccupancyRepository;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+public class CampsiteOccupancyIndex {
+
+    private final CampsiteOccupancyRepository campsiteOccupancyRepository;
+    private final boolean enabled;
+
+    private final Map<Long, DayRange> dayRangesByReservationId = new HashMap<>();
+    private final Map<Integer, Integer> occupancyCountsByDay = new HashMap<>();
+    private final BitSet occupiedDays = new BitSet();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private volatile boolean loaded;
+
+    @Autowired
+    public CampsiteOccupancyIndex(CampsiteOccupancyRepository campsiteOccupancyRepository,
+                                  @Value("${availability.occupancy-index.enabled:true}") boolean enabled) {
+        this.campsiteOccupancyRepository = campsiteOccupancyRepository;
+        this.enabled = enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            dayRangesByReservationId.clear();
+            occupancyCountsByDay.clear();
+            occupiedDays.clear();
+            campsiteOccupancyRepository.findAll().forEach(this::putUnderLock);
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Order(1)
+    @TransactionalEventListener
+    public void onCampsiteOccupancyChanged(final CampsiteOccupancyChangedEvent campsiteOccupancyChangedEvent) {
+        if (campsiteOccupancyChangedEvent.isCancelled()) {
+            remove(campsiteOccupancyChangedEvent.getReservationId());
+        } else {
+            put(campsiteOccupancyChangedEvent.getCampsiteOccupancy());
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public boolean isLoading() {
+        return enabled && !loaded;
+    }
+
+    public BitSet getOccupiedDays(final DayRange dayRange) {
+        if (dayRange.isEmpty()) {
+            return new BitSet();
+        }
+
+        lock.readLock().lock();
+        try {
+            return occupiedDays.get(toBitIndex(dayRange.getFirstDay()), toBitIndex(dayRange.getEndDay()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(final CampsiteOccupancy campsiteOccupancy) {
+        lock.writeLock().lock();
+        try {
+            putUnderLock(campsiteOccupancy);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(final Long reservationId) {
+        lock.writeLock().lock();
+        try {
+            final DayRange removedDayRange = dayRangesByReservationId.remove(reservationId);
+
+            if (removedDayRange != null) {
+                releaseOccupiedDays(removedDayRange);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void putUnderLock(final CampsiteOccupancy campsiteOccupancy) {
+        final DayRange dayRange = DayRange.ofOccupancy(campsiteOccupancy);
+        final DayRange previousDayRange = dayRangesByReservationId.put(campsiteOccupancy.getReservationId(), dayRange);
+
+        if (previousDayRange != null) {
+            releaseOccupiedDays(previousDayRange);
+        }
+
+        occupyDays(dayRange);
+    }
+
+    private void occupyDays(final DayRange dayRange) {
+        for (int day = toBitIndex(dayRange.getFirstDay()); day < toBitIndex(dayRange.getEndDay()); day++) {
+            occupancyCountsByDay.merge(day, 1, Integer::sum);
+            occupiedDays.set(day);
+        }
+    }
+
+    private void releaseOccupiedDays(final DayRange dayRange) {
+        for (int day = toBitIndex(dayRange.getFirstDay()); day < toBitIndex(dayRange.getEndDay()); day++) {
+            if (occupancyCountsByDay.merge(day, -1, Integer::sum) <= 0) {
+                occupancyCountsByDay.remove(day);
+                occupiedDays.clear(day);
+            }
+        }
+    }
+
+    private int toBitIndex(final long epochDay) {
+        return Math.toIntExact(Math.max(0L, epochDay));
+    }
+}
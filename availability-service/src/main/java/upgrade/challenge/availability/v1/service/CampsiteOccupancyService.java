@@ -1,11 +1,19 @@
 package upgrade.challenge.availability.v1.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 import org.springframework.util.CollectionUtils;
 import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.Errors;
 import upgrade.challenge.availability.domain.CampsiteOccupancy;
+import upgrade.challenge.availability.domain.CampsiteOccupancyChangedEvent;
+import upgrade.challenge.availability.domain.CampsiteOccupancyValidatedEvent;
+import upgrade.challenge.availability.domain.DayRange;
 import upgrade.challenge.availability.domain.EventType;
 import upgrade.challenge.availability.exception.NotFoundException;
 import upgrade.challenge.availability.exception.ValidationException;
@@ -16,19 +24,27 @@ import upgrade.challenge.availability.validator.CampsiteOccupancyValidator;
 
 import java.sql.SQLException;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class CampsiteOccupancyService {
 
+    private static final String EXCLUSION_VIOLATION_SQL_STATE = "23P01";
+
+    private final ApplicationEventPublisher applicationEventPublisher;
     private final CampsiteOccupancyRepository campsiteOccupancyRepository;
     private final CampsiteOccupancyValidator campsiteOccupancyValidator;
     private final EventMessagePublisher eventMessagePublisher;
 
     @Autowired
-    public CampsiteOccupancyService(CampsiteOccupancyRepository campsiteOccupancyRepository,
+    public CampsiteOccupancyService(ApplicationEventPublisher applicationEventPublisher,
+                                    CampsiteOccupancyRepository campsiteOccupancyRepository,
                                     CampsiteOccupancyValidator campsiteOccupancyValidator,
                                     EventMessagePublisher eventMessagePublisher) {
+        this.applicationEventPublisher = applicationEventPublisher;
         this.campsiteOccupancyRepository = campsiteOccupancyRepository;
         this.campsiteOccupancyValidator = campsiteOccupancyValidator;
         this.eventMessagePublisher = eventMessagePublisher;
@@ -36,20 +52,50 @@ public class CampsiteOccupancyService {
 
     @Transactional(rollbackFor = SQLException.class)
     public void cancel(final Long reservationId) {
-        campsiteOccupancyRepository.deleteByReservationId(reservationId);
+        campsiteOccupancyRepository.deleteByReservationId(reservationId)
+                .forEach(cancelledCampsiteOccupancy -> applicationEventPublisher
+                        .publishEvent(CampsiteOccupancyChangedEvent.cancelled(cancelledCampsiteOccupancy)));
     }
 
     @Transactional(rollbackFor = SQLException.class)
     public CampsiteOccupancy create(final CampsiteOccupancy campsiteOccupancy) {
         validateOccupancy(campsiteOccupancy);
 
-        final CampsiteOccupancy createdCampsiteOccupancy = campsiteOccupancyRepository.save(campsiteOccupancy);
+        final CampsiteOccupancy createdCampsiteOccupancy = saveOccupancy(campsiteOccupancy);
 
+        applicationEventPublisher.publishEvent(CampsiteOccupancyChangedEvent.created(createdCampsiteOccupancy));
         publishOccupancyConfirmation(createdCampsiteOccupancy);
 
         return createdCampsiteOccupancy;
     }
 
+    @Transactional(rollbackFor = SQLException.class)
+    public List<CampsiteOccupancy> createAll(final List<CampsiteOccupancy> campsiteOccupancies) {
+        final List<CampsiteOccupancy> distinctCampsiteOccupancies = distinctByReservationId(campsiteOccupancies);
+        final List<Errors> validationResults = campsiteOccupancyValidator.validateAll(distinctCampsiteOccupancies);
+        final List<CampsiteOccupancy> validCampsiteOccupancies = new ArrayList<>();
+        final List<CampsiteOccupancy> rejectedCampsiteOccupancies = new ArrayList<>();
+
+        for (int i = 0; i < distinctCampsiteOccupancies.size(); i++) {
+            if (validationResults.get(i).hasErrors()) {
+                rejectedCampsiteOccupancies.add(distinctCampsiteOccupancies.get(i));
+            } else {
+                validCampsiteOccupancies.add(distinctCampsiteOccupancies.get(i));
+            }
+        }
+
+        final List<CampsiteOccupancy> createdCampsiteOccupancies = campsiteOccupancyRepository.saveAllAndFlush(validCampsiteOccupancies);
+
+        createdCampsiteOccupancies.forEach(createdCampsiteOccupancy -> {
+            applicationEventPublisher.publishEvent(CampsiteOccupancyChangedEvent.created(createdCampsiteOccupancy));
+            publishOccupancyConfirmation(createdCampsiteOccupancy);
+        });
+        rejectedCampsiteOccupancies.forEach(rejectedCampsiteOccupancy -> applicationEventPublisher
+                .publishEvent(CampsiteOccupancyValidatedEvent.rejected(rejectedCampsiteOccupancy)));
+
+        return createdCampsiteOccupancies;
+    }
+
     @Transactional(readOnly = true)
     public List<CampsiteOccupancy> getAllBetweenDates(final Instant arrivalDate, final Instant departureDate) {
         return campsiteOccupancyRepository.findAllByArrivalDateGreaterThanEqualAndDepartureDateLessThanEqualOrderByArrivalDate(arrivalDate, departureDate);
@@ -62,6 +108,12 @@ public class CampsiteOccupancyService {
                 .orElseThrow(NotFoundException::new);
     }
 
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCampsiteOccupancyValidated(final CampsiteOccupancyValidatedEvent campsiteOccupancyValidatedEvent) {
+        eventMessagePublisher.publishEvent(buildCampsiteReservedEvent(campsiteOccupancyValidatedEvent.getCampsiteOccupancy()),
+                campsiteOccupancyValidatedEvent.getEventType());
+    }
+
     private void validateOccupancy(final CampsiteOccupancy campsiteOccupancy) {
         final BeanPropertyBindingResult beanPropertyBindingResult = new BeanPropertyBindingResult(campsiteOccupancy, "campsiteOccupancy");
         campsiteOccupancyValidator.validate(campsiteOccupancy, beanPropertyBindingResult);
@@ -69,31 +121,75 @@ public class CampsiteOccupancyService {
         publishRollbackEvent(beanPropertyBindingResult, campsiteOccupancy);
     }
 
+    private List<CampsiteOccupancy> distinctByReservationId(final List<CampsiteOccupancy> campsiteOccupancies) {
+        final Map<Long, CampsiteOccupancy> campsiteOccupanciesByReservationId = new LinkedHashMap<>();
+        campsiteOccupancies.forEach(campsiteOccupancy -> campsiteOccupanciesByReservationId
+                .putIfAbsent(campsiteOccupancy.getReservationId(), campsiteOccupancy));
+
+        return new ArrayList<>(campsiteOccupanciesByReservationId.values());
+    }
+
+    private CampsiteOccupancy saveOccupancy(final CampsiteOccupancy campsiteOccupancy) {
+        try {
+            return campsiteOccupancyRepository.saveAndFlush(campsiteOccupancy);
+        } catch (DataIntegrityViolationException exception) {
+            if (!isExclusionViolation(exception)) {
+                throw exception;
+            }
+
+            final BeanPropertyBindingResult beanPropertyBindingResult = new BeanPropertyBindingResult(campsiteOccupancy, "campsiteOccupancy");
+            campsiteOccupancyValidator.rejectUnavailableDates(beanPropertyBindingResult);
+
+            publishOccupancyRollback(campsiteOccupancy);
+            throw new ValidationException(beanPropertyBindingResult.getFieldErrors());
+        }
+    }
+
+    private boolean isExclusionViolation(final DataIntegrityViolationException exception) {
+        final Throwable rootCause = NestedExceptionUtils.getMostSpecificCause(exception);
+
+        return rootCause instanceof SQLException
+                && EXCLUSION_VIOLATION_SQL_STATE.equals(((SQLException) rootCause).getSQLState());
+    }
+
     private void publishOccupancyConfirmation(final CampsiteOccupancy campsiteOccupancy) {
-        eventMessagePublisher.publishEvent(buildCampsiteReservedEvent(campsiteOccupancy), EventType.CAMPSITE_RESERVED);
+        applicationEventPublisher.publishEvent(CampsiteOccupancyValidatedEvent.confirmed(campsiteOccupancy));
     }
 
     private void publishRollbackEvent(final BeanPropertyBindingResult beanPropertyBindingResult,
                                       final CampsiteOccupancy campsiteOccupancy) {
         if (!CollectionUtils.isEmpty(beanPropertyBindingResult.getFieldErrors())) {
-            eventMessagePublisher.publishEvent(buildCampsiteReservedEvent(campsiteOccupancy), EventType.CAMPSITE_RESERVATION_ROLLBACK);
+            publishOccupancyRollback(campsiteOccupancy);
             throw new ValidationException(beanPropertyBindingResult.getFieldErrors());
         }
     }
 
+    private void publishOccupancyRollback(final CampsiteOccupancy campsiteOccupancy) {
+        eventMessagePublisher.publishEvent(buildCampsiteReservedEvent(campsiteOccupancy), EventType.CAMPSITE_RESERVATION_ROLLBACK);
+    }
+
     private CampsiteReservedEvent buildCampsiteReservedEvent(final CampsiteOccupancy campsiteOccupancy) {
         return CampsiteReservedEvent.builder()
                 .reservationId(campsiteOccupancy.getReservationId())
+                .validatedDate(Instant.now())
                 .build();
     }
 
     private CampsiteOccupancy updateOccupancyDates(final CampsiteOccupancy existingCampsiteOccupancy,
                                                    final CampsiteOccupancy campsiteOccupancy) {
+        final DayRange previousDayRange = DayRange.ofOccupancy(existingCampsiteOccupancy);
+
+        validateOccupancy(CampsiteOccupancy.builder()
+                .reservationId(existingCampsiteOccupancy.getReservationId())
+                .arrivalDate(campsiteOccupancy.getArrivalDate())
+                .departureDate(campsiteOccupancy.getDepartureDate())
+                .build());
+
         existingCampsiteOccupancy.setArrivalDate(campsiteOccupancy.getArrivalDate());
         existingCampsiteOccupancy.setDepartureDate(campsiteOccupancy.getDepartureDate());
 
-        validateOccupancy(existingCampsiteOccupancy);
-        final CampsiteOccupancy updatedCampsiteOccupancy = campsiteOccupancyRepository.save(existingCampsiteOccupancy);
+        final CampsiteOccupancy updatedCampsiteOccupancy = saveOccupancy(existingCampsiteOccupancy);
+        applicationEventPublisher.publishEvent(CampsiteOccupancyChangedEvent.modified(previousDayRange, updatedCampsiteOccupancy));
         publishOccupancyConfirmation(updatedCampsiteOccupancy);
 
         return updatedCampsiteOccupancy;
@@ -0,0 +1,121 @@
+package upgrade.challenge.availability.v1.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import upgrade.challenge.availability.domain.CampsiteOccupancyChangedEvent;
+import upgrade.challenge.availability.domain.DailyAvailability;
+import upgrade.challenge.availability.domain.DayRange;
+import upgrade.challenge.availability.repository.DailyAvailabilityRepository;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.BitSet;
+import java.util.Optional;
+
+@Service
+public class DailyAvailabilityService {
+
+    private final DailyAvailabilityRepository dailyAvailabilityRepository;
+    private final boolean searchEnabled;
+
+    private volatile boolean searchReady;
+
+    @Autowired
+    public DailyAvailabilityService(DailyAvailabilityRepository dailyAvailabilityRepository,
+                                    @Value("${availability.daily-availability.search-enabled:false}") boolean searchEnabled) {
+        this.dailyAvailabilityRepository = dailyAvailabilityRepository;
+        this.searchEnabled = searchEnabled;
+    }
+
+    public boolean isSearchEnabled() {
+        return searchEnabled;
+    }
+
+    public boolean isSearchReady() {
+        return searchReady;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(rollbackFor = SQLException.class)
+    public void rebuildForSearch() {
+        if (!searchEnabled) {
+            return;
+        }
+
+        rebuildUnderLock();
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            searchReady = true;
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                searchReady = true;
+            }
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public BitSet getOccupiedDays(final DayRange dayRange) {
+        final BitSet occupiedDays = new BitSet(dayRange.length());
+
+        dailyAvailabilityRepository.findAllByCalendarDayGreaterThanEqualAndCalendarDayLessThanAndOccupancyCountGreaterThan(
+                        LocalDate.ofEpochDay(dayRange.getFirstDay()), LocalDate.ofEpochDay(dayRange.getEndDay()), 0)
+                .forEach(dailyAvailability -> occupiedDays.set(
+                        Math.toIntExact(dailyAvailability.getCalendarDay().toEpochDay() - dayRange.getFirstDay())));
+
+        return occupiedDays;
+    }
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onCampsiteOccupancyChanged(final CampsiteOccupancyChangedEvent campsiteOccupancyChangedEvent) {
+        if (!searchEnabled) {
+            return;
+        }
+
+        Optional.ofNullable(campsiteOccupancyChangedEvent.getPreviousDayRange())
+                .ifPresent(this::decrementOccupancyCount);
+        Optional.ofNullable(campsiteOccupancyChangedEvent.getCampsiteOccupancy())
+                .map(DayRange::ofOccupancy)
+                .ifPresent(this::incrementOccupancyCount);
+    }
+
+    @Transactional(rollbackFor = SQLException.class)
+    public int rebuild() {
+        return rebuildUnderLock();
+    }
+
+    private int rebuildUnderLock() {
+        dailyAvailabilityRepository.lockForRebuild();
+        dailyAvailabilityRepository.deleteAllInBatch();
+
+        return dailyAvailabilityRepository.insertAllFromCampsiteOccupancies(ZoneId.systemDefault().getId());
+    }
+
+    private void decrementOccupancyCount(final DayRange dayRange) {
+        dailyAvailabilityRepository.decrementOccupancyCount(getFirstDay(dayRange), getLastDay(dayRange));
+    }
+
+    private void incrementOccupancyCount(final DayRange dayRange) {
+        dailyAvailabilityRepository.incrementOccupancyCount(getFirstDay(dayRange), getLastDay(dayRange));
+    }
+
+    private LocalDate getFirstDay(final DayRange dayRange) {
+        return LocalDate.ofEpochDay(dayRange.getFirstDay());
+    }
+
+    private LocalDate getLastDay(final DayRange dayRange) {
+        return LocalDate.ofEpochDay(dayRange.getEndDay() - 1L);
+    }
+}
@@ -1,10 +1,26 @@
 package upgrade.challenge.availability.v1.v1.adapter;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.SneakyThrows;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import upgrade.challenge.availability.domain.DayRange;
+import upgrade.challenge.availability.v1.service.CampsiteOccupancyIndex;
+import upgrade.challenge.availability.v1.v1.dto.AvailabilityBitmaskDto;
 import upgrade.challenge.availability.v1.v1.dto.AvailabilityDto;
+import upgrade.challenge.availability.v1.v1.dto.AvailabilityRunDto;
 import upgrade.challenge.availability.v1.v1.helper.AvailabilityBuilder;
+import upgrade.challenge.availability.v1.v1.helper.AvailabilityCache;
+import upgrade.challenge.availability.v1.v1.helper.AvailabilityRunBuilder;
+import upgrade.challenge.availability.v1.v1.helper.AvailabilityVersion;
+import upgrade.challenge.availability.v1.v1.helper.ReactiveAvailabilityBuilder;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
@@ -13,15 +29,82 @@ import java.util.Optional;
 @Component
 public class AvailabilityAdapter {
 
+    private static final char NDJSON_LINE_SEPARATOR = '\n';
+
     private final AvailabilityBuilder availabilityBuilder;
+    private final AvailabilityCache availabilityCache;
+    private final AvailabilityRunBuilder availabilityRunBuilder;
+    private final CampsiteOccupancyIndex campsiteOccupancyIndex;
+    private final AvailabilityVersion availabilityVersion;
+    private final ReactiveAvailabilityBuilder reactiveAvailabilityBuilder;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter availabilityWriter;
 
     @Autowired
-    public AvailabilityAdapter(AvailabilityBuilder availabilityBuilder) {
+    public AvailabilityAdapter(AvailabilityBuilder availabilityBuilder,
+                               AvailabilityCache availabilityCache,
+                               AvailabilityRunBuilder availabilityRunBuilder,
+                               CampsiteOccupancyIndex campsiteOccupancyIndex,
+                               AvailabilityVersion availabilityVersion,
+                               ReactiveAvailabilityBuilder reactiveAvailabilityBuilder,
+                               ObjectMapper objectMapper) {
         this.availabilityBuilder = availabilityBuilder;
+        this.availabilityCache = availabilityCache;
+        this.availabilityRunBuilder = availabilityRunBuilder;
+        this.campsiteOccupancyIndex = campsiteOccupancyIndex;
+        this.availabilityVersion = availabilityVersion;
+        this.reactiveAvailabilityBuilder = reactiveAvailabilityBuilder;
+        this.objectMapper = objectMapper;
+        this.availabilityWriter = objectMapper.writerFor(AvailabilityDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    public Optional<String> getAvailabilityETag(final String representation, final Instant searchStartDate, final Instant searchEndDate) {
+        if (campsiteOccupancyIndex.isLoading()) {
+            return Optional.empty();
+        }
+
+        final DayRange searchDayRange = DayRange.ofSearch(getSearchStartDate(searchStartDate), getSearchEndDate(searchEndDate));
+
+        return Optional.of(String.join("-", representation,
+                String.valueOf(searchDayRange.getFirstDay()),
+                String.valueOf(searchDayRange.getEndDay()),
+                String.valueOf(availabilityVersion.getVersion(searchDayRange))));
     }
 
     public List<AvailabilityDto> searchAvailabilities(final Instant searchStartDate, final Instant searchEndDate) {
-        return availabilityBuilder.searchAvailabilities(getSearchStartDate(searchStartDate), getSearchEndDate(searchEndDate));
+        final Instant startDate = getSearchStartDate(searchStartDate);
+        final Instant endDate = getSearchEndDate(searchEndDate);
+
+        return availabilityCache.get(DayRange.ofSearch(startDate, endDate),
+                () -> availabilityBuilder.searchAvailabilities(startDate, endDate));
+    }
+
+    public Flux<AvailabilityDto> searchAvailabilitiesReactive(final Instant searchStartDate, final Instant searchEndDate) {
+        return reactiveAvailabilityBuilder.searchAvailabilities(getSearchStartDate(searchStartDate), getSearchEndDate(searchEndDate));
+    }
+
+    public List<AvailabilityRunDto> searchAvailabilityRuns(final Instant searchStartDate, final Instant searchEndDate) {
+        return availabilityRunBuilder.searchAvailabilityRuns(getSearchStartDate(searchStartDate), getSearchEndDate(searchEndDate));
+    }
+
+    public AvailabilityBitmaskDto searchAvailabilityBitmask(final Instant searchStartDate, final Instant searchEndDate) {
+        return availabilityRunBuilder.searchAvailabilityBitmask(getSearchStartDate(searchStartDate), getSearchEndDate(searchEndDate));
+    }
+
+    public void streamAvailabilities(final Instant searchStartDate, final Instant searchEndDate,
+                                     final OutputStream outputStream) throws IOException {
+        try (JsonGenerator jsonGenerator = objectMapper.getFactory().createGenerator(outputStream)
+                .setRootValueSeparator(null)) {
+            availabilityBuilder.forEachAvailability(getSearchStartDate(searchStartDate), getSearchEndDate(searchEndDate),
+                    availabilityDto -> writeAvailability(jsonGenerator, availabilityDto));
+        }
+    }
+
+    @SneakyThrows
+    private void writeAvailability(final JsonGenerator jsonGenerator, final AvailabilityDto availabilityDto) {
+        availabilityWriter.writeValue(jsonGenerator, availabilityDto);
+        jsonGenerator.writeRaw(NDJSON_LINE_SEPARATOR);
     }
 
     private Instant getSearchStartDate(final Instant searchStartDate) {
@@ -0,0 +1,28 @@
+package upgrade.challenge.availability.v1.v1.adapter;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import upgrade.challenge.availability.v1.messaging.retry.DeadLetterReplayer;
+import upgrade.challenge.availability.v1.messaging.retry.RetryQueues;
+import upgrade.challenge.availability.v1.v1.dto.DeadLetterReplayDto;
+
+import java.util.Optional;
+
+@Component
+public class DeadLetterAdapter {
+
+    private final DeadLetterReplayer deadLetterReplayer;
+
+    @Autowired
+    public DeadLetterAdapter(DeadLetterReplayer deadLetterReplayer) {
+        this.deadLetterReplayer = deadLetterReplayer;
+    }
+
+    public Optional<DeadLetterReplayDto> replay(final String deadLetterQueueName, final int limit) {
+        return RetryQueues.findConsumedQueueName(deadLetterQueueName)
+                .map(queueName -> DeadLetterReplayDto.builder()
+                        .queueName(queueName)
+                        .replayedCount(deadLetterReplayer.replay(queueName, limit))
+                        .build());
+    }
+}
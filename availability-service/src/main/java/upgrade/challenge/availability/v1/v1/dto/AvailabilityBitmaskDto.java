@@ -0,0 +1,21 @@
+package upgrade.challenge.availability.v1.v1.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Accessors(chain = true)
+public class AvailabilityBitmaskDto {
+
+    private LocalDate from;
+    private int days;
+    private String availableDays;
+}
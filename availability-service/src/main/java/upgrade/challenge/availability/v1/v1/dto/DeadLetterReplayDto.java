@@ -0,0 +1,18 @@
+package upgrade.challenge.availability.v1.v1.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Accessors(chain = true)
+public class DeadLetterReplayDto {
+
+    private String queueName;
+    private int replayedCount;
+}
@@ -1,54 +1,102 @@
 package upgrade.challenge.availability.v1.v1.helper;
 
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import upgrade.challenge.availability.domain.CampsiteOccupancy;
+import upgrade.challenge.availability.domain.DayRange;
+import upgrade.challenge.availability.v1.service.CampsiteOccupancyIndex;
 import upgrade.challenge.availability.v1.service.CampsiteOccupancyService;
+import upgrade.challenge.availability.v1.service.DailyAvailabilityService;
 import upgrade.challenge.availability.v1.v1.dto.AvailabilityDto;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
-
-import static java.time.temporal.ChronoUnit.DAYS;
+import java.util.function.Consumer;
 
 @Component
 public class AvailabilityBuilder {
 
+    private final CampsiteOccupancyIndex campsiteOccupancyIndex;
     private final CampsiteOccupancyService campsiteOccupancyService;
+    private final DailyAvailabilityService dailyAvailabilityService;
 
     @Autowired
-    public AvailabilityBuilder(CampsiteOccupancyService campsiteOccupancyService) {
+    public AvailabilityBuilder(CampsiteOccupancyIndex campsiteOccupancyIndex,
+                               CampsiteOccupancyService campsiteOccupancyService,
+                               DailyAvailabilityService dailyAvailabilityService) {
+        this.campsiteOccupancyIndex = campsiteOccupancyIndex;
         this.campsiteOccupancyService = campsiteOccupancyService;
+        this.dailyAvailabilityService = dailyAvailabilityService;
     }
 
+    @Timed("availability.builder.search")
     public List<AvailabilityDto> searchAvailabilities(final Instant searchArrivalDate, final Instant searchEndDate) {
-        final List<CampsiteOccupancy> campsiteOccupancies = campsiteOccupancyService.getAllBetweenDates(searchArrivalDate, searchEndDate);
+        final List<AvailabilityDto> availabilities = new ArrayList<>(DayRange.ofSearch(searchArrivalDate, searchEndDate).length());
+
+        forEachAvailability(searchArrivalDate, searchEndDate, availabilities::add);
+
+        return availabilities;
+    }
 
-        return searchAvailabilities(searchArrivalDate.truncatedTo(DAYS), searchEndDate, campsiteOccupancies);
+    public List<AvailabilityDto> buildAvailabilities(final DayRange searchDayRange,
+                                                     final List<CampsiteOccupancy> campsiteOccupancies) {
+        final List<AvailabilityDto> availabilities = new ArrayList<>(searchDayRange.length());
+
+        forEachAvailability(searchDayRange, toOccupiedDays(searchDayRange, campsiteOccupancies), availabilities::add);
+
+        return availabilities;
     }
 
-    private List<AvailabilityDto> searchAvailabilities(Instant startDate, final Instant searchEndDate,
-                                                       final List<CampsiteOccupancy> campsiteOccupancies) {
-        final List<AvailabilityDto> availabilities = new ArrayList<>();
+    public void forEachAvailability(final Instant searchArrivalDate, final Instant searchEndDate,
+                                    final Consumer<AvailabilityDto> availabilityConsumer) {
+        final DayRange searchDayRange = DayRange.ofSearch(searchArrivalDate, searchEndDate);
 
-        while (startDate.isBefore(searchEndDate)) {
-            Instant endOfDay = startDate.plus(1L, DAYS);
+        forEachAvailability(searchDayRange, searchOccupiedDays(searchDayRange, searchArrivalDate, searchEndDate),
+                availabilityConsumer);
+    }
 
-            final boolean available = validateAvailability(campsiteOccupancies, startDate);
-            final AvailabilityDto availabilityDto = buildAvailabilityDto(available, startDate, endOfDay);
-            availabilities.add(availabilityDto);
+    public BitSet searchOccupiedDays(final Instant searchArrivalDate, final Instant searchEndDate) {
+        return searchOccupiedDays(DayRange.ofSearch(searchArrivalDate, searchEndDate), searchArrivalDate, searchEndDate);
+    }
 
-            startDate = endOfDay;
+    private BitSet searchOccupiedDays(final DayRange searchDayRange, final Instant searchArrivalDate, final Instant searchEndDate) {
+        if (campsiteOccupancyIndex.isLoaded()) {
+            return campsiteOccupancyIndex.getOccupiedDays(searchDayRange);
+        } else if (!campsiteOccupancyIndex.isLoading() && dailyAvailabilityService.isSearchReady()) {
+            return dailyAvailabilityService.getOccupiedDays(searchDayRange);
+        } else {
+            return toOccupiedDays(searchDayRange, campsiteOccupancyService.getAllBetweenDates(searchArrivalDate, searchEndDate));
         }
+    }
 
-        return availabilities;
+    private BitSet toOccupiedDays(final DayRange searchDayRange, final List<CampsiteOccupancy> campsiteOccupancies) {
+        final BitSet occupiedDays = new BitSet(searchDayRange.length());
+
+        for (final CampsiteOccupancy campsiteOccupancy : campsiteOccupancies) {
+            final DayRange occupancyDayRange = DayRange.ofOccupancy(campsiteOccupancy);
+
+            if (!occupancyDayRange.isEmpty() && occupancyDayRange.overlaps(searchDayRange)) {
+                occupiedDays.set(
+                        Math.toIntExact(Math.max(occupancyDayRange.getFirstDay(), searchDayRange.getFirstDay()) - searchDayRange.getFirstDay()),
+                        Math.toIntExact(Math.min(occupancyDayRange.getEndDay(), searchDayRange.getEndDay()) - searchDayRange.getFirstDay()));
+            }
+        }
+
+        return occupiedDays;
+    }
+
+    private void forEachAvailability(final DayRange searchDayRange, final BitSet occupiedDays,
+                                     final Consumer<AvailabilityDto> availabilityConsumer) {
+        for (int dayOffset = 0; dayOffset < searchDayRange.length(); dayOffset++) {
+            availabilityConsumer.accept(buildAvailabilityDto(!occupiedDays.get(dayOffset), searchDayRange.getFirstDay() + dayOffset));
+        }
     }
 
-    private boolean validateAvailability(final List<CampsiteOccupancy> occupancies, final Instant dayToValidate) {
-        return occupancies.stream()
-                .noneMatch(occupancy -> dayToValidate.compareTo(occupancy.getArrivalDate().truncatedTo(DAYS)) >= 0
-                        && dayToValidate.compareTo(occupancy.getDepartureDate().plus(1L, DAYS).truncatedTo(DAYS)) < 0);
+    private AvailabilityDto buildAvailabilityDto(final boolean available, final long epochDay) {
+        return buildAvailabilityDto(available, DayRange.toInstant(epochDay), DayRange.toInstant(epochDay + 1L));
     }
 
     private AvailabilityDto buildAvailabilityDto(final boolean available, final Instant checkinTime, final Instant checkoutTime) {
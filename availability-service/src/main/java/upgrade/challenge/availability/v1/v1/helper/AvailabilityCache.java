@@ -0,0 +1,77 @@
+package upgrade.challenge.availability.v1.v1.helper;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import upgrade.challenge.availability.domain.CampsiteOccupancyChangedEvent;
+import upgrade.challenge.availability.domain.DayRange;
+import upgrade.challenge.availability.v1.service.CampsiteOccupancyIndex;
+import upgrade.challenge.availability.v1.v1.dto.AvailabilityDto;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Component
+public class AvailabilityCache {
+
+    private static final String CACHE_NAME = "availability";
+
+    private final CampsiteOccupancyIndex campsiteOccupancyIndex;
+    private final Cache<DayRange, List<AvailabilityDto>> cache;
+    private final AtomicLong invalidationCount = new AtomicLong();
+
+    @Autowired
+    public AvailabilityCache(CampsiteOccupancyIndex campsiteOccupancyIndex,
+                             @Value("${availability.cache.maximum-size:1000}") long maximumSize,
+                             @Value("${availability.cache.expire-after-write:5m}") Duration expireAfterWrite,
+                             MeterRegistry meterRegistry) {
+        this.campsiteOccupancyIndex = campsiteOccupancyIndex;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public List<AvailabilityDto> get(final DayRange searchDayRange, final Supplier<List<AvailabilityDto>> availabilitiesSupplier) {
+        if (campsiteOccupancyIndex.isLoading()) {
+            return availabilitiesSupplier.get();
+        }
+
+        final List<AvailabilityDto> cachedAvailabilities = cache.getIfPresent(searchDayRange);
+
+        if (cachedAvailabilities != null) {
+            return cachedAvailabilities;
+        }
+
+        final long invalidationCountBeforeSearch = invalidationCount.get();
+        final List<AvailabilityDto> availabilities = List.copyOf(availabilitiesSupplier.get());
+
+        if (invalidationCountBeforeSearch == invalidationCount.get()) {
+            cache.put(searchDayRange, availabilities);
+        }
+
+        return availabilities;
+    }
+
+    public void invalidate(final DayRange dayRange) {
+        invalidationCount.incrementAndGet();
+        cache.asMap().keySet().removeIf(dayRange::overlaps);
+    }
+
+    @Order(2)
+    @TransactionalEventListener
+    public void onCampsiteOccupancyChanged(final CampsiteOccupancyChangedEvent campsiteOccupancyChangedEvent) {
+        campsiteOccupancyChangedEvent.getAffectedDayRanges().forEach(this::invalidate);
+    }
+}
@@ -0,0 +1,71 @@
+package upgrade.challenge.availability.v1.v1.helper;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import upgrade.challenge.availability.domain.DayRange;
+import upgrade.challenge.availability.v1.v1.dto.AvailabilityBitmaskDto;
+import upgrade.challenge.availability.v1.v1.dto.AvailabilityRunDto;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.List;
+
+@Component
+public class AvailabilityRunBuilder {
+
+    private final AvailabilityBuilder availabilityBuilder;
+
+    @Autowired
+    public AvailabilityRunBuilder(AvailabilityBuilder availabilityBuilder) {
+        this.availabilityBuilder = availabilityBuilder;
+    }
+
+    public List<AvailabilityRunDto> searchAvailabilityRuns(final Instant searchStartDate, final Instant searchEndDate) {
+        final DayRange searchDayRange = DayRange.ofSearch(searchStartDate, searchEndDate);
+        final BitSet occupiedDays = availabilityBuilder.searchOccupiedDays(searchStartDate, searchEndDate);
+        final List<AvailabilityRunDto> availabilityRuns = new ArrayList<>();
+
+        int runStart = 0;
+        while (runStart < searchDayRange.length()) {
+            final boolean available = !occupiedDays.get(runStart);
+            final int runEnd = available ? nextOccupiedDay(occupiedDays, runStart, searchDayRange) : occupiedDays.nextClearBit(runStart);
+            final int boundedRunEnd = Math.min(runEnd, searchDayRange.length());
+
+            availabilityRuns.add(AvailabilityRunDto.builder()
+                    .from(LocalDate.ofEpochDay(searchDayRange.getFirstDay() + runStart))
+                    .to(LocalDate.ofEpochDay(searchDayRange.getFirstDay() + boundedRunEnd))
+                    .available(available)
+                    .build());
+
+            runStart = boundedRunEnd;
+        }
+
+        return availabilityRuns;
+    }
+
+    // Bit n of availableDays is day from + n, least significant bit of the first byte first, padded to (days + 7) / 8 bytes.
+    public AvailabilityBitmaskDto searchAvailabilityBitmask(final Instant searchStartDate, final Instant searchEndDate) {
+        final DayRange searchDayRange = DayRange.ofSearch(searchStartDate, searchEndDate);
+        final BitSet availableDays = new BitSet(searchDayRange.length());
+
+        availableDays.set(0, searchDayRange.length());
+        availableDays.andNot(availabilityBuilder.searchOccupiedDays(searchStartDate, searchEndDate));
+
+        return AvailabilityBitmaskDto.builder()
+                .from(LocalDate.ofEpochDay(searchDayRange.getFirstDay()))
+                .days(searchDayRange.length())
+                .availableDays(Base64.getEncoder().encodeToString(
+                        Arrays.copyOf(availableDays.toByteArray(), (searchDayRange.length() + 7) / 8)))
+                .build();
+    }
+
+    private int nextOccupiedDay(final BitSet occupiedDays, final int fromDayOffset, final DayRange searchDayRange) {
+        final int nextOccupiedDay = occupiedDays.nextSetBit(fromDayOffset);
+
+        return nextOccupiedDay < 0 ? searchDayRange.length() : nextOccupiedDay;
+    }
+}
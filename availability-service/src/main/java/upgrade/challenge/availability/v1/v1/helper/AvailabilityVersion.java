@@ -0,0 +1,67 @@
+package upgrade.challenge.availability.v1.v1.helper;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import upgrade.challenge.availability.domain.CampsiteOccupancyChangedEvent;
+import upgrade.challenge.availability.domain.DayRange;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class AvailabilityVersion {
+
+    private final long bucketDays;
+    private final long initialVersion;
+    private final AtomicLong currentVersion;
+    private final ConcurrentMap<Long, Long> versionsByBucket = new ConcurrentHashMap<>();
+
+    @Autowired
+    public AvailabilityVersion(@Value("${availability.version.bucket-days:0}") long bucketDays) {
+        this.bucketDays = bucketDays;
+        this.initialVersion = System.currentTimeMillis();
+        this.currentVersion = new AtomicLong(initialVersion);
+    }
+
+    public long getVersion(final DayRange dayRange) {
+        if (bucketDays <= 0L) {
+            return currentVersion.get();
+        }
+
+        long version = initialVersion;
+
+        if (!dayRange.isEmpty()) {
+            for (long bucket = toBucket(dayRange.getFirstDay()); bucket <= toBucket(dayRange.getEndDay() - 1L); bucket++) {
+                version = Math.max(version, versionsByBucket.getOrDefault(bucket, initialVersion));
+            }
+        }
+
+        return version;
+    }
+
+    public void increment(final DayRange dayRange) {
+        final long version = currentVersion.incrementAndGet();
+
+        if (bucketDays <= 0L || dayRange.isEmpty()) {
+            return;
+        }
+
+        for (long bucket = toBucket(dayRange.getFirstDay()); bucket <= toBucket(dayRange.getEndDay() - 1L); bucket++) {
+            versionsByBucket.merge(bucket, version, Math::max);
+        }
+    }
+
+    @Order(3)
+    @TransactionalEventListener
+    public void onCampsiteOccupancyChanged(final CampsiteOccupancyChangedEvent campsiteOccupancyChangedEvent) {
+        campsiteOccupancyChangedEvent.getAffectedDayRanges().forEach(this::increment);
+    }
+
+    private long toBucket(final long epochDay) {
+        return Math.floorDiv(epochDay, bucketDays);
+    }
+}
@@ -0,0 +1,34 @@
+package upgrade.challenge.availability.v1.v1.helper;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import upgrade.challenge.availability.domain.DayRange;
+import upgrade.challenge.availability.repository.ReactiveCampsiteOccupancyRepository;
+import upgrade.challenge.availability.v1.v1.dto.AvailabilityDto;
+
+import java.time.Instant;
+
+@Component
+public class ReactiveAvailabilityBuilder {
+
+    private final AvailabilityBuilder availabilityBuilder;
+    private final ReactiveCampsiteOccupancyRepository reactiveCampsiteOccupancyRepository;
+
+    @Autowired
+    public ReactiveAvailabilityBuilder(AvailabilityBuilder availabilityBuilder,
+                                       ReactiveCampsiteOccupancyRepository reactiveCampsiteOccupancyRepository) {
+        this.availabilityBuilder = availabilityBuilder;
+        this.reactiveCampsiteOccupancyRepository = reactiveCampsiteOccupancyRepository;
+    }
+
+    public Flux<AvailabilityDto> searchAvailabilities(final Instant searchArrivalDate, final Instant searchEndDate) {
+        final DayRange searchDayRange = DayRange.ofSearch(searchArrivalDate, searchEndDate);
+
+        return reactiveCampsiteOccupancyRepository
+                .findAllOverlappingOccupancies(DayRange.toInstant(searchDayRange.getFirstDay()),
+                        DayRange.toInstant(searchDayRange.getEndDay()))
+                .collectList()
+                .flatMapIterable(campsiteOccupancies -> availabilityBuilder.buildAvailabilities(searchDayRange, campsiteOccupancies));
+    }
+}
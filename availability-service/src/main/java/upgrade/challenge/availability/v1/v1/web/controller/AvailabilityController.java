@@ -1,30 +1,73 @@
 package upgrade.challenge.availability.v1.v1.web.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import upgrade.challenge.availability.v1.v1.adapter.AvailabilityAdapter;
 import upgrade.challenge.availability.v1.v1.dto.AvailabilityDto;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/availability/v1.1")
 public class AvailabilityController {
 
+    private static final String JSON_REPRESENTATION = "json";
+    private static final String NDJSON_REPRESENTATION = "ndjson";
+
     private final AvailabilityAdapter availabilityAdapter;
+    private final CacheControl cacheControl;
 
     @Autowired
-    public AvailabilityController(AvailabilityAdapter availabilityAdapter) {
+    public AvailabilityController(AvailabilityAdapter availabilityAdapter,
+                                  @Value("${availability.http.cache-max-age:0s}") Duration cacheMaxAge) {
         this.availabilityAdapter = availabilityAdapter;
+        this.cacheControl = CacheControl.maxAge(cacheMaxAge).mustRevalidate();
     }
 
     @GetMapping
-    public List<AvailabilityDto> searchAvailabilities(final @RequestParam(value = "searchStartDate", required = false) Instant searchStartDate,
-                                                      final @RequestParam(value = "searchEndDate", required = false) Instant searchEndDate) {
-        return availabilityAdapter.searchAvailabilities(searchStartDate, searchEndDate);
+    public ResponseEntity<List<AvailabilityDto>> searchAvailabilities(final @RequestParam(value = "searchStartDate", required = false) Instant searchStartDate,
+                                                                      final @RequestParam(value = "searchEndDate", required = false) Instant searchEndDate,
+                                                                      final WebRequest webRequest) {
+        final Optional<String> eTag = availabilityAdapter.getAvailabilityETag(JSON_REPRESENTATION, searchStartDate, searchEndDate);
+
+        if (eTag.isPresent() && webRequest.checkNotModified(eTag.get())) {
+            return null;
+        }
+
+        return buildResponse(eTag)
+                .body(availabilityAdapter.searchAvailabilities(searchStartDate, searchEndDate));
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAvailabilities(final @RequestParam(value = "searchStartDate", required = false) Instant searchStartDate,
+                                                                      final @RequestParam(value = "searchEndDate", required = false) Instant searchEndDate,
+                                                                      final WebRequest webRequest) {
+        final Optional<String> eTag = availabilityAdapter.getAvailabilityETag(NDJSON_REPRESENTATION, searchStartDate, searchEndDate);
+
+        if (eTag.isPresent() && webRequest.checkNotModified(eTag.get())) {
+            return null;
+        }
+
+        return buildResponse(eTag)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(outputStream -> availabilityAdapter.streamAvailabilities(searchStartDate, searchEndDate, outputStream));
+    }
+
+    private ResponseEntity.BodyBuilder buildResponse(final Optional<String> eTag) {
+        return eTag
+                .map(value -> ResponseEntity.ok().eTag(value).cacheControl(cacheControl))
+                .orElseGet(() -> ResponseEntity.ok().cacheControl(CacheControl.noStore()));
     }
 }
@@ -0,0 +1,37 @@
+package upgrade.challenge.availability.v1.v1.web.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import upgrade.challenge.availability.v1.v1.adapter.AvailabilityAdapter;
+import upgrade.challenge.availability.v1.v1.dto.AvailabilityBitmaskDto;
+import upgrade.challenge.availability.v1.v1.dto.AvailabilityRunDto;
+
+import java.time.Instant;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/availability/v1.2")
+public class AvailabilityRunController {
+
+    private final AvailabilityAdapter availabilityAdapter;
+
+    @Autowired
+    public AvailabilityRunController(AvailabilityAdapter availabilityAdapter) {
+        this.availabilityAdapter = availabilityAdapter;
+    }
+
+    @GetMapping
+    public List<AvailabilityRunDto> searchAvailabilityRuns(final @RequestParam(value = "searchStartDate", required = false) Instant searchStartDate,
+                                                           final @RequestParam(value = "searchEndDate", required = false) Instant searchEndDate) {
+        return availabilityAdapter.searchAvailabilityRuns(searchStartDate, searchEndDate);
+    }
+
+    @GetMapping("/bitmask")
+    public AvailabilityBitmaskDto searchAvailabilityBitmask(final @RequestParam(value = "searchStartDate", required = false) Instant searchStartDate,
+                                                            final @RequestParam(value = "searchEndDate", required = false) Instant searchEndDate) {
+        return availabilityAdapter.searchAvailabilityBitmask(searchStartDate, searchEndDate);
+    }
+}
@@ -0,0 +1,40 @@
+package upgrade.challenge.availability.v1.v1.web.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import upgrade.challenge.availability.v1.v1.adapter.AvailabilityAdapter;
+import upgrade.challenge.availability.v1.v1.dto.AvailabilityDto;
+
+import java.time.Instant;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/availability/v1.1/reactive")
+public class ReactiveAvailabilityController {
+
+    private final AvailabilityAdapter availabilityAdapter;
+
+    @Autowired
+    public ReactiveAvailabilityController(AvailabilityAdapter availabilityAdapter) {
+        this.availabilityAdapter = availabilityAdapter;
+    }
+
+    @GetMapping
+    public Mono<List<AvailabilityDto>> searchAvailabilities(final @RequestParam(value = "searchStartDate", required = false) Instant searchStartDate,
+                                                            final @RequestParam(value = "searchEndDate", required = false) Instant searchEndDate) {
+        return availabilityAdapter.searchAvailabilitiesReactive(searchStartDate, searchEndDate)
+                .collectList();
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<AvailabilityDto> streamAvailabilities(final @RequestParam(value = "searchStartDate", required = false) Instant searchStartDate,
+                                                      final @RequestParam(value = "searchEndDate", required = false) Instant searchEndDate) {
+        return availabilityAdapter.searchAvailabilitiesReactive(searchStartDate, searchEndDate);
+    }
+}
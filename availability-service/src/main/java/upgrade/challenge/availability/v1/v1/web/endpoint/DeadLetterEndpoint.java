@@ -0,0 +1,39 @@
+package upgrade.challenge.availability.v1.v1.web.endpoint;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import upgrade.challenge.availability.v1.v1.adapter.DeadLetterAdapter;
+import upgrade.challenge.availability.v1.v1.dto.DeadLetterReplayDto;
+
+@Component
+@WebEndpoint(id = "deadletters")
+public class DeadLetterEndpoint {
+
+    private static final int DEFAULT_LIMIT = 100;
+
+    private final DeadLetterAdapter deadLetterAdapter;
+
+    @Autowired
+    public DeadLetterEndpoint(DeadLetterAdapter deadLetterAdapter) {
+        this.deadLetterAdapter = deadLetterAdapter;
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<DeadLetterReplayDto> replay(final @Selector String deadLetterQueueName,
+                                                           final @Nullable Integer limit) {
+        final int replayLimit = limit == null ? DEFAULT_LIMIT : limit;
+
+        if (replayLimit <= 0) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+
+        return deadLetterAdapter.replay(deadLetterQueueName, replayLimit)
+                .map(deadLetterReplayDto -> new WebEndpointResponse<>(deadLetterReplayDto))
+                .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+}
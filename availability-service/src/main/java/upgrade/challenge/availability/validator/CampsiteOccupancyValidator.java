@@ -1,14 +1,18 @@
 package upgrade.challenge.availability.validator;
 
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.Errors;
 import org.springframework.validation.Validator;
 import upgrade.challenge.availability.domain.CampsiteOccupancy;
 import upgrade.challenge.availability.repository.CampsiteOccupancyRepository;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Objects;
 
 @Component
 public class CampsiteOccupancyValidator implements Validator {
@@ -28,30 +32,65 @@ public class CampsiteOccupancyValidator implements Validator {
     }
 
     @Override
+    @Timed("availability.validator.validate")
     public void validate(final Object target, final Errors errors) {
         final CampsiteOccupancy campsiteOccupancyToValidate = (CampsiteOccupancy) target;
 
-        validateArrivalDate(campsiteOccupancyToValidate, errors);
-        validateDepartureDate(campsiteOccupancyToValidate, errors);
+        validateStay(campsiteOccupancyToValidate, errors);
     }
 
-    private void validateArrivalDate(final CampsiteOccupancy campsiteOccupancy, final Errors errors) {
-        final List<CampsiteOccupancy> occupancies = campsiteOccupancyRepository
-                .findAllByArrivalDateLessThanEqualAndDepartureDateGreaterThanEqual(campsiteOccupancy.getArrivalDate(),
-                        campsiteOccupancy.getDepartureDate());
+    @Timed("availability.validator.validate-all")
+    public List<Errors> validateAll(final List<CampsiteOccupancy> campsiteOccupancies) {
+        final List<CampsiteOccupancy> acceptedCampsiteOccupancies = new ArrayList<>(findOverlappingOccupancies(campsiteOccupancies));
+        final List<Errors> validationResults = new ArrayList<>(campsiteOccupancies.size());
 
-        if (occupancies.stream().anyMatch(occupancy -> !Objects.equals(occupancy.getReservationId(), campsiteOccupancy.getReservationId()))) {
-            errors.rejectValue("arrivalDate", null, DATE_UNAVAILABLE_ERROR_MESSAGE);
+        for (final CampsiteOccupancy campsiteOccupancy : campsiteOccupancies) {
+            final Errors errors = new BeanPropertyBindingResult(campsiteOccupancy, "campsiteOccupancy");
+
+            if (acceptedCampsiteOccupancies.stream().anyMatch(accepted -> overlaps(accepted, campsiteOccupancy))) {
+                rejectUnavailableDates(errors);
+            } else {
+                acceptedCampsiteOccupancies.add(campsiteOccupancy);
+            }
+
+            validationResults.add(errors);
         }
+
+        return validationResults;
     }
 
-    private void validateDepartureDate(final CampsiteOccupancy campsiteOccupancy, final Errors errors) {
-        final List<CampsiteOccupancy> occupancies = campsiteOccupancyRepository
-                .findAllByDepartureDateGreaterThanEqualAndDepartureDateLessThanEqual(campsiteOccupancy.getArrivalDate(),
-                        campsiteOccupancy.getDepartureDate());
+    public void rejectUnavailableDates(final Errors errors) {
+        errors.rejectValue("arrivalDate", null, DATE_UNAVAILABLE_ERROR_MESSAGE);
+        errors.rejectValue("departureDate", null, DATE_UNAVAILABLE_ERROR_MESSAGE);
+    }
 
-        if (occupancies.stream().anyMatch(occupancy -> !Objects.equals(occupancy.getReservationId(), campsiteOccupancy.getReservationId()))) {
-            errors.rejectValue("departureDate", null, DATE_UNAVAILABLE_ERROR_MESSAGE);
+    private void validateStay(final CampsiteOccupancy campsiteOccupancy, final Errors errors) {
+        if (campsiteOccupancyRepository.existsOverlappingOccupancy(campsiteOccupancy.getArrivalDate(),
+                campsiteOccupancy.getDepartureDate(), campsiteOccupancy.getReservationId())) {
+            rejectUnavailableDates(errors);
         }
     }
+
+    private List<CampsiteOccupancy> findOverlappingOccupancies(final List<CampsiteOccupancy> campsiteOccupancies) {
+        if (campsiteOccupancies.isEmpty()) {
+            return List.of();
+        }
+
+        final Instant firstArrivalDate = campsiteOccupancies.stream()
+                .map(CampsiteOccupancy::getArrivalDate)
+                .min(Comparator.naturalOrder())
+                .orElseThrow();
+        final Instant lastDepartureDate = campsiteOccupancies.stream()
+                .map(CampsiteOccupancy::getDepartureDate)
+                .max(Comparator.naturalOrder())
+                .orElseThrow();
+
+        return campsiteOccupancyRepository.findAllOverlappingOccupancies(firstArrivalDate, lastDepartureDate);
+    }
+
+    private boolean overlaps(final CampsiteOccupancy first, final CampsiteOccupancy second) {
+        return !first.getReservationId().equals(second.getReservationId())
+                && !first.getArrivalDate().isAfter(second.getDepartureDate())
+                && !second.getArrivalDate().isAfter(first.getDepartureDate());
+    }
 }
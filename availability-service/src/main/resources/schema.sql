@@ -0,0 +1,24 @@
+ALTER TABLE campsite_occupancy
+    ADD COLUMN IF NOT EXISTS stay tsrange GENERATED ALWAYS AS (tsrange(arrival_date, departure_date, '[]')) STORED;
+
+DO 'DECLARE
+    overlapping_reservation_ids text;
+BEGIN
+    ALTER TABLE campsite_occupancy
+        ADD CONSTRAINT campsite_occupancy_stay_excl EXCLUDE USING gist (stay WITH &&);
+EXCEPTION
+    WHEN duplicate_object OR duplicate_table THEN NULL;
+    WHEN exclusion_violation THEN
+        SELECT string_agg(first_occupancy.reservation_id || ''/'' || second_occupancy.reservation_id, '', '')
+        INTO overlapping_reservation_ids
+        FROM campsite_occupancy first_occupancy
+        JOIN campsite_occupancy second_occupancy
+            ON first_occupancy.id < second_occupancy.id AND first_occupancy.stay && second_occupancy.stay;
+
+        RAISE EXCEPTION ''campsite_occupancy has overlapping stays for reservations %'', overlapping_reservation_ids
+            USING ERRCODE = ''exclusion_violation'',
+                HINT = ''Cancel one reservation of each pair and delete its campsite_occupancy row, then restart (see README).'';
+END';
+
+SELECT setval('campsite_occupancy_id_seq', max_id) FROM (SELECT MAX(id) AS max_id FROM campsite_occupancy) campsite_occupancy_ids
+    WHERE max_id > (SELECT last_value FROM campsite_occupancy_id_seq);
@@ -0,0 +1,144 @@
+package upgrade.challenge.availability.v1.messaging.consumer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.ContentTypeDelegatingMessageConverter;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.dao.DataIntegrityViolationException;
+import upgrade.challenge.availability.domain.CampsiteOccupancy;
+import upgrade.challenge.availability.v1.messaging.eventmessage.ReservationDateSelectionEvent;
+import upgrade.challenge.availability.v1.messaging.retry.RetryQueueMessageRecoverer;
+import upgrade.challenge.availability.v1.service.CampsiteOccupancyService;
+import upgrade.challenge.common.service.ProcessedMessageService;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EventMessageConsumerTest {
+
+    private EventMessageConsumer testee;
+
+    @Mock
+    private CampsiteOccupancyService campsiteOccupancyService;
+
+    @Mock
+    private ProcessedMessageService processedMessageService;
+
+    @Mock
+    private ContentTypeDelegatingMessageConverter eventMessageConverter;
+
+    @Mock
+    private RetryQueueMessageRecoverer retryQueueMessageRecoverer;
+
+    @BeforeEach
+    void setUp() {
+        testee = new EventMessageConsumer(campsiteOccupancyService, processedMessageService, eventMessageConverter,
+                retryQueueMessageRecoverer, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void consumeReservationDateSelectionEventMessages_shouldCreateAllInOneBatch() {
+        final Message firstMessage = buildMessage("1");
+        final Message secondMessage = buildMessage("2");
+        final ReservationDateSelectionEvent firstEvent = buildReservationDateSelectionEvent(1L);
+        final ReservationDateSelectionEvent secondEvent = buildReservationDateSelectionEvent(2L);
+
+        when(eventMessageConverter.fromMessage(firstMessage)).thenReturn(firstEvent);
+        when(eventMessageConverter.fromMessage(secondMessage)).thenReturn(secondEvent);
+        doAnswer(invocation -> {
+            invocation.<Consumer<List<ReservationDateSelectionEvent>>>getArgument(2).accept(invocation.getArgument(1));
+            return null;
+        }).when(processedMessageService).processAllOnce(eq(List.of("1", "2")), eq(List.of(firstEvent, secondEvent)), any(Consumer.class));
+
+        testee.consumeReservationDateSelectionEventMessages(List.of(firstMessage, secondMessage));
+
+        verify(campsiteOccupancyService).createAll(List.of(buildCampsiteOccupancy(1L), buildCampsiteOccupancy(2L)));
+        verify(processedMessageService, never()).processOnce(any(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void consumeReservationDateSelectionEventMessages_withBatchFailure_shouldRecoverOnlyFailingMessage() {
+        final Message firstMessage = buildMessage("1");
+        final Message secondMessage = buildMessage("2");
+        final DataIntegrityViolationException exception = new DataIntegrityViolationException("reservation_id_idx");
+
+        when(eventMessageConverter.fromMessage(firstMessage)).thenReturn(buildReservationDateSelectionEvent(1L));
+        when(eventMessageConverter.fromMessage(secondMessage)).thenReturn(buildReservationDateSelectionEvent(2L));
+        doThrow(exception).when(processedMessageService).processAllOnce(anyList(), anyList(), any(Consumer.class));
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return null;
+        }).when(processedMessageService).processOnce(eq("1"), isA(Runnable.class));
+        doThrow(exception).when(processedMessageService).processOnce(eq("2"), isA(Runnable.class));
+
+        testee.consumeReservationDateSelectionEventMessages(List.of(firstMessage, secondMessage));
+
+        verify(campsiteOccupancyService).create(buildCampsiteOccupancy(1L));
+        verify(retryQueueMessageRecoverer).recover(secondMessage, exception);
+        verify(retryQueueMessageRecoverer, never()).recover(eq(firstMessage), any(Throwable.class));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void consumeReservationDateSelectionEventMessages_withUnconvertibleMessage_shouldRecoverOnlyThatMessage() {
+        final Message firstMessage = buildMessage("1");
+        final Message secondMessage = buildMessage("2");
+        final MessageConversionException exception = new MessageConversionException("unreadable");
+
+        when(eventMessageConverter.fromMessage(firstMessage)).thenReturn(buildReservationDateSelectionEvent(1L));
+        when(eventMessageConverter.fromMessage(secondMessage)).thenThrow(exception);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(1).run();
+            return null;
+        }).when(processedMessageService).processOnce(eq("1"), isA(Runnable.class));
+
+        testee.consumeReservationDateSelectionEventMessages(List.of(firstMessage, secondMessage));
+
+        verify(processedMessageService, never()).processAllOnce(anyList(), anyList(), any(Consumer.class));
+        verify(campsiteOccupancyService).create(buildCampsiteOccupancy(1L));
+        verify(retryQueueMessageRecoverer).recover(secondMessage, exception);
+    }
+
+    private Message buildMessage(final String messageId) {
+        final MessageProperties messageProperties = new MessageProperties();
+        messageProperties.setMessageId(messageId);
+        messageProperties.setConsumerQueue("event.reservation.created");
+        return new Message(new byte[0], messageProperties);
+    }
+
+    private ReservationDateSelectionEvent buildReservationDateSelectionEvent(final Long reservationId) {
+        return ReservationDateSelectionEvent.builder()
+                .reservationId(reservationId)
+                .arrivalDate(Instant.EPOCH)
+                .departureDate(Instant.EPOCH.plusSeconds(86400L))
+                .build();
+    }
+
+    private CampsiteOccupancy buildCampsiteOccupancy(final Long reservationId) {
+        return CampsiteOccupancy.builder()
+                .reservationId(reservationId)
+                .arrivalDate(Instant.EPOCH)
+                .departureDate(Instant.EPOCH.plusSeconds(86400L))
+                .build();
+    }
+}
@@ -0,0 +1,133 @@
+package upgrade.challenge.availability.v1.messaging.publisher;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.ReturnedMessage;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.SimpleMessageConverter;
+import upgrade.challenge.availability.domain.EventType;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EventMessagePublisherTest {
+
+    private static final String QUEUE_NAME = "event.campsite.reserved";
+
+    private EventMessagePublisher testee;
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ArgumentCaptor<CorrelationData> correlationDataArgumentCaptor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        correlationDataArgumentCaptor = ArgumentCaptor.forClass(CorrelationData.class);
+        testee = new EventMessagePublisher(Map.of(EventType.CAMPSITE_RESERVED, new Queue(QUEUE_NAME)),
+                rabbitTemplate, meterRegistry, 1, Duration.ofMillis(10L));
+
+        when(rabbitTemplate.getMessageConverter()).thenReturn(new SimpleMessageConverter());
+    }
+
+    @Test
+    void publishEvent_whenAcked_shouldReleaseInFlightPermit() {
+        testee.publishEvent("event", EventType.CAMPSITE_RESERVED);
+
+        verify(rabbitTemplate).send(eq(QUEUE_NAME), any(Message.class), correlationDataArgumentCaptor.capture());
+        assertThat(getGaugeValue("availability.publisher.in-flight")).isEqualTo(1.0);
+
+        correlationDataArgumentCaptor.getValue().getFuture().set(new CorrelationData.Confirm(true, null));
+
+        assertThat(getGaugeValue("availability.publisher.in-flight")).isZero();
+        assertThat(getGaugeValue("availability.publisher.pending")).isZero();
+        assertThat(meterRegistry.get("availability.publisher.latency")
+                .tags("queue", QUEUE_NAME, "result", "confirmed")
+                .timer().count()).isEqualTo(1L);
+    }
+
+    @Test
+    void publishEvent_whenNacked_shouldRetryFromPendingBufferWithSameMessageId() {
+        final ArgumentCaptor<Message> messageArgumentCaptor = ArgumentCaptor.forClass(Message.class);
+
+        testee.publishEvent("event", EventType.CAMPSITE_RESERVED);
+
+        verify(rabbitTemplate).send(eq(QUEUE_NAME), any(Message.class), correlationDataArgumentCaptor.capture());
+        correlationDataArgumentCaptor.getValue().getFuture().set(new CorrelationData.Confirm(false, "nack"));
+
+        assertThat(getGaugeValue("availability.publisher.pending")).isEqualTo(1.0);
+
+        testee.retryPendingEventMessages();
+
+        verify(rabbitTemplate, times(2)).send(eq(QUEUE_NAME), messageArgumentCaptor.capture(), any(CorrelationData.class));
+        assertThat(messageArgumentCaptor.getAllValues().get(0).getMessageProperties().getMessageId())
+                .isNotNull()
+                .isEqualTo(messageArgumentCaptor.getAllValues().get(1).getMessageProperties().getMessageId());
+        assertThat(getGaugeValue("availability.publisher.pending")).isZero();
+        assertThat(getGaugeValue("availability.publisher.in-flight")).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("availability.publisher.retried").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void publishEvent_whenReturned_shouldQueueForRetry() {
+        testee.publishEvent("event", EventType.CAMPSITE_RESERVED);
+
+        final ArgumentCaptor<Message> messageArgumentCaptor = ArgumentCaptor.forClass(Message.class);
+        verify(rabbitTemplate).send(eq(QUEUE_NAME), messageArgumentCaptor.capture(), correlationDataArgumentCaptor.capture());
+        final CorrelationData correlationData = correlationDataArgumentCaptor.getValue();
+        correlationData.setReturned(new ReturnedMessage(messageArgumentCaptor.getValue(), 312, "NO_ROUTE", "", QUEUE_NAME));
+        correlationData.getFuture().set(new CorrelationData.Confirm(true, null));
+
+        assertThat(getGaugeValue("availability.publisher.in-flight")).isZero();
+        assertThat(getGaugeValue("availability.publisher.pending")).isEqualTo(1.0);
+    }
+
+    @Test
+    void publishEvent_withFullInFlightWindow_shouldQueueForRetry() {
+        testee.publishEvent("first", EventType.CAMPSITE_RESERVED);
+        testee.publishEvent("second", EventType.CAMPSITE_RESERVED);
+
+        verify(rabbitTemplate, times(1)).send(eq(QUEUE_NAME), any(Message.class), any(CorrelationData.class));
+        assertThat(getGaugeValue("availability.publisher.in-flight")).isEqualTo(1.0);
+        assertThat(getGaugeValue("availability.publisher.pending")).isEqualTo(1.0);
+
+        testee.retryPendingEventMessages();
+
+        verify(rabbitTemplate, times(1)).send(eq(QUEUE_NAME), any(Message.class), any(CorrelationData.class));
+    }
+
+    @Test
+    void publishEvent_whenSendFails_shouldQueueForRetry() {
+        doThrow(new AmqpConnectException(new RuntimeException("connection refused")))
+                .when(rabbitTemplate).send(eq(QUEUE_NAME), any(Message.class), any(CorrelationData.class));
+
+        testee.publishEvent("event", EventType.CAMPSITE_RESERVED);
+
+        assertThat(getGaugeValue("availability.publisher.in-flight")).isZero();
+        assertThat(getGaugeValue("availability.publisher.pending")).isEqualTo(1.0);
+    }
+
+    private double getGaugeValue(final String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+}
@@ -0,0 +1,75 @@
+package upgrade.challenge.availability.v1.messaging.retry;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Envelope;
+import com.rabbitmq.client.GetResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.rabbit.core.ChannelCallback;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import upgrade.challenge.availability.exception.NotFoundException;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DeadLetterReplayerTest {
+
+    private static final String QUEUE_NAME = "event.reservation.created";
+    private static final String DEAD_LETTER_QUEUE_NAME = "event.reservation.created.dlq";
+
+    private DeadLetterReplayer testee;
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private Channel channel;
+
+    @BeforeEach
+    void setUp() {
+        testee = new DeadLetterReplayer(rabbitTemplate);
+    }
+
+    @Test
+    void replay_shouldRepublishDeadLettersWithoutRetryHeaders() throws Exception {
+        final byte[] body = "{}".getBytes();
+        final AMQP.BasicProperties properties = new AMQP.BasicProperties.Builder()
+                .headers(Map.of(RetryQueues.RETRY_COUNT_HEADER, 3, RetryQueues.EXCEPTION_MESSAGE_HEADER, "boom", "other", "kept"))
+                .build();
+        final ArgumentCaptor<AMQP.BasicProperties> propertiesArgumentCaptor = ArgumentCaptor.forClass(AMQP.BasicProperties.class);
+
+        when(rabbitTemplate.execute(any())).thenAnswer(invocation -> ((ChannelCallback<?>) invocation.getArgument(0)).doInRabbit(channel));
+        when(channel.basicGet(DEAD_LETTER_QUEUE_NAME, false))
+                .thenReturn(new GetResponse(new Envelope(42L, false, "", DEAD_LETTER_QUEUE_NAME), properties, body, 0))
+                .thenReturn(null);
+
+        final int actual = testee.replay(QUEUE_NAME, 10);
+
+        assertThat(actual).isEqualTo(1);
+
+        verify(channel).basicPublish(eq(""), eq(QUEUE_NAME), propertiesArgumentCaptor.capture(), eq(body));
+        verify(channel).basicAck(42L, false);
+        assertThat(propertiesArgumentCaptor.getValue().getHeaders()).containsOnlyKeys("other");
+    }
+
+    @Test
+    void replay_withUnknownQueue_shouldThrowException() {
+        assertThatExceptionOfType(NotFoundException.class)
+                .isThrownBy(() -> testee.replay("unknown", 10));
+
+        verifyNoInteractions(rabbitTemplate);
+    }
+}
@@ -0,0 +1,93 @@
+package upgrade.challenge.availability.v1.messaging.retry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.support.ListenerExecutionFailedException;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.dao.QueryTimeoutException;
+import upgrade.challenge.availability.exception.ValidationException;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class RetryQueueMessageRecovererTest {
+
+    private static final String QUEUE_NAME = "event.reservation.created";
+
+    private RetryQueueMessageRecoverer testee;
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    private Message message;
+
+    @BeforeEach
+    void setUp() {
+        testee = new RetryQueueMessageRecoverer(rabbitTemplate, 3);
+
+        final MessageProperties messageProperties = new MessageProperties();
+        messageProperties.setConsumerQueue(QUEUE_NAME);
+        message = new Message(new byte[0], messageProperties);
+    }
+
+    @Test
+    void recover_withTransientException_shouldSendToFirstRetryQueue() {
+        testee.recover(message, wrap(new QueryTimeoutException("timeout")));
+
+        assertThat(message.getMessageProperties().<Integer>getHeader(RetryQueues.RETRY_COUNT_HEADER)).isEqualTo(1);
+
+        verify(rabbitTemplate).send("event.reservation.created.retry.1", message);
+    }
+
+    @Test
+    void recover_withRetriesExhausted_shouldSendToDeadLetterQueue() {
+        message.getMessageProperties().setHeader(RetryQueues.RETRY_COUNT_HEADER, 3);
+
+        testee.recover(message, wrap(new QueryTimeoutException("timeout")));
+
+        assertThat(message.getMessageProperties().<String>getHeader(RetryQueues.EXCEPTION_MESSAGE_HEADER)).contains("timeout");
+
+        verify(rabbitTemplate).send("event.reservation.created.dlq", message);
+    }
+
+    @Test
+    void recover_withPoisonMessage_shouldSendToDeadLetterQueueWithoutRetrying() {
+        testee.recover(message, wrap(new MessageConversionException("unreadable")));
+
+        verify(rabbitTemplate).send("event.reservation.created.dlq", message);
+    }
+
+    @Test
+    void recover_withValidationException_shouldDropMessage() {
+        testee.recover(message, wrap(new ValidationException(List.of())));
+
+        verifyNoInteractions(rabbitTemplate);
+    }
+
+    @Test
+    void recover_withBatch_shouldRecoverEachMessage() {
+        final MessageProperties otherMessageProperties = new MessageProperties();
+        otherMessageProperties.setConsumerQueue(QUEUE_NAME);
+        otherMessageProperties.setHeader(RetryQueues.RETRY_COUNT_HEADER, 1);
+        final Message otherMessage = new Message(new byte[0], otherMessageProperties);
+
+        testee.recover(List.of(message, otherMessage), wrap(new QueryTimeoutException("timeout")));
+
+        verify(rabbitTemplate).send("event.reservation.created.retry.1", message);
+        verify(rabbitTemplate).send("event.reservation.created.retry.2", otherMessage);
+    }
+
+    private Throwable wrap(final Throwable cause) {
+        return new ListenerExecutionFailedException("Listener threw exception", cause, message);
+    }
+}
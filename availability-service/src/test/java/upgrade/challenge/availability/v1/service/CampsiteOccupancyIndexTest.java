@@ -0,0 +1,148 @@
+package upgrade.challenge.availability.v1.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import upgrade.challenge.availability.domain.CampsiteOccupancy;
+import upgrade.challenge.availability.domain.CampsiteOccupancyChangedEvent;
+import upgrade.challenge.availability.domain.DayRange;
+import upgrade.challenge.availability.repository.CampsiteOccupancyRepository;
+
+import java.time.Instant;
+import java.util.BitSet;
+import java.util.List;
+
+import static java.time.temporal.ChronoUnit.DAYS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CampsiteOccupancyIndexTest {
+
+    private static final Instant SEARCH_START_DATE = Instant.parse("2022-02-01T00:00:00.000Z");
+    private static final DayRange SEARCH_DAY_RANGE = DayRange.ofSearch(SEARCH_START_DATE, SEARCH_START_DATE.plus(10L, DAYS));
+
+    private CampsiteOccupancyIndex testee;
+
+    @Mock
+    private CampsiteOccupancyRepository campsiteOccupancyRepository;
+
+    @BeforeEach
+    void setUp() {
+        testee = new CampsiteOccupancyIndex(campsiteOccupancyRepository, true);
+    }
+
+    @Test
+    void load() {
+        when(campsiteOccupancyRepository.findAll()).thenReturn(List.of(
+                buildCampsiteOccupancy(1L, 2L, 3L),
+                buildCampsiteOccupancy(2L, 6L, 9L)
+        ));
+
+        assertThat(testee.isLoading()).isTrue();
+
+        testee.load();
+
+        assertThat(testee.isLoaded()).isTrue();
+        assertThat(testee.isLoading()).isFalse();
+        assertThat(testee.getOccupiedDays(SEARCH_DAY_RANGE)).isEqualTo(buildBitSet(2, 3, 6, 7, 8, 9));
+
+        verify(campsiteOccupancyRepository).findAll();
+    }
+
+    @Test
+    void load_whenDisabled_shouldNotLoad() {
+        testee = new CampsiteOccupancyIndex(campsiteOccupancyRepository, false);
+
+        testee.load();
+
+        assertThat(testee.isLoaded()).isFalse();
+        assertThat(testee.isLoading()).isFalse();
+
+        verifyNoInteractions(campsiteOccupancyRepository);
+    }
+
+    @Test
+    void put_withExistingReservation_shouldReplaceDays() {
+        testee.put(buildCampsiteOccupancy(1L, 2L, 4L));
+        testee.put(buildCampsiteOccupancy(1L, 6L, 7L));
+
+        assertThat(testee.getOccupiedDays(SEARCH_DAY_RANGE)).isEqualTo(buildBitSet(6, 7));
+    }
+
+    @Test
+    void remove_withOverlappingReservation_shouldKeepSharedDays() {
+        testee.put(buildCampsiteOccupancy(1L, 2L, 4L));
+        testee.put(buildCampsiteOccupancy(2L, 4L, 5L));
+
+        testee.remove(1L);
+
+        assertThat(testee.getOccupiedDays(SEARCH_DAY_RANGE)).isEqualTo(buildBitSet(4, 5));
+    }
+
+    @Test
+    void remove_withDaysSharedByOtherReservations_shouldKeepDaysUntilLastOneIsRemoved() {
+        testee.put(buildCampsiteOccupancy(1L, 2L, 4L));
+        testee.put(buildCampsiteOccupancy(2L, 3L, 5L));
+        testee.put(buildCampsiteOccupancy(3L, 3L, 4L));
+
+        testee.remove(1L);
+        testee.remove(3L);
+
+        assertThat(testee.getOccupiedDays(SEARCH_DAY_RANGE)).isEqualTo(buildBitSet(3, 4, 5));
+
+        testee.remove(2L);
+
+        assertThat(testee.getOccupiedDays(SEARCH_DAY_RANGE)).isEqualTo(new BitSet());
+    }
+
+    @Test
+    void remove_withUnknownReservation_shouldDoNothing() {
+        testee.put(buildCampsiteOccupancy(1L, 2L, 3L));
+
+        testee.remove(2L);
+
+        assertThat(testee.getOccupiedDays(SEARCH_DAY_RANGE)).isEqualTo(buildBitSet(2, 3));
+    }
+
+    @Test
+    void onCampsiteOccupancyChanged_withCreatedOccupancy_shouldPutDays() {
+        testee.onCampsiteOccupancyChanged(CampsiteOccupancyChangedEvent.created(buildCampsiteOccupancy(1L, 2L, 3L)));
+
+        assertThat(testee.getOccupiedDays(SEARCH_DAY_RANGE)).isEqualTo(buildBitSet(2, 3));
+    }
+
+    @Test
+    void onCampsiteOccupancyChanged_withCancelledOccupancy_shouldRemoveDays() {
+        final CampsiteOccupancy campsiteOccupancy = buildCampsiteOccupancy(1L, 2L, 3L);
+        testee.put(campsiteOccupancy);
+
+        testee.onCampsiteOccupancyChanged(CampsiteOccupancyChangedEvent.cancelled(campsiteOccupancy));
+
+        assertThat(testee.getOccupiedDays(SEARCH_DAY_RANGE)).isEqualTo(new BitSet());
+    }
+
+    private CampsiteOccupancy buildCampsiteOccupancy(final Long reservationId,
+                                                     final long arrivalDayOffset,
+                                                     final long departureDayOffset) {
+        return CampsiteOccupancy.builder()
+                .reservationId(reservationId)
+                .arrivalDate(SEARCH_START_DATE.plus(arrivalDayOffset, DAYS))
+                .departureDate(SEARCH_START_DATE.plus(departureDayOffset, DAYS))
+                .build();
+    }
+
+    private BitSet buildBitSet(final int... dayOffsets) {
+        final BitSet bitSet = new BitSet();
+
+        for (final int dayOffset : dayOffsets) {
+            bitSet.set(dayOffset);
+        }
+
+        return bitSet;
+    }
+}
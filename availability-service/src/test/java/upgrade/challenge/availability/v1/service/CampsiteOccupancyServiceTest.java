@@ -3,10 +3,17 @@ package upgrade.challenge.availability.v1.service;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatcher;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.Errors;
 import upgrade.challenge.availability.domain.CampsiteOccupancy;
+import upgrade.challenge.availability.domain.CampsiteOccupancyChangedEvent;
+import upgrade.challenge.availability.domain.CampsiteOccupancyValidatedEvent;
+import upgrade.challenge.availability.domain.DayRange;
 import upgrade.challenge.availability.domain.EventType;
 import upgrade.challenge.availability.exception.NotFoundException;
 import upgrade.challenge.availability.exception.ValidationException;
@@ -15,6 +22,7 @@ import upgrade.challenge.availability.v1.messaging.eventmessage.CampsiteReserved
 import upgrade.challenge.availability.v1.messaging.publisher.EventMessagePublisher;
 import upgrade.challenge.availability.validator.CampsiteOccupancyValidator;
 
+import java.sql.SQLException;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
@@ -33,6 +41,9 @@ class CampsiteOccupancyServiceTest {
 
     private CampsiteOccupancyService testee;
 
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
     @Mock
     private CampsiteOccupancyRepository campsiteOccupancyRepository;
 
@@ -46,15 +57,26 @@ class CampsiteOccupancyServiceTest {
 
     @BeforeEach
     void setUp() {
-        testee = new CampsiteOccupancyService(campsiteOccupancyRepository, campsiteOccupancyValidator, eventMessagePublisher);
+        testee = new CampsiteOccupancyService(applicationEventPublisher, campsiteOccupancyRepository, campsiteOccupancyValidator, eventMessagePublisher);
         campsiteOccupancy = buildCampsiteOccupancy();
     }
 
     @Test
     void cancel() {
+        when(campsiteOccupancyRepository.deleteByReservationId(RESERVATION_ID)).thenReturn(List.of(campsiteOccupancy));
+
         testee.cancel(RESERVATION_ID);
 
         verify(campsiteOccupancyRepository).deleteByReservationId(RESERVATION_ID);
+        verify(applicationEventPublisher).publishEvent(CampsiteOccupancyChangedEvent.cancelled(campsiteOccupancy));
+    }
+
+    @Test
+    void cancel_withOccupancyNotFound_shouldNotPublishEvent() {
+        testee.cancel(RESERVATION_ID);
+
+        verify(campsiteOccupancyRepository).deleteByReservationId(RESERVATION_ID);
+        verifyNoInteractions(applicationEventPublisher);
     }
 
     @Test
@@ -63,15 +85,17 @@ class CampsiteOccupancyServiceTest {
         final CampsiteOccupancy expected = campsiteOccupancy.setId(insertedId);
 
         doAnswer(invocation -> ((CampsiteOccupancy) invocation.getArguments()[0]).setId(insertedId))
-                .when(campsiteOccupancyRepository).save(campsiteOccupancy);
+                .when(campsiteOccupancyRepository).saveAndFlush(campsiteOccupancy);
 
         final CampsiteOccupancy actual = testee.create(campsiteOccupancy);
 
         assertThat(actual).isEqualTo(expected);
 
         verify(campsiteOccupancyValidator).validate(eq(campsiteOccupancy), isA(Errors.class));
-        verify(campsiteOccupancyRepository).save(campsiteOccupancy);
-        verify(eventMessagePublisher).publishEvent(buildCampsiteReservedEvent(), EventType.CAMPSITE_RESERVED);
+        verify(campsiteOccupancyRepository).saveAndFlush(campsiteOccupancy);
+        verify(applicationEventPublisher).publishEvent(CampsiteOccupancyChangedEvent.created(expected));
+        verify(applicationEventPublisher).publishEvent(CampsiteOccupancyValidatedEvent.confirmed(expected));
+        verifyNoInteractions(eventMessagePublisher);
     }
 
     @Test
@@ -86,10 +110,90 @@ class CampsiteOccupancyServiceTest {
                 .isThrownBy(() -> testee.create(campsiteOccupancy));
 
         verify(campsiteOccupancyValidator).validate(eq(campsiteOccupancy), isA(Errors.class));
-        verify(eventMessagePublisher).publishEvent(buildCampsiteReservedEvent(), EventType.CAMPSITE_RESERVATION_ROLLBACK);
+        verify(eventMessagePublisher).publishEvent(argThat(isCampsiteReservedEvent(RESERVATION_ID)), eq(EventType.CAMPSITE_RESERVATION_ROLLBACK));
         verifyNoInteractions(campsiteOccupancyRepository);
     }
 
+    @Test
+    void create_withOverlappingStayInsertedConcurrently_shouldPublishRollbackEvent() {
+        doAnswer(invocation -> {
+            Errors errors = invocation.getArgument(0);
+            errors.rejectValue("arrivalDate", "errorCode", "default message");
+            return null;
+        }).when(campsiteOccupancyValidator).rejectUnavailableDates(isA(Errors.class));
+        when(campsiteOccupancyRepository.saveAndFlush(campsiteOccupancy))
+                .thenThrow(new DataIntegrityViolationException("conflict", new SQLException("conflict", "23P01")));
+
+        assertThatExceptionOfType(ValidationException.class)
+                .isThrownBy(() -> testee.create(campsiteOccupancy));
+
+        verify(campsiteOccupancyRepository).saveAndFlush(campsiteOccupancy);
+        verify(eventMessagePublisher).publishEvent(argThat(isCampsiteReservedEvent(RESERVATION_ID)), eq(EventType.CAMPSITE_RESERVATION_ROLLBACK));
+        verifyNoMoreInteractions(eventMessagePublisher);
+    }
+
+    @Test
+    void create_withOtherIntegrityViolation_shouldRethrowException() {
+        when(campsiteOccupancyRepository.saveAndFlush(campsiteOccupancy))
+                .thenThrow(new DataIntegrityViolationException("duplicate", new SQLException("duplicate", "23505")));
+
+        assertThatExceptionOfType(DataIntegrityViolationException.class)
+                .isThrownBy(() -> testee.create(campsiteOccupancy));
+
+        verifyNoInteractions(eventMessagePublisher);
+    }
+
+    @Test
+    void createAll_shouldSaveValidOccupanciesAndRollbackRejectedOnes() {
+        final Long rejectedReservationId = 987654321L;
+        final CampsiteOccupancy rejectedOccupancy = buildCampsiteOccupancy().setReservationId(rejectedReservationId);
+        final CampsiteOccupancy duplicateOccupancy = buildCampsiteOccupancy();
+        final Errors rejectedErrors = new BeanPropertyBindingResult(rejectedOccupancy, "campsiteOccupancy");
+        rejectedErrors.rejectValue("arrivalDate", "errorCode", "default message");
+
+        when(campsiteOccupancyValidator.validateAll(List.of(campsiteOccupancy, rejectedOccupancy)))
+                .thenReturn(List.of(new BeanPropertyBindingResult(campsiteOccupancy, "campsiteOccupancy"), rejectedErrors));
+        when(campsiteOccupancyRepository.saveAllAndFlush(List.of(campsiteOccupancy))).thenReturn(List.of(campsiteOccupancy));
+
+        final List<CampsiteOccupancy> actual = testee.createAll(List.of(campsiteOccupancy, rejectedOccupancy, duplicateOccupancy));
+
+        assertThat(actual).containsExactly(campsiteOccupancy);
+
+        verify(campsiteOccupancyRepository).saveAllAndFlush(List.of(campsiteOccupancy));
+        verify(applicationEventPublisher).publishEvent(CampsiteOccupancyChangedEvent.created(campsiteOccupancy));
+        verify(applicationEventPublisher).publishEvent(CampsiteOccupancyValidatedEvent.confirmed(campsiteOccupancy));
+        verify(applicationEventPublisher).publishEvent(CampsiteOccupancyValidatedEvent.rejected(rejectedOccupancy));
+        verifyNoMoreInteractions(applicationEventPublisher);
+        verifyNoInteractions(eventMessagePublisher);
+    }
+
+    @Test
+    void createAll_withIntegrityViolation_shouldNotPublishEvents() {
+        when(campsiteOccupancyValidator.validateAll(List.of(campsiteOccupancy)))
+                .thenReturn(List.of(new BeanPropertyBindingResult(campsiteOccupancy, "campsiteOccupancy")));
+        when(campsiteOccupancyRepository.saveAllAndFlush(List.of(campsiteOccupancy)))
+                .thenThrow(new DataIntegrityViolationException("conflict", new SQLException("conflict", "23P01")));
+
+        assertThatExceptionOfType(DataIntegrityViolationException.class)
+                .isThrownBy(() -> testee.createAll(List.of(campsiteOccupancy)));
+
+        verifyNoInteractions(applicationEventPublisher, eventMessagePublisher);
+    }
+
+    @Test
+    void onCampsiteOccupancyValidated_whenConfirmed_shouldPublishCampsiteReservedEvent() {
+        testee.onCampsiteOccupancyValidated(CampsiteOccupancyValidatedEvent.confirmed(campsiteOccupancy));
+
+        verify(eventMessagePublisher).publishEvent(argThat(isCampsiteReservedEvent(RESERVATION_ID)), eq(EventType.CAMPSITE_RESERVED));
+    }
+
+    @Test
+    void onCampsiteOccupancyValidated_whenRejected_shouldPublishRollbackEvent() {
+        testee.onCampsiteOccupancyValidated(CampsiteOccupancyValidatedEvent.rejected(campsiteOccupancy));
+
+        verify(eventMessagePublisher).publishEvent(argThat(isCampsiteReservedEvent(RESERVATION_ID)), eq(EventType.CAMPSITE_RESERVATION_ROLLBACK));
+    }
+
     @Test
     void getAllBetweenDates() {
         final Instant now = Instant.now();
@@ -110,35 +214,44 @@ class CampsiteOccupancyServiceTest {
         final Instant arrivalDate = Instant.now();
         final CampsiteOccupancy existingOccupancy = buildCampsiteOccupancy(arrivalDate, arrivalDate.plus(3L, ChronoUnit.DAYS));
         final CampsiteOccupancy expected = buildCampsiteOccupancy(arrivalDate, arrivalDate.plus(1L, ChronoUnit.DAYS));
+        final DayRange previousDayRange = DayRange.ofOccupancy(existingOccupancy);
 
         when(campsiteOccupancyRepository.findByReservationId(RESERVATION_ID)).thenReturn(Optional.of(existingOccupancy));
-        when(campsiteOccupancyRepository.save(existingOccupancy)).thenReturn(expected);
+        when(campsiteOccupancyRepository.saveAndFlush(existingOccupancy)).thenReturn(expected);
 
         final CampsiteOccupancy actual = testee.updateOccupancyDates(RESERVATION_ID, expected);
 
         assertThat(actual).isEqualTo(expected);
 
         verify(campsiteOccupancyRepository).findByReservationId(RESERVATION_ID);
-        verify(campsiteOccupancyValidator).validate(eq(existingOccupancy), isA(Errors.class));
-        verify(campsiteOccupancyRepository).save(expected);
-        verify(eventMessagePublisher).publishEvent(buildCampsiteReservedEvent(), EventType.CAMPSITE_RESERVED);
+        verify(campsiteOccupancyValidator).validate(eq(expected), isA(Errors.class));
+        verify(campsiteOccupancyRepository).saveAndFlush(expected);
+        verify(applicationEventPublisher).publishEvent(CampsiteOccupancyChangedEvent.modified(previousDayRange, expected));
+        verify(applicationEventPublisher).publishEvent(CampsiteOccupancyValidatedEvent.confirmed(expected));
+        verifyNoInteractions(eventMessagePublisher);
     }
 
     @Test
-    void updateOccupancyDates_withValidationErrors_shouldThrowException() {
-        when(campsiteOccupancyRepository.findByReservationId(RESERVATION_ID)).thenReturn(Optional.of(campsiteOccupancy));
+    void updateOccupancyDates_withValidationErrors_shouldThrowExceptionWithoutChangingExistingOccupancy() {
+        final Instant arrivalDate = Instant.now();
+        final CampsiteOccupancy existingOccupancy = buildCampsiteOccupancy(arrivalDate, arrivalDate.plus(3L, ChronoUnit.DAYS));
+        final CampsiteOccupancy requestedOccupancy = buildCampsiteOccupancy(arrivalDate, arrivalDate.plus(1L, ChronoUnit.DAYS));
+
+        when(campsiteOccupancyRepository.findByReservationId(RESERVATION_ID)).thenReturn(Optional.of(existingOccupancy));
         doAnswer(invocation -> {
             Errors errors = invocation.getArgument(1);
             errors.rejectValue("arrivalDate", "errorCode", "default message");
             return null;
-        }).when(campsiteOccupancyValidator).validate(eq(campsiteOccupancy), isA(Errors.class));
+        }).when(campsiteOccupancyValidator).validate(eq(requestedOccupancy), isA(Errors.class));
 
         assertThatExceptionOfType(ValidationException.class)
-                .isThrownBy(() -> testee.updateOccupancyDates(RESERVATION_ID, campsiteOccupancy));
+                .isThrownBy(() -> testee.updateOccupancyDates(RESERVATION_ID, requestedOccupancy));
+
+        assertThat(existingOccupancy.getDepartureDate()).isEqualTo(arrivalDate.plus(3L, ChronoUnit.DAYS));
 
         verify(campsiteOccupancyRepository).findByReservationId(RESERVATION_ID);
-        verify(campsiteOccupancyValidator).validate(eq(campsiteOccupancy), isA(Errors.class));
-        verify(eventMessagePublisher).publishEvent(buildCampsiteReservedEvent(), EventType.CAMPSITE_RESERVATION_ROLLBACK);
+        verify(campsiteOccupancyValidator).validate(eq(requestedOccupancy), isA(Errors.class));
+        verify(eventMessagePublisher).publishEvent(argThat(isCampsiteReservedEvent(RESERVATION_ID)), eq(EventType.CAMPSITE_RESERVATION_ROLLBACK));
         verifyNoMoreInteractions(campsiteOccupancyRepository);
     }
 
@@ -165,9 +278,9 @@ class CampsiteOccupancyServiceTest {
                 .build();
     }
 
-    private CampsiteReservedEvent buildCampsiteReservedEvent() {
-        return CampsiteReservedEvent.builder()
-                .reservationId(RESERVATION_ID)
-                .build();
+    private ArgumentMatcher<Object> isCampsiteReservedEvent(final Long reservationId) {
+        return eventMessage -> eventMessage instanceof CampsiteReservedEvent
+                && reservationId.equals(((CampsiteReservedEvent) eventMessage).getReservationId())
+                && ((CampsiteReservedEvent) eventMessage).getValidatedDate() != null;
     }
 }
@@ -0,0 +1,147 @@
+package upgrade.challenge.availability.v1.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import upgrade.challenge.availability.domain.CampsiteOccupancy;
+import upgrade.challenge.availability.domain.CampsiteOccupancyChangedEvent;
+import upgrade.challenge.availability.domain.DailyAvailability;
+import upgrade.challenge.availability.domain.DayRange;
+import upgrade.challenge.availability.repository.DailyAvailabilityRepository;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.BitSet;
+import java.util.List;
+
+import static java.time.temporal.ChronoUnit.DAYS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DailyAvailabilityServiceTest {
+
+    private static final Instant ARRIVAL_DATE = Instant.parse("2022-02-04T12:00:00.000Z");
+    private static final LocalDate ARRIVAL_DAY = LocalDate.parse("2022-02-04");
+
+    private DailyAvailabilityService testee;
+
+    @Mock
+    private DailyAvailabilityRepository dailyAvailabilityRepository;
+
+    private CampsiteOccupancy campsiteOccupancy;
+
+    @BeforeEach
+    void setUp() {
+        testee = new DailyAvailabilityService(dailyAvailabilityRepository, true);
+        campsiteOccupancy = CampsiteOccupancy.builder()
+                .reservationId(123456789L)
+                .arrivalDate(ARRIVAL_DATE)
+                .departureDate(ARRIVAL_DATE.plus(2L, DAYS))
+                .build();
+    }
+
+    @Test
+    void getOccupiedDays() {
+        final DayRange searchDayRange = DayRange.ofSearch(ARRIVAL_DATE, ARRIVAL_DATE.plus(5L, DAYS));
+        final BitSet expected = new BitSet();
+        expected.set(1);
+        expected.set(3);
+
+        when(dailyAvailabilityRepository.findAllByCalendarDayGreaterThanEqualAndCalendarDayLessThanAndOccupancyCountGreaterThan(
+                ARRIVAL_DAY, ARRIVAL_DAY.plusDays(6L), 0))
+                .thenReturn(List.of(buildDailyAvailability(ARRIVAL_DAY.plusDays(1L)), buildDailyAvailability(ARRIVAL_DAY.plusDays(3L))));
+
+        final BitSet actual = testee.getOccupiedDays(searchDayRange);
+
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    void onCampsiteOccupancyChanged_withCreatedOccupancy() {
+        testee.onCampsiteOccupancyChanged(CampsiteOccupancyChangedEvent.created(campsiteOccupancy));
+
+        verify(dailyAvailabilityRepository).incrementOccupancyCount(ARRIVAL_DAY, ARRIVAL_DAY.plusDays(2L));
+        verifyNoMoreInteractions(dailyAvailabilityRepository);
+    }
+
+    @Test
+    void onCampsiteOccupancyChanged_withModifiedOccupancy() {
+        final DayRange previousDayRange = DayRange.ofOccupancy(ARRIVAL_DATE.minus(3L, DAYS), ARRIVAL_DATE.minus(2L, DAYS));
+
+        testee.onCampsiteOccupancyChanged(CampsiteOccupancyChangedEvent.modified(previousDayRange, campsiteOccupancy));
+
+        final var inOrder = inOrder(dailyAvailabilityRepository);
+        inOrder.verify(dailyAvailabilityRepository).decrementOccupancyCount(ARRIVAL_DAY.minusDays(3L), ARRIVAL_DAY.minusDays(2L));
+        inOrder.verify(dailyAvailabilityRepository).incrementOccupancyCount(ARRIVAL_DAY, ARRIVAL_DAY.plusDays(2L));
+    }
+
+    @Test
+    void onCampsiteOccupancyChanged_withCancelledOccupancy() {
+        testee.onCampsiteOccupancyChanged(CampsiteOccupancyChangedEvent.cancelled(campsiteOccupancy));
+
+        verify(dailyAvailabilityRepository).decrementOccupancyCount(ARRIVAL_DAY, ARRIVAL_DAY.plusDays(2L));
+        verifyNoMoreInteractions(dailyAvailabilityRepository);
+    }
+
+    @Test
+    void onCampsiteOccupancyChanged_whenSearchDisabled_shouldNotUpdateOccupancyCounts() {
+        testee = new DailyAvailabilityService(dailyAvailabilityRepository, false);
+
+        testee.onCampsiteOccupancyChanged(CampsiteOccupancyChangedEvent.created(campsiteOccupancy));
+
+        verifyNoInteractions(dailyAvailabilityRepository);
+    }
+
+    @Test
+    void rebuild() {
+        when(dailyAvailabilityRepository.insertAllFromCampsiteOccupancies(ZoneId.systemDefault().getId())).thenReturn(3);
+
+        final int actual = testee.rebuild();
+
+        assertThat(actual).isEqualTo(3);
+
+        final var inOrder = inOrder(dailyAvailabilityRepository);
+        inOrder.verify(dailyAvailabilityRepository).lockForRebuild();
+        inOrder.verify(dailyAvailabilityRepository).deleteAllInBatch();
+        inOrder.verify(dailyAvailabilityRepository).insertAllFromCampsiteOccupancies(ZoneId.systemDefault().getId());
+    }
+
+    @Test
+    void rebuildForSearch_shouldOnlyBeReadyOnceRebuilt() {
+        assertThat(testee.isSearchReady()).isFalse();
+
+        testee.rebuildForSearch();
+
+        assertThat(testee.isSearchReady()).isTrue();
+
+        final var inOrder = inOrder(dailyAvailabilityRepository);
+        inOrder.verify(dailyAvailabilityRepository).lockForRebuild();
+        inOrder.verify(dailyAvailabilityRepository).deleteAllInBatch();
+        inOrder.verify(dailyAvailabilityRepository).insertAllFromCampsiteOccupancies(ZoneId.systemDefault().getId());
+    }
+
+    @Test
+    void rebuildForSearch_whenSearchDisabled_shouldNotRebuild() {
+        testee = new DailyAvailabilityService(dailyAvailabilityRepository, false);
+
+        testee.rebuildForSearch();
+
+        assertThat(testee.isSearchReady()).isFalse();
+        verifyNoInteractions(dailyAvailabilityRepository);
+    }
+
+    private DailyAvailability buildDailyAvailability(final LocalDate calendarDay) {
+        return DailyAvailability.builder()
+                .calendarDay(calendarDay)
+                .occupancyCount(1)
+                .build();
+    }
+}
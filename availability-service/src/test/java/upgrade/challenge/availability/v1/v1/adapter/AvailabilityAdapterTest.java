@@ -1,20 +1,41 @@
 package upgrade.challenge.availability.v1.v1.adapter;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import upgrade.challenge.availability.domain.DayRange;
+import upgrade.challenge.availability.v1.service.CampsiteOccupancyIndex;
+import upgrade.challenge.availability.v1.v1.dto.AvailabilityBitmaskDto;
 import upgrade.challenge.availability.v1.v1.dto.AvailabilityDto;
+import upgrade.challenge.availability.v1.v1.dto.AvailabilityRunDto;
 import upgrade.challenge.availability.v1.v1.helper.AvailabilityBuilder;
-
+import upgrade.challenge.availability.v1.v1.helper.AvailabilityCache;
+import upgrade.challenge.availability.v1.v1.helper.AvailabilityRunBuilder;
+import upgrade.challenge.availability.v1.v1.helper.AvailabilityVersion;
+import upgrade.challenge.availability.v1.v1.helper.ReactiveAvailabilityBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 import static java.time.temporal.ChronoUnit.DAYS;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -26,17 +47,56 @@ class AvailabilityAdapterTest {
     @Mock
     private AvailabilityBuilder availabilityBuilder;
 
+    @Mock
+    private AvailabilityRunBuilder availabilityRunBuilder;
+
+    @Mock
+    private CampsiteOccupancyIndex campsiteOccupancyIndex;
+
+    @Mock
+    private ReactiveAvailabilityBuilder reactiveAvailabilityBuilder;
+
+    private AvailabilityVersion availabilityVersion;
+    private ObjectMapper objectMapper;
     private Instant searchStartDate;
     private Instant searchEndDate;
 
     @BeforeEach
     void setUp() {
-        testee = new AvailabilityAdapter(availabilityBuilder);
+        availabilityVersion = new AvailabilityVersion(0L);
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        testee = new AvailabilityAdapter(availabilityBuilder,
+                new AvailabilityCache(campsiteOccupancyIndex, 10L, Duration.ofMinutes(1L), new SimpleMeterRegistry()),
+                availabilityRunBuilder,
+                campsiteOccupancyIndex,
+                availabilityVersion,
+                reactiveAvailabilityBuilder,
+                objectMapper);
 
         searchStartDate = Instant.now();
         searchEndDate = searchStartDate.plus(1L, DAYS);
     }
 
+    @Test
+    void getAvailabilityETag_afterOccupancyChange_shouldChange() {
+        final Optional<String> eTag = testee.getAvailabilityETag("json", searchStartDate, searchEndDate);
+
+        assertThat(eTag).isPresent();
+        assertThat(testee.getAvailabilityETag("json", searchStartDate, searchEndDate)).isEqualTo(eTag);
+        assertThat(testee.getAvailabilityETag("ndjson", searchStartDate, searchEndDate)).isNotEqualTo(eTag);
+
+        availabilityVersion.increment(DayRange.ofSearch(searchStartDate, searchEndDate));
+
+        assertThat(testee.getAvailabilityETag("json", searchStartDate, searchEndDate)).isNotEqualTo(eTag);
+    }
+
+    @Test
+    void getAvailabilityETag_whileIndexIsLoading_shouldReturnEmpty() {
+        when(campsiteOccupancyIndex.isLoading()).thenReturn(true);
+
+        assertThat(testee.getAvailabilityETag("json", searchStartDate, searchEndDate)).isEmpty();
+    }
+
     @Test
     void searchAvailabilities() {
         final List<AvailabilityDto> expected = List.of(buildAvailabilityDto(), buildAvailabilityDto());
@@ -50,6 +110,22 @@ class AvailabilityAdapterTest {
         verify(availabilityBuilder).searchAvailabilities(searchStartDate, searchEndDate);
     }
 
+    @Test
+    void searchAvailabilities_withSameSearchDays_shouldUseCache() {
+        final List<AvailabilityDto> expected = List.of(buildAvailabilityDto(), buildAvailabilityDto());
+        final Instant sameDaySearchStartDate = searchStartDate.truncatedTo(DAYS);
+        final Instant sameDaySearchEndDate = searchEndDate.plus(1L, DAYS).truncatedTo(DAYS);
+
+        when(availabilityBuilder.searchAvailabilities(searchStartDate, searchEndDate)).thenReturn(expected);
+
+        testee.searchAvailabilities(searchStartDate, searchEndDate);
+        final List<AvailabilityDto> actual = testee.searchAvailabilities(sameDaySearchStartDate, sameDaySearchEndDate);
+
+        assertThat(actual).isEqualTo(expected);
+
+        verify(availabilityBuilder, times(1)).searchAvailabilities(any(Instant.class), any(Instant.class));
+    }
+
     @Test
     void searchAvailabilities_withMissingSearchDates() {
         final List<AvailabilityDto> expected = List.of(buildAvailabilityDto(), buildAvailabilityDto());
@@ -70,6 +146,72 @@ class AvailabilityAdapterTest {
         assertThat(DAYS.between(startDate, endDate)).isEqualTo(30);
     }
 
+    @Test
+    void searchAvailabilitiesReactive_withMissingSearchDates() {
+        final List<AvailabilityDto> expected = List.of(buildAvailabilityDto(), buildAvailabilityDto());
+        final ArgumentCaptor<Instant> startDateArgumentCaptor = ArgumentCaptor.forClass(Instant.class);
+        final ArgumentCaptor<Instant> endDateArgumentCaptor = ArgumentCaptor.forClass(Instant.class);
+
+        when(reactiveAvailabilityBuilder.searchAvailabilities(any(Instant.class), any(Instant.class)))
+                .thenReturn(Flux.fromIterable(expected));
+
+        final List<AvailabilityDto> actual = testee.searchAvailabilitiesReactive(null, null).collectList().block();
+
+        assertThat(actual).isEqualTo(expected);
+
+        verify(reactiveAvailabilityBuilder).searchAvailabilities(startDateArgumentCaptor.capture(), endDateArgumentCaptor.capture());
+
+        assertThat(DAYS.between(startDateArgumentCaptor.getValue(), endDateArgumentCaptor.getValue())).isEqualTo(30);
+    }
+
+    @Test
+    void searchAvailabilityRuns() {
+        final List<AvailabilityRunDto> expected = List.of(AvailabilityRunDto.builder().available(true).build());
+
+        when(availabilityRunBuilder.searchAvailabilityRuns(searchStartDate, searchEndDate)).thenReturn(expected);
+
+        final List<AvailabilityRunDto> actual = testee.searchAvailabilityRuns(searchStartDate, searchEndDate);
+
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    void searchAvailabilityBitmask_withMissingSearchDates() {
+        final AvailabilityBitmaskDto expected = AvailabilityBitmaskDto.builder().days(30).build();
+        final ArgumentCaptor<Instant> startDateArgumentCaptor = ArgumentCaptor.forClass(Instant.class);
+        final ArgumentCaptor<Instant> endDateArgumentCaptor = ArgumentCaptor.forClass(Instant.class);
+
+        when(availabilityRunBuilder.searchAvailabilityBitmask(any(Instant.class), any(Instant.class))).thenReturn(expected);
+
+        final AvailabilityBitmaskDto actual = testee.searchAvailabilityBitmask(null, null);
+
+        assertThat(actual).isEqualTo(expected);
+
+        verify(availabilityRunBuilder).searchAvailabilityBitmask(startDateArgumentCaptor.capture(), endDateArgumentCaptor.capture());
+
+        assertThat(DAYS.between(startDateArgumentCaptor.getValue(), endDateArgumentCaptor.getValue())).isEqualTo(30);
+    }
+
+    @Test
+    void streamAvailabilities() throws IOException {
+        final AvailabilityDto firstAvailabilityDto = buildAvailabilityDto();
+        final AvailabilityDto secondAvailabilityDto = buildAvailabilityDto().setAvailable(false);
+        final String expected = objectMapper.writeValueAsString(firstAvailabilityDto) + "\n"
+                + objectMapper.writeValueAsString(secondAvailabilityDto) + "\n";
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        doAnswer(invocation -> {
+            final Consumer<AvailabilityDto> availabilityConsumer = invocation.getArgument(2);
+            availabilityConsumer.accept(firstAvailabilityDto);
+            availabilityConsumer.accept(secondAvailabilityDto);
+            return null;
+        }).when(availabilityBuilder).forEachAvailability(eq(searchStartDate), eq(searchEndDate), any());
+
+        testee.streamAvailabilities(searchStartDate, searchEndDate, outputStream);
+
+        assertThat(outputStream.toString(StandardCharsets.UTF_8)).isEqualTo(expected);
+    }
+
     private AvailabilityDto buildAvailabilityDto() {
         return AvailabilityDto.builder()
                 .available(true)
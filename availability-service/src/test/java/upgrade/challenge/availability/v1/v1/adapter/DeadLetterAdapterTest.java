@@ -0,0 +1,61 @@
+package upgrade.challenge.availability.v1.v1.adapter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import upgrade.challenge.availability.v1.messaging.retry.DeadLetterReplayer;
+import upgrade.challenge.availability.v1.v1.dto.DeadLetterReplayDto;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DeadLetterAdapterTest {
+
+    private static final String QUEUE_NAME = "event.reservation.created";
+    private static final String DEAD_LETTER_QUEUE_NAME = "event.reservation.created.dlq";
+
+    private DeadLetterAdapter testee;
+
+    @Mock
+    private DeadLetterReplayer deadLetterReplayer;
+
+    @BeforeEach
+    void setUp() {
+        testee = new DeadLetterAdapter(deadLetterReplayer);
+    }
+
+    @Test
+    void replay() {
+        final DeadLetterReplayDto expected = DeadLetterReplayDto.builder()
+                .queueName(QUEUE_NAME)
+                .replayedCount(5)
+                .build();
+
+        when(deadLetterReplayer.replay(QUEUE_NAME, 10)).thenReturn(5);
+
+        final Optional<DeadLetterReplayDto> actual = testee.replay(DEAD_LETTER_QUEUE_NAME, 10);
+
+        assertThat(actual).contains(expected);
+
+        verify(deadLetterReplayer).replay(QUEUE_NAME, 10);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"event.reservation.created", "event.reservation.created.retry.1", "event.campsite.reserved.dlq"})
+    void replay_withUndeclaredDeadLetterQueue_shouldReturnEmpty(final String deadLetterQueueName) {
+        final Optional<DeadLetterReplayDto> actual = testee.replay(deadLetterQueueName, 10);
+
+        assertThat(actual).isEmpty();
+
+        verifyNoInteractions(deadLetterReplayer);
+    }
+}
@@ -6,16 +6,21 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import upgrade.challenge.availability.domain.CampsiteOccupancy;
+import upgrade.challenge.availability.domain.DayRange;
+import upgrade.challenge.availability.v1.service.CampsiteOccupancyIndex;
 import upgrade.challenge.availability.v1.service.CampsiteOccupancyService;
+import upgrade.challenge.availability.v1.service.DailyAvailabilityService;
 import upgrade.challenge.availability.v1.v1.dto.AvailabilityDto;
 
 import java.time.Instant;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
 
 import static java.time.temporal.ChronoUnit.DAYS;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -23,15 +28,21 @@ class AvailabilityBuilderTest {
 
     private AvailabilityBuilder testee;
 
+    @Mock
+    private CampsiteOccupancyIndex campsiteOccupancyIndex;
+
     @Mock
     private CampsiteOccupancyService campsiteOccupancyService;
 
+    @Mock
+    private DailyAvailabilityService dailyAvailabilityService;
+
     private Instant searchStartDate;
     private Instant searchEndDate;
 
     @BeforeEach
     void setUp() {
-        testee = new AvailabilityBuilder(campsiteOccupancyService);
+        testee = new AvailabilityBuilder(campsiteOccupancyIndex, campsiteOccupancyService, dailyAvailabilityService);
 
         searchStartDate = Instant.now().truncatedTo(DAYS);
         searchEndDate = searchStartDate.plus(10L, DAYS);
@@ -90,6 +101,97 @@ class AvailabilityBuilderTest {
         verify(campsiteOccupancyService).getAllBetweenDates(searchStartDate, searchEndDate);
     }
 
+    @Test
+    void searchAvailabilities_withUnsortedAndNestedOccupancies() {
+        final Instant searchEndDate = searchStartDate.plus(6L, DAYS);
+        final List<AvailabilityDto> expected = List.of(
+                buildAvailabilityDto(false, searchStartDate, searchStartDate.plus(1L, DAYS)),
+                buildAvailabilityDto(true, searchStartDate.plus(1L, DAYS), searchStartDate.plus(2L, DAYS)),
+                buildAvailabilityDto(false, searchStartDate.plus(2L, DAYS), searchStartDate.plus(3L, DAYS)),
+                buildAvailabilityDto(false, searchStartDate.plus(3L, DAYS), searchStartDate.plus(4L, DAYS)),
+                buildAvailabilityDto(false, searchStartDate.plus(4L, DAYS), searchStartDate.plus(5L, DAYS)),
+                buildAvailabilityDto(true, searchStartDate.plus(5L, DAYS), searchStartDate.plus(6L, DAYS))
+        );
+
+        when(campsiteOccupancyService.getAllBetweenDates(searchStartDate, searchEndDate))
+                .thenReturn(List.of(
+                        buildCampsiteOccupancy(searchStartDate.plus(3L, DAYS), searchStartDate.plus(3L, DAYS)),
+                        buildCampsiteOccupancy(searchStartDate.plus(2L, DAYS), searchStartDate.plus(4L, DAYS)),
+                        buildCampsiteOccupancy(searchStartDate.minus(2L, DAYS), searchStartDate)
+                ));
+
+        final List<AvailabilityDto> actual = testee.searchAvailabilities(searchStartDate, searchEndDate);
+
+        assertThat(actual).isEqualTo(expected);
+
+        verify(campsiteOccupancyService).getAllBetweenDates(searchStartDate, searchEndDate);
+    }
+
+    @Test
+    void searchAvailabilities_withLoadedIndex() {
+        final BitSet occupiedDays = new BitSet();
+        occupiedDays.set(1, 3);
+
+        final List<AvailabilityDto> expected = List.of(
+                buildAvailabilityDto(true, searchStartDate, searchStartDate.plus(1L, DAYS)),
+                buildAvailabilityDto(false, searchStartDate.plus(1L, DAYS), searchStartDate.plus(2L, DAYS)),
+                buildAvailabilityDto(false, searchStartDate.plus(2L, DAYS), searchStartDate.plus(3L, DAYS)),
+                buildAvailabilityDto(true, searchStartDate.plus(3L, DAYS), searchStartDate.plus(4L, DAYS))
+        );
+
+        final Instant searchEndDate = searchStartDate.plus(4L, DAYS);
+        final DayRange searchDayRange = DayRange.ofSearch(searchStartDate, searchEndDate);
+
+        when(campsiteOccupancyIndex.isLoaded()).thenReturn(true);
+        when(campsiteOccupancyIndex.getOccupiedDays(searchDayRange)).thenReturn(occupiedDays);
+
+        final List<AvailabilityDto> actual = testee.searchAvailabilities(searchStartDate, searchEndDate);
+
+        assertThat(actual).isEqualTo(expected);
+
+        verify(campsiteOccupancyIndex).getOccupiedDays(searchDayRange);
+        verifyNoInteractions(campsiteOccupancyService, dailyAvailabilityService);
+    }
+
+    @Test
+    void searchAvailabilities_withDailyAvailabilitySearchReady() {
+        final BitSet occupiedDays = new BitSet();
+        occupiedDays.set(0);
+
+        final List<AvailabilityDto> expected = List.of(
+                buildAvailabilityDto(false, searchStartDate, searchStartDate.plus(1L, DAYS)),
+                buildAvailabilityDto(true, searchStartDate.plus(1L, DAYS), searchStartDate.plus(2L, DAYS))
+        );
+
+        final Instant searchEndDate = searchStartDate.plus(2L, DAYS);
+        final DayRange searchDayRange = DayRange.ofSearch(searchStartDate, searchEndDate);
+
+        when(dailyAvailabilityService.isSearchReady()).thenReturn(true);
+        when(dailyAvailabilityService.getOccupiedDays(searchDayRange)).thenReturn(occupiedDays);
+
+        final List<AvailabilityDto> actual = testee.searchAvailabilities(searchStartDate, searchEndDate);
+
+        assertThat(actual).isEqualTo(expected);
+
+        verify(dailyAvailabilityService).getOccupiedDays(searchDayRange);
+        verifyNoInteractions(campsiteOccupancyService);
+    }
+
+    @Test
+    void searchAvailabilities_whileIndexIsLoading_shouldSweepOccupanciesInsteadOfDailyAvailability() {
+        final Instant searchEndDate = searchStartDate.plus(2L, DAYS);
+
+        when(campsiteOccupancyIndex.isLoading()).thenReturn(true);
+        when(campsiteOccupancyService.getAllBetweenDates(searchStartDate, searchEndDate)).thenReturn(List.of());
+
+        final List<AvailabilityDto> actual = testee.searchAvailabilities(searchStartDate, searchEndDate);
+
+        assertThat(actual).extracting(AvailabilityDto::isAvailable).containsExactly(true, true);
+
+        verify(campsiteOccupancyService).getAllBetweenDates(searchStartDate, searchEndDate);
+        verifyNoInteractions(dailyAvailabilityService);
+    }
+
     private AvailabilityDto buildAvailabilityDto(final boolean available,
                                                  final Instant checkinTime,
                                                  final Instant checkoutTime) {
@@ -0,0 +1,120 @@
+package upgrade.challenge.availability.v1.v1.helper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import upgrade.challenge.availability.domain.CampsiteOccupancy;
+import upgrade.challenge.availability.domain.CampsiteOccupancyChangedEvent;
+import upgrade.challenge.availability.domain.DayRange;
+import upgrade.challenge.availability.v1.service.CampsiteOccupancyIndex;
+import upgrade.challenge.availability.v1.v1.dto.AvailabilityDto;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.time.temporal.ChronoUnit.DAYS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AvailabilityCacheTest {
+
+    private static final Instant SEARCH_START_DATE = Instant.parse("2022-02-01T00:00:00.000Z");
+    private static final DayRange FIRST_WEEK = DayRange.ofSearch(SEARCH_START_DATE, SEARCH_START_DATE.plus(7L, DAYS));
+    private static final DayRange SECOND_WEEK = DayRange.ofSearch(SEARCH_START_DATE.plus(7L, DAYS), SEARCH_START_DATE.plus(14L, DAYS));
+
+    private AvailabilityCache testee;
+
+    @Mock
+    private CampsiteOccupancyIndex campsiteOccupancyIndex;
+
+    private MeterRegistry meterRegistry;
+    private AtomicInteger searchCount;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        testee = new AvailabilityCache(campsiteOccupancyIndex, 10L, Duration.ofMinutes(1L), meterRegistry);
+        searchCount = new AtomicInteger();
+    }
+
+    @Test
+    void get_withCachedDayRange_shouldNotSearchAgain() {
+        final List<AvailabilityDto> expected = List.of(buildAvailabilityDto());
+
+        testee.get(FIRST_WEEK, () -> search(expected));
+        final List<AvailabilityDto> actual = testee.get(FIRST_WEEK, () -> search(expected));
+
+        assertThat(actual).isEqualTo(expected);
+        assertThat(searchCount).hasValue(1);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("cache.gets").tag("result", "miss").functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void get_whileIndexIsLoading_shouldNotCacheResult() {
+        final List<AvailabilityDto> expected = List.of(buildAvailabilityDto());
+
+        when(campsiteOccupancyIndex.isLoading()).thenReturn(true, true, false, false);
+
+        testee.get(FIRST_WEEK, () -> search(expected));
+        testee.get(FIRST_WEEK, () -> search(expected));
+        testee.get(FIRST_WEEK, () -> search(expected));
+        final List<AvailabilityDto> actual = testee.get(FIRST_WEEK, () -> search(expected));
+
+        assertThat(actual).isEqualTo(expected);
+        assertThat(searchCount).hasValue(3);
+    }
+
+    @Test
+    void onCampsiteOccupancyChanged_shouldOnlyInvalidateOverlappingDayRanges() {
+        final List<AvailabilityDto> expected = List.of(buildAvailabilityDto());
+        final CampsiteOccupancy campsiteOccupancy = CampsiteOccupancy.builder()
+                .reservationId(1L)
+                .arrivalDate(SEARCH_START_DATE.plus(8L, DAYS))
+                .departureDate(SEARCH_START_DATE.plus(9L, DAYS))
+                .build();
+
+        testee.get(FIRST_WEEK, () -> search(expected));
+        testee.get(SECOND_WEEK, () -> search(expected));
+
+        testee.onCampsiteOccupancyChanged(CampsiteOccupancyChangedEvent.created(campsiteOccupancy));
+
+        testee.get(FIRST_WEEK, () -> search(expected));
+        testee.get(SECOND_WEEK, () -> search(expected));
+
+        assertThat(searchCount).hasValue(3);
+    }
+
+    @Test
+    void get_withInvalidationDuringSearch_shouldNotCacheResult() {
+        final List<AvailabilityDto> expected = List.of(buildAvailabilityDto());
+
+        testee.get(FIRST_WEEK, () -> {
+            testee.invalidate(FIRST_WEEK);
+            return search(expected);
+        });
+        testee.get(FIRST_WEEK, () -> search(expected));
+
+        assertThat(searchCount).hasValue(2);
+    }
+
+    private List<AvailabilityDto> search(final List<AvailabilityDto> availabilities) {
+        searchCount.incrementAndGet();
+        return availabilities;
+    }
+
+    private AvailabilityDto buildAvailabilityDto() {
+        return AvailabilityDto.builder()
+                .available(true)
+                .checkinTime(SEARCH_START_DATE)
+                .checkoutTime(SEARCH_START_DATE.plus(1L, DAYS))
+                .build();
+    }
+}
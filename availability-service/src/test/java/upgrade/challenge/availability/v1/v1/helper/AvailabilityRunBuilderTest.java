@@ -0,0 +1,103 @@
+package upgrade.challenge.availability.v1.v1.helper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import upgrade.challenge.availability.domain.DayRange;
+import upgrade.challenge.availability.v1.v1.dto.AvailabilityBitmaskDto;
+import upgrade.challenge.availability.v1.v1.dto.AvailabilityRunDto;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AvailabilityRunBuilderTest {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2022, 3, 1);
+
+    private AvailabilityRunBuilder testee;
+
+    @Mock
+    private AvailabilityBuilder availabilityBuilder;
+
+    private Instant searchStartDate;
+    private Instant searchEndDate;
+
+    @BeforeEach
+    void setUp() {
+        testee = new AvailabilityRunBuilder(availabilityBuilder);
+
+        searchStartDate = DayRange.toInstant(FIRST_DAY.toEpochDay());
+        searchEndDate = DayRange.toInstant(FIRST_DAY.plusDays(5L).toEpochDay());
+    }
+
+    @Test
+    void searchAvailabilityRuns_shouldMergeConsecutiveDays() {
+        final List<AvailabilityRunDto> expected = List.of(
+                buildAvailabilityRunDto(0L, 2L, true),
+                buildAvailabilityRunDto(2L, 4L, false),
+                buildAvailabilityRunDto(4L, 5L, true)
+        );
+
+        when(availabilityBuilder.searchOccupiedDays(searchStartDate, searchEndDate)).thenReturn(buildOccupiedDays(2, 4));
+
+        final List<AvailabilityRunDto> actual = testee.searchAvailabilityRuns(searchStartDate, searchEndDate);
+
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    void searchAvailabilityRuns_withEmptySearch_shouldReturnNoRun() {
+        when(availabilityBuilder.searchOccupiedDays(searchStartDate, searchStartDate)).thenReturn(new BitSet());
+
+        final List<AvailabilityRunDto> actual = testee.searchAvailabilityRuns(searchStartDate, searchStartDate);
+
+        assertThat(actual).isEmpty();
+    }
+
+    @Test
+    void searchAvailabilityBitmask_shouldSetAvailableDaysLeastSignificantBitFirst() {
+        when(availabilityBuilder.searchOccupiedDays(searchStartDate, searchEndDate)).thenReturn(buildOccupiedDays(2, 4));
+
+        final AvailabilityBitmaskDto actual = testee.searchAvailabilityBitmask(searchStartDate, searchEndDate);
+
+        assertThat(actual.getFrom()).isEqualTo(FIRST_DAY);
+        assertThat(actual.getDays()).isEqualTo(5);
+        assertThat(Base64.getDecoder().decode(actual.getAvailableDays())).containsExactly(0b10011);
+    }
+
+    @Test
+    void searchAvailabilityBitmask_withUnavailableLastDays_shouldPadToWindowLength() {
+        final Instant longSearchEndDate = DayRange.toInstant(FIRST_DAY.plusDays(12L).toEpochDay());
+
+        when(availabilityBuilder.searchOccupiedDays(searchStartDate, longSearchEndDate)).thenReturn(buildOccupiedDays(8, 12));
+
+        final AvailabilityBitmaskDto actual = testee.searchAvailabilityBitmask(searchStartDate, longSearchEndDate);
+
+        assertThat(actual.getDays()).isEqualTo(12);
+        assertThat(Base64.getDecoder().decode(actual.getAvailableDays())).containsExactly(0xFF, 0x00);
+    }
+
+    private BitSet buildOccupiedDays(final int fromDayOffset, final int toDayOffset) {
+        final BitSet occupiedDays = new BitSet();
+        occupiedDays.set(fromDayOffset, toDayOffset);
+
+        return occupiedDays;
+    }
+
+    private AvailabilityRunDto buildAvailabilityRunDto(final long fromOffset, final long toOffset, final boolean available) {
+        return AvailabilityRunDto.builder()
+                .from(FIRST_DAY.plusDays(fromOffset))
+                .to(FIRST_DAY.plusDays(toOffset))
+                .available(available)
+                .build();
+    }
+}
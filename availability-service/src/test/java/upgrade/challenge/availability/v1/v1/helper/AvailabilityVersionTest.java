@@ -0,0 +1,54 @@
+package upgrade.challenge.availability.v1.v1.helper;
+
+import org.junit.jupiter.api.Test;
+import upgrade.challenge.availability.domain.CampsiteOccupancy;
+import upgrade.challenge.availability.domain.CampsiteOccupancyChangedEvent;
+import upgrade.challenge.availability.domain.DayRange;
+
+import java.time.Instant;
+
+import static java.time.temporal.ChronoUnit.DAYS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AvailabilityVersionTest {
+
+    private static final Instant SEARCH_START_DATE = Instant.parse("2022-02-01T00:00:00.000Z");
+    private static final DayRange FIRST_MONTH = DayRange.ofSearch(SEARCH_START_DATE, SEARCH_START_DATE.plus(30L, DAYS));
+    private static final DayRange SECOND_MONTH = DayRange.ofSearch(SEARCH_START_DATE.plus(60L, DAYS), SEARCH_START_DATE.plus(90L, DAYS));
+
+    private AvailabilityVersion testee;
+
+    @Test
+    void onCampsiteOccupancyChanged_withoutBuckets_shouldIncrementAllVersions() {
+        testee = new AvailabilityVersion(0L);
+
+        final long firstMonthVersion = testee.getVersion(FIRST_MONTH);
+        final long secondMonthVersion = testee.getVersion(SECOND_MONTH);
+
+        testee.onCampsiteOccupancyChanged(CampsiteOccupancyChangedEvent.created(buildCampsiteOccupancy()));
+
+        assertThat(testee.getVersion(FIRST_MONTH)).isGreaterThan(firstMonthVersion);
+        assertThat(testee.getVersion(SECOND_MONTH)).isGreaterThan(secondMonthVersion);
+    }
+
+    @Test
+    void onCampsiteOccupancyChanged_withBuckets_shouldOnlyIncrementOverlappingVersions() {
+        testee = new AvailabilityVersion(30L);
+
+        final long firstMonthVersion = testee.getVersion(FIRST_MONTH);
+        final long secondMonthVersion = testee.getVersion(SECOND_MONTH);
+
+        testee.onCampsiteOccupancyChanged(CampsiteOccupancyChangedEvent.created(buildCampsiteOccupancy()));
+
+        assertThat(testee.getVersion(FIRST_MONTH)).isGreaterThan(firstMonthVersion);
+        assertThat(testee.getVersion(SECOND_MONTH)).isEqualTo(secondMonthVersion);
+    }
+
+    private CampsiteOccupancy buildCampsiteOccupancy() {
+        return CampsiteOccupancy.builder()
+                .reservationId(1L)
+                .arrivalDate(SEARCH_START_DATE.plus(2L, DAYS))
+                .departureDate(SEARCH_START_DATE.plus(4L, DAYS))
+                .build();
+    }
+}
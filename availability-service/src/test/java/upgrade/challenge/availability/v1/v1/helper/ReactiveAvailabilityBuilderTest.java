@@ -0,0 +1,96 @@
+package upgrade.challenge.availability.v1.v1.helper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import upgrade.challenge.availability.domain.CampsiteOccupancy;
+import upgrade.challenge.availability.repository.ReactiveCampsiteOccupancyRepository;
+import upgrade.challenge.availability.v1.service.CampsiteOccupancyIndex;
+import upgrade.challenge.availability.v1.service.CampsiteOccupancyService;
+import upgrade.challenge.availability.v1.service.DailyAvailabilityService;
+import upgrade.challenge.availability.v1.v1.dto.AvailabilityDto;
+
+import java.time.Instant;
+import java.util.List;
+
+import static java.time.temporal.ChronoUnit.DAYS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveAvailabilityBuilderTest {
+
+    private ReactiveAvailabilityBuilder testee;
+
+    @Mock
+    private CampsiteOccupancyIndex campsiteOccupancyIndex;
+
+    @Mock
+    private CampsiteOccupancyService campsiteOccupancyService;
+
+    @Mock
+    private DailyAvailabilityService dailyAvailabilityService;
+
+    @Mock
+    private ReactiveCampsiteOccupancyRepository reactiveCampsiteOccupancyRepository;
+
+    private Instant searchStartDate;
+
+    @BeforeEach
+    void setUp() {
+        testee = new ReactiveAvailabilityBuilder(
+                new AvailabilityBuilder(campsiteOccupancyIndex, campsiteOccupancyService, dailyAvailabilityService),
+                reactiveCampsiteOccupancyRepository);
+
+        searchStartDate = Instant.now().truncatedTo(DAYS);
+    }
+
+    @Test
+    void searchAvailabilities_shouldSearchOverlappingOccupanciesOnWholeDays() {
+        final Instant searchEndDate = searchStartDate.plus(4L, DAYS);
+        final List<AvailabilityDto> expected = List.of(
+                buildAvailabilityDto(false, searchStartDate, searchStartDate.plus(1L, DAYS)),
+                buildAvailabilityDto(true, searchStartDate.plus(1L, DAYS), searchStartDate.plus(2L, DAYS)),
+                buildAvailabilityDto(false, searchStartDate.plus(2L, DAYS), searchStartDate.plus(3L, DAYS)),
+                buildAvailabilityDto(true, searchStartDate.plus(3L, DAYS), searchStartDate.plus(4L, DAYS))
+        );
+
+        when(reactiveCampsiteOccupancyRepository.findAllOverlappingOccupancies(searchStartDate, searchEndDate))
+                .thenReturn(Flux.just(
+                        buildCampsiteOccupancy(searchStartDate.plus(2L, DAYS), searchStartDate.plus(2L, DAYS)),
+                        buildCampsiteOccupancy(searchStartDate.minus(2L, DAYS), searchStartDate)
+                ));
+
+        final List<AvailabilityDto> actual = testee.searchAvailabilities(searchStartDate.plus(1L, DAYS).minusSeconds(1L),
+                        searchEndDate.minusSeconds(1L))
+                .collectList()
+                .block();
+
+        assertThat(actual).isEqualTo(expected);
+
+        verify(reactiveCampsiteOccupancyRepository).findAllOverlappingOccupancies(searchStartDate, searchEndDate);
+        verifyNoInteractions(campsiteOccupancyIndex, campsiteOccupancyService, dailyAvailabilityService);
+    }
+
+    private AvailabilityDto buildAvailabilityDto(final boolean available,
+                                                 final Instant checkinTime,
+                                                 final Instant checkoutTime) {
+        return AvailabilityDto.builder()
+                .available(available)
+                .checkinTime(checkinTime)
+                .checkoutTime(checkoutTime)
+                .build();
+    }
+
+    private CampsiteOccupancy buildCampsiteOccupancy(final Instant arrivalDate, final Instant departureDate) {
+        return CampsiteOccupancy.builder()
+                .arrivalDate(arrivalDate)
+                .departureDate(departureDate)
+                .build();
+    }
+}
@@ -7,24 +7,37 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import upgrade.challenge.availability.v1.v1.adapter.AvailabilityAdapter;
 import upgrade.challenge.availability.v1.v1.dto.AvailabilityDto;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Optional;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(AvailabilityController.class)
 class AvailabilityControllerTest {
 
     private static final String CONTROLLER_BASE_URL = "/api/availability/v1.1";
+    private static final String ETAG = "json-19000-19030-1";
 
     @Autowired
     private MockMvc mockMvc;
@@ -41,6 +54,8 @@ class AvailabilityControllerTest {
         objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
         searchStartDate = Instant.now();
         searchEndDate = searchStartDate.plus(1L, ChronoUnit.DAYS);
+
+        when(availabilityAdapter.getAvailabilityETag(anyString(), any(), any())).thenReturn(Optional.of(ETAG));
     }
 
     @Test
@@ -54,11 +69,45 @@ class AvailabilityControllerTest {
                         .param("searchEndDate", searchEndDate.toString())
                 )
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"" + ETAG + "\""))
+                .andExpect(header().string("Cache-Control", "max-age=0, must-revalidate"))
                 .andExpect(content().string(objectMapper.writeValueAsString(expected)));
 
         verify(availabilityAdapter).searchAvailabilities(searchStartDate, searchEndDate);
     }
 
+    @Test
+    void searchAvailabilities_withMatchingIfNoneMatchHeader_shouldReturn304NotModified() throws Exception {
+        this.mockMvc.perform(get(CONTROLLER_BASE_URL)
+                        .header("If-None-Match", "\"" + ETAG + "\"")
+                        .param("searchStartDate", searchStartDate.toString())
+                        .param("searchEndDate", searchEndDate.toString())
+                )
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(availabilityAdapter).getAvailabilityETag("json", searchStartDate, searchEndDate);
+        verify(availabilityAdapter, never()).searchAvailabilities(any(), any());
+    }
+
+    @Test
+    void searchAvailabilities_whileIndexIsLoading_shouldReturn200OkWithoutETag() throws Exception {
+        final List<AvailabilityDto> expected = List.of(buildAvailabilityDto());
+
+        when(availabilityAdapter.getAvailabilityETag("json", searchStartDate, searchEndDate)).thenReturn(Optional.empty());
+        when(availabilityAdapter.searchAvailabilities(searchStartDate, searchEndDate)).thenReturn(expected);
+
+        this.mockMvc.perform(get(CONTROLLER_BASE_URL)
+                        .header("If-None-Match", "\"" + ETAG + "\"")
+                        .param("searchStartDate", searchStartDate.toString())
+                        .param("searchEndDate", searchEndDate.toString())
+                )
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"))
+                .andExpect(header().string("Cache-Control", "no-store"))
+                .andExpect(content().string(objectMapper.writeValueAsString(expected)));
+    }
+
     @Test
     void searchAvailabilities_withMissingQueryParameters_shouldReturn200Ok() throws Exception {
         final List<AvailabilityDto> expected = List.of(buildAvailabilityDto(), buildAvailabilityDto());
@@ -72,6 +121,32 @@ class AvailabilityControllerTest {
         verify(availabilityAdapter).searchAvailabilities(null, null);
     }
 
+    @Test
+    void streamAvailabilities_withNdjsonAcceptHeader_shouldReturn200Ok() throws Exception {
+        final String expected = "{\"available\":true}\n";
+
+        doAnswer(invocation -> {
+            final OutputStream outputStream = invocation.getArgument(2);
+            outputStream.write(expected.getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(availabilityAdapter).streamAvailabilities(eq(searchStartDate), eq(searchEndDate), any(OutputStream.class));
+
+        final var mvcResult = this.mockMvc.perform(get(CONTROLLER_BASE_URL)
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .param("searchStartDate", searchStartDate.toString())
+                        .param("searchEndDate", searchEndDate.toString())
+                )
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        this.mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(expected));
+
+        verify(availabilityAdapter).streamAvailabilities(eq(searchStartDate), eq(searchEndDate), any(OutputStream.class));
+    }
+
     private AvailabilityDto buildAvailabilityDto() {
         return AvailabilityDto.builder()
                 .available(true)
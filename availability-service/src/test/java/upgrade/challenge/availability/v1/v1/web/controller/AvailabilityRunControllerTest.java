@@ -0,0 +1,80 @@
+package upgrade.challenge.availability.v1.v1.web.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import upgrade.challenge.availability.v1.v1.adapter.AvailabilityAdapter;
+import upgrade.challenge.availability.v1.v1.dto.AvailabilityBitmaskDto;
+import upgrade.challenge.availability.v1.v1.dto.AvailabilityRunDto;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(AvailabilityRunController.class)
+class AvailabilityRunControllerTest {
+
+    private static final String CONTROLLER_BASE_URL = "/api/availability/v1.2";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AvailabilityAdapter availabilityAdapter;
+
+    private Instant searchStartDate;
+    private Instant searchEndDate;
+
+    @BeforeEach
+    void setUp() {
+        searchStartDate = Instant.now();
+        searchEndDate = searchStartDate.plus(1L, ChronoUnit.DAYS);
+    }
+
+    @Test
+    void searchAvailabilityRuns_shouldReturn200Ok() throws Exception {
+        final List<AvailabilityRunDto> expected = List.of(AvailabilityRunDto.builder()
+                .from(LocalDate.of(2022, 3, 1))
+                .to(LocalDate.of(2022, 3, 3))
+                .available(true)
+                .build());
+
+        when(availabilityAdapter.searchAvailabilityRuns(searchStartDate, searchEndDate)).thenReturn(expected);
+
+        this.mockMvc.perform(get(CONTROLLER_BASE_URL)
+                        .param("searchStartDate", searchStartDate.toString())
+                        .param("searchEndDate", searchEndDate.toString())
+                )
+                .andExpect(status().isOk())
+                .andExpect(content().json("[[\"2022-03-01\",\"2022-03-03\",true]]", true));
+
+        verify(availabilityAdapter).searchAvailabilityRuns(searchStartDate, searchEndDate);
+    }
+
+    @Test
+    void searchAvailabilityBitmask_shouldReturn200Ok() throws Exception {
+        final AvailabilityBitmaskDto expected = AvailabilityBitmaskDto.builder()
+                .from(LocalDate.of(2022, 3, 1))
+                .days(5)
+                .availableDays("Ew==")
+                .build();
+
+        when(availabilityAdapter.searchAvailabilityBitmask(null, null)).thenReturn(expected);
+
+        this.mockMvc.perform(get(CONTROLLER_BASE_URL + "/bitmask"))
+                .andExpect(status().isOk())
+                .andExpect(content().json("{\"from\":\"2022-03-01\",\"days\":5,\"availableDays\":\"Ew==\"}", true));
+
+        verify(availabilityAdapter).searchAvailabilityBitmask(null, null);
+    }
+}
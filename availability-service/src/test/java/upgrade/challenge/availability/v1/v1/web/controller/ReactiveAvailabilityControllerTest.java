@@ -0,0 +1,98 @@
+package upgrade.challenge.availability.v1.v1.web.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import reactor.core.publisher.Flux;
+import upgrade.challenge.availability.v1.v1.adapter.AvailabilityAdapter;
+import upgrade.challenge.availability.v1.v1.dto.AvailabilityDto;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ReactiveAvailabilityController.class)
+class ReactiveAvailabilityControllerTest {
+
+    private static final String CONTROLLER_BASE_URL = "/api/availability/v1.1/reactive";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AvailabilityAdapter availabilityAdapter;
+
+    private ObjectMapper objectMapper;
+    private Instant searchStartDate;
+    private Instant searchEndDate;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        searchStartDate = Instant.now();
+        searchEndDate = searchStartDate.plus(1L, ChronoUnit.DAYS);
+    }
+
+    @Test
+    void searchAvailabilities_shouldReturn200Ok() throws Exception {
+        final List<AvailabilityDto> expected = List.of(buildAvailabilityDto(true), buildAvailabilityDto(false));
+
+        when(availabilityAdapter.searchAvailabilitiesReactive(searchStartDate, searchEndDate)).thenReturn(Flux.fromIterable(expected));
+
+        final var mvcResult = this.mockMvc.perform(get(CONTROLLER_BASE_URL)
+                        .param("searchStartDate", searchStartDate.toString())
+                        .param("searchEndDate", searchEndDate.toString())
+                )
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        this.mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().string(objectMapper.writeValueAsString(expected)));
+
+        verify(availabilityAdapter).searchAvailabilitiesReactive(searchStartDate, searchEndDate);
+    }
+
+    @Test
+    void streamAvailabilities_withNdjsonAcceptHeader_shouldReturn200Ok() throws Exception {
+        final List<AvailabilityDto> expected = List.of(buildAvailabilityDto(true), buildAvailabilityDto(false));
+
+        when(availabilityAdapter.searchAvailabilitiesReactive(null, null)).thenReturn(Flux.fromIterable(expected));
+
+        final var mvcResult = this.mockMvc.perform(get(CONTROLLER_BASE_URL)
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        this.mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(objectMapper.writeValueAsString(expected.get(0)) + "\n"
+                        + objectMapper.writeValueAsString(expected.get(1)) + "\n"));
+
+        verify(availabilityAdapter).searchAvailabilitiesReactive(null, null);
+    }
+
+    private AvailabilityDto buildAvailabilityDto(final boolean available) {
+        return AvailabilityDto.builder()
+                .available(available)
+                .checkinTime(Instant.now())
+                .checkoutTime(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,68 @@
+package upgrade.challenge.availability.v1.v1.web.endpoint;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import upgrade.challenge.availability.v1.v1.adapter.DeadLetterAdapter;
+import upgrade.challenge.availability.v1.v1.dto.DeadLetterReplayDto;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DeadLetterEndpointTest {
+
+    private static final String DEAD_LETTER_QUEUE_NAME = "event.reservation.created.dlq";
+
+    private DeadLetterEndpoint testee;
+
+    @Mock
+    private DeadLetterAdapter deadLetterAdapter;
+
+    @BeforeEach
+    void setUp() {
+        testee = new DeadLetterEndpoint(deadLetterAdapter);
+    }
+
+    @Test
+    void replay_shouldReturn200Ok() {
+        final DeadLetterReplayDto expected = DeadLetterReplayDto.builder()
+                .queueName("event.reservation.created")
+                .replayedCount(2)
+                .build();
+
+        when(deadLetterAdapter.replay(DEAD_LETTER_QUEUE_NAME, 100)).thenReturn(Optional.of(expected));
+
+        final WebEndpointResponse<DeadLetterReplayDto> actual = testee.replay(DEAD_LETTER_QUEUE_NAME, null);
+
+        assertThat(actual.getStatus()).isEqualTo(WebEndpointResponse.STATUS_OK);
+        assertThat(actual.getBody()).isEqualTo(expected);
+    }
+
+    @Test
+    void replay_withUndeclaredDeadLetterQueue_shouldReturn404NotFound() {
+        when(deadLetterAdapter.replay("unknown", 5)).thenReturn(Optional.empty());
+
+        final WebEndpointResponse<DeadLetterReplayDto> actual = testee.replay("unknown", 5);
+
+        assertThat(actual.getStatus()).isEqualTo(WebEndpointResponse.STATUS_NOT_FOUND);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, -1})
+    void replay_withInvalidLimit_shouldReturn400BadRequest(final int limit) {
+        final WebEndpointResponse<DeadLetterReplayDto> actual = testee.replay(DEAD_LETTER_QUEUE_NAME, limit);
+
+        assertThat(actual.getStatus()).isEqualTo(WebEndpointResponse.STATUS_BAD_REQUEST);
+
+        verifyNoInteractions(deadLetterAdapter);
+    }
+}
@@ -6,17 +6,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.validation.BindException;
+import org.springframework.validation.Errors;
 import org.springframework.validation.FieldError;
 import upgrade.challenge.availability.domain.CampsiteOccupancy;
 import upgrade.challenge.availability.repository.CampsiteOccupancyRepository;
 
 import java.time.Instant;
-import java.util.Collections;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -48,14 +49,11 @@ class CampsiteOccupancyValidatorTest {
     void validate() {
         final BindException expectedErrors = new BindException(campsiteOccupancy, OBJECT_NAME);
 
-        when(campsiteOccupancyRepository.findAllByArrivalDateLessThanEqualAndDepartureDateGreaterThanEqual(
+        when(campsiteOccupancyRepository.existsOverlappingOccupancy(
                 campsiteOccupancy.getArrivalDate(),
-                campsiteOccupancy.getDepartureDate()))
-                .thenReturn(Collections.emptyList());
-        when(campsiteOccupancyRepository.findAllByDepartureDateGreaterThanEqualAndDepartureDateLessThanEqual(
-                campsiteOccupancy.getArrivalDate(),
-                campsiteOccupancy.getDepartureDate()))
-                .thenReturn(Collections.emptyList());
+                campsiteOccupancy.getDepartureDate(),
+                RESERVATION_ID))
+                .thenReturn(false);
 
         testee.validate(campsiteOccupancy, expectedErrors);
 
@@ -65,147 +63,82 @@ class CampsiteOccupancyValidatorTest {
     }
 
     @Test
-    void validate_withExistingOccupancyInRangeOwnedBySameReservationId() {
-        final List<CampsiteOccupancy> existingOccupancies = List.of(
-                buildCampsiteOccupancy(RESERVATION_ID, Instant.parse("2022-02-04T00:00:00.000Z"), Instant.parse("2022-02-07T00:00:00.000Z"))
-        );
-
-        campsiteOccupancy = buildCampsiteOccupancy(RESERVATION_ID,
-                Instant.parse("2022-02-05T00:00:00.000Z"), Instant.parse("2022-02-06T00:00:00.000Z"));
-
+    void validate_withStayOverlappingAnotherReservation_shouldContainErrors() {
         final BindException expectedErrors = new BindException(campsiteOccupancy, OBJECT_NAME);
 
-        when(campsiteOccupancyRepository.findAllByArrivalDateLessThanEqualAndDepartureDateGreaterThanEqual(
+        when(campsiteOccupancyRepository.existsOverlappingOccupancy(
                 campsiteOccupancy.getArrivalDate(),
-                campsiteOccupancy.getDepartureDate()))
-                .thenReturn(existingOccupancies);
-        when(campsiteOccupancyRepository.findAllByDepartureDateGreaterThanEqualAndDepartureDateLessThanEqual(
-                campsiteOccupancy.getArrivalDate(),
-                campsiteOccupancy.getDepartureDate()))
-                .thenReturn(Collections.emptyList());
+                campsiteOccupancy.getDepartureDate(),
+                RESERVATION_ID))
+                .thenReturn(true);
 
         testee.validate(campsiteOccupancy, expectedErrors);
 
-        assertThat(expectedErrors.getErrorCount()).isEqualTo(0);
+        assertThat(expectedErrors.getFieldErrors()).extracting(FieldError::getField, FieldError::getDefaultMessage)
+                .containsExactly(
+                        tuple("arrivalDate", "The dates specified are not available."),
+                        tuple("departureDate", "The dates specified are not available."));
 
         commonVerify();
     }
 
     @Test
-    void validate_withArrivalDateAlreadyOccupiedByAnotherReservation_shouldContainErrors() {
-        final List<CampsiteOccupancy> existingOccupancies = List.of(
-                buildCampsiteOccupancy(),
-                buildCampsiteOccupancy(987654321L, Instant.parse("2022-02-05T00:00:00.000Z"), Instant.parse("2022-02-06T00:00:00.000Z"))
-        );
+    void validateAll_shouldRejectOccupanciesOverlappingTheDatabaseOrAnEarlierOccupancyOfTheBatch() {
+        final CampsiteOccupancy existingOccupancy = buildCampsiteOccupancy(1L, "2022-02-01T00:00:00.000Z", "2022-02-02T00:00:00.000Z");
+        final CampsiteOccupancy overlappingExistingOccupancy = buildCampsiteOccupancy(2L, "2022-02-02T00:00:00.000Z", "2022-02-03T00:00:00.000Z");
+        final CampsiteOccupancy overlappingBatchOccupancy = buildCampsiteOccupancy(3L, "2022-02-05T00:00:00.000Z", "2022-02-06T00:00:00.000Z");
+        final CampsiteOccupancy validOccupancy = buildCampsiteOccupancy(4L, "2022-02-07T00:00:00.000Z", "2022-02-08T00:00:00.000Z");
 
-        campsiteOccupancy = buildCampsiteOccupancy(RESERVATION_ID,
-                Instant.parse("2022-02-04T00:00:00.000Z"), Instant.parse("2022-02-06T00:00:00.000Z"));
+        when(campsiteOccupancyRepository.findAllOverlappingOccupancies(
+                Instant.parse("2022-02-02T00:00:00.000Z"),
+                Instant.parse("2022-02-08T00:00:00.000Z")))
+                .thenReturn(List.of(existingOccupancy));
 
-        final BindException expectedErrors = new BindException(campsiteOccupancy, OBJECT_NAME);
+        final List<Errors> actual = testee.validateAll(List.of(overlappingExistingOccupancy, campsiteOccupancy,
+                overlappingBatchOccupancy, validOccupancy));
 
-        when(campsiteOccupancyRepository.findAllByArrivalDateLessThanEqualAndDepartureDateGreaterThanEqual(
-                campsiteOccupancy.getArrivalDate(),
-                campsiteOccupancy.getDepartureDate()))
-                .thenReturn(existingOccupancies);
-        when(campsiteOccupancyRepository.findAllByDepartureDateGreaterThanEqualAndDepartureDateLessThanEqual(
-                campsiteOccupancy.getArrivalDate(),
-                campsiteOccupancy.getDepartureDate()))
-                .thenReturn(Collections.emptyList());
-
-        testee.validate(campsiteOccupancy, expectedErrors);
-
-        assertThat(expectedErrors.getFieldErrors()).extracting(FieldError::getField, FieldError::getDefaultMessage)
-                .containsExactly(tuple("arrivalDate", "The dates specified are not available."));
-
-        commonVerify();
+        assertThat(actual).extracting(Errors::hasErrors).containsExactly(true, false, true, false);
     }
 
     @Test
-    void validate_withDepartureDateAlreadyOccupiedByAnotherReservation_shouldContainErrors() {
-        final List<CampsiteOccupancy> existingOccupancies = List.of(
-                buildCampsiteOccupancy(),
-                buildCampsiteOccupancy(987654321L, Instant.parse("2022-02-05T00:00:00.000Z"), Instant.parse("2022-02-06T00:00:00.000Z"))
-        );
-
-        campsiteOccupancy = buildCampsiteOccupancy(RESERVATION_ID,
-                Instant.parse("2022-02-04T00:00:00.000Z"), Instant.parse("2022-02-06T00:00:00.000Z"));
-
-        final BindException expectedErrors = new BindException(campsiteOccupancy, OBJECT_NAME);
+    void validateAll_withEmptyBatch_shouldNotQueryDatabase() {
+        assertThat(testee.validateAll(List.of())).isEmpty();
 
-        when(campsiteOccupancyRepository.findAllByArrivalDateLessThanEqualAndDepartureDateGreaterThanEqual(
-                campsiteOccupancy.getArrivalDate(),
-                campsiteOccupancy.getDepartureDate()))
-                .thenReturn(Collections.emptyList());
-        when(campsiteOccupancyRepository.findAllByDepartureDateGreaterThanEqualAndDepartureDateLessThanEqual(
-                campsiteOccupancy.getArrivalDate(),
-                campsiteOccupancy.getDepartureDate()))
-                .thenReturn(existingOccupancies);
-
-        testee.validate(campsiteOccupancy, expectedErrors);
-
-        assertThat(expectedErrors.getFieldErrors()).extracting(FieldError::getField, FieldError::getDefaultMessage)
-                .containsExactly(tuple("departureDate", "The dates specified are not available."));
-
-        commonVerify();
+        verifyNoInteractions(campsiteOccupancyRepository);
     }
 
     @Test
-    void validate_withArrivalAndDepartureDatesAlreadyOccupiedByAnotherReservation_shouldContainErrors() {
-        final List<CampsiteOccupancy> existingOccupancies = List.of(
-                buildCampsiteOccupancy(),
-                buildCampsiteOccupancy(987654321L, Instant.parse("2022-02-05T00:00:00.000Z"), Instant.parse("2022-02-06T00:00:00.000Z"))
-        );
-
-        campsiteOccupancy = buildCampsiteOccupancy(RESERVATION_ID,
-                Instant.parse("2022-02-04T00:00:00.000Z"), Instant.parse("2022-02-06T00:00:00.000Z"));
-
+    void rejectUnavailableDates() {
         final BindException expectedErrors = new BindException(campsiteOccupancy, OBJECT_NAME);
 
-        when(campsiteOccupancyRepository.findAllByArrivalDateLessThanEqualAndDepartureDateGreaterThanEqual(
-                campsiteOccupancy.getArrivalDate(),
-                campsiteOccupancy.getDepartureDate()))
-                .thenReturn(existingOccupancies);
-        when(campsiteOccupancyRepository.findAllByDepartureDateGreaterThanEqualAndDepartureDateLessThanEqual(
-                campsiteOccupancy.getArrivalDate(),
-                campsiteOccupancy.getDepartureDate()))
-                .thenReturn(existingOccupancies);
-
-        testee.validate(campsiteOccupancy, expectedErrors);
+        testee.rejectUnavailableDates(expectedErrors);
 
         assertThat(expectedErrors.getFieldErrors()).extracting(FieldError::getField, FieldError::getDefaultMessage)
                 .containsExactly(
                         tuple("arrivalDate", "The dates specified are not available."),
                         tuple("departureDate", "The dates specified are not available."));
-
-        commonVerify();
     }
 
     private CampsiteOccupancy buildCampsiteOccupancy() {
-        return buildCampsiteOccupancy(RESERVATION_ID);
-    }
-
-    private CampsiteOccupancy buildCampsiteOccupancy(final Long reservationId) {
-        return buildCampsiteOccupancy(reservationId,
-                Instant.parse("2022-02-04T00:00:00.000Z"),
-                Instant.parse("2022-02-05T00:00:00.000Z"));
+        return CampsiteOccupancy.builder()
+                .reservationId(RESERVATION_ID)
+                .arrivalDate(Instant.parse("2022-02-04T00:00:00.000Z"))
+                .departureDate(Instant.parse("2022-02-05T00:00:00.000Z"))
+                .build();
     }
 
-    private CampsiteOccupancy buildCampsiteOccupancy(final Long reservationId,
-                                                     final Instant arrivalDate,
-                                                     final Instant departureDate) {
+    private CampsiteOccupancy buildCampsiteOccupancy(final Long reservationId, final String arrivalDate, final String departureDate) {
         return CampsiteOccupancy.builder()
                 .reservationId(reservationId)
-                .arrivalDate(arrivalDate)
-                .departureDate(departureDate)
+                .arrivalDate(Instant.parse(arrivalDate))
+                .departureDate(Instant.parse(departureDate))
                 .build();
     }
 
     private void commonVerify() {
-        verify(campsiteOccupancyRepository).findAllByArrivalDateLessThanEqualAndDepartureDateGreaterThanEqual(
-                campsiteOccupancy.getArrivalDate(),
-                campsiteOccupancy.getDepartureDate());
-        verify(campsiteOccupancyRepository).findAllByDepartureDateGreaterThanEqualAndDepartureDateLessThanEqual(
+        verify(campsiteOccupancyRepository).existsOverlappingOccupancy(
                 campsiteOccupancy.getArrivalDate(),
-                campsiteOccupancy.getDepartureDate());
+                campsiteOccupancy.getDepartureDate(),
+                RESERVATION_ID);
     }
 }
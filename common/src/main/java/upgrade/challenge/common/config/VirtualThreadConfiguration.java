@@ -0,0 +1,55 @@
+package upgrade.challenge.common.config;
+
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.boot.task.TaskSchedulerCustomizer;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+@Configuration
+public class VirtualThreadConfiguration {
+
+    public static final String VIRTUAL_THREAD_EXECUTOR = "virtualThreadExecutor";
+
+    @Bean
+    public ThreadFactory virtualThreadFactory() {
+        try {
+            final Object threadBuilder = Thread.class.getMethod("ofVirtual").invoke(null);
+            final Class<?> threadBuilderType = Class.forName("java.lang.Thread$Builder");
+            threadBuilderType.getMethod("name", String.class, long.class).invoke(threadBuilder, "virtual-", 0L);
+
+            return (ThreadFactory) threadBuilderType.getMethod("factory").invoke(threadBuilder);
+        } catch (ReflectiveOperationException e) {
+            throw virtualThreadsUnsupported(e);
+        }
+    }
+
+    @Bean(name = VIRTUAL_THREAD_EXECUTOR, destroyMethod = "shutdown")
+    public ExecutorService virtualThreadExecutor(final ThreadFactory virtualThreadFactory) {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, virtualThreadFactory);
+        } catch (ReflectiveOperationException e) {
+            throw virtualThreadsUnsupported(e);
+        }
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer(final ExecutorService virtualThreadExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+    }
+
+    @Bean
+    public TaskSchedulerCustomizer virtualThreadTaskSchedulerCustomizer(final ThreadFactory virtualThreadFactory) {
+        return taskScheduler -> taskScheduler.setThreadFactory(virtualThreadFactory);
+    }
+
+    private static IllegalStateException virtualThreadsUnsupported(final ReflectiveOperationException exception) {
+        return new IllegalStateException("Virtual threads require Java 21 or later, running on "
+                + Runtime.version(), exception);
+    }
+}
@@ -0,0 +1,118 @@
+package upgrade.challenge.common.messaging.converter;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.AbstractMessageConverter;
+import org.springframework.amqp.support.converter.DefaultJackson2JavaTypeMapper;
+import org.springframework.amqp.support.converter.MessageConversionException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+public class Jackson2CborMessageConverter extends AbstractMessageConverter {
+
+    public static final String CONTENT_TYPE_CBOR = "application/cbor";
+
+    private final ObjectMapper objectMapper;
+    private final DefaultJackson2JavaTypeMapper javaTypeMapper;
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final Map<Class<?>, Set<String>> instantPropertyNamesByType = new ConcurrentHashMap<>();
+
+    public Jackson2CborMessageConverter() {
+        this(buildObjectMapper());
+    }
+
+    public Jackson2CborMessageConverter(final ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.javaTypeMapper = new DefaultJackson2JavaTypeMapper();
+        this.javaTypeMapper.setTrustedPackages("*");
+    }
+
+    private byte[] toBytes(final Object object) {
+        try {
+            return objectMapper.writeValueAsBytes(object);
+        } catch (IOException e) {
+            throw new MessageConversionException("Failed to convert message content to CBOR", e);
+        }
+    }
+
+    public byte[] transcodeJson(final String json, final Class<?> type) {
+        final Set<String> instantPropertyNames = instantPropertyNamesByType.computeIfAbsent(type, this::findInstantPropertyNames);
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream(json.length());
+
+        try (JsonParser jsonParser = jsonFactory.createParser(json);
+             JsonGenerator cborGenerator = objectMapper.getFactory().createGenerator(outputStream)) {
+            for (JsonToken token = jsonParser.nextToken(); token != null; token = jsonParser.nextToken()) {
+                if (token == JsonToken.VALUE_STRING && jsonParser.getParsingContext().getParent().inRoot()
+                        && instantPropertyNames.contains(jsonParser.getCurrentName())) {
+                    cborGenerator.writeNumber(Instant.parse(jsonParser.getText()).toEpochMilli());
+                } else {
+                    cborGenerator.copyCurrentEvent(jsonParser);
+                }
+            }
+        } catch (IOException e) {
+            throw new MessageConversionException("Failed to transcode JSON message content to CBOR", e);
+        }
+
+        return outputStream.toByteArray();
+    }
+
+    @Override
+    protected Message createMessage(final Object object, final MessageProperties messageProperties) {
+        final byte[] body = toBytes(object);
+
+        messageProperties.setContentType(CONTENT_TYPE_CBOR);
+        messageProperties.setContentLength(body.length);
+        javaTypeMapper.fromJavaType(objectMapper.constructType(object.getClass()), messageProperties);
+
+        return new Message(body, messageProperties);
+    }
+
+    @Override
+    public Object fromMessage(final Message message) {
+        try {
+            return objectMapper.readValue(message.getBody(), getJavaType(message.getMessageProperties()));
+        } catch (IOException e) {
+            throw new MessageConversionException("Failed to convert CBOR message content", e);
+        }
+    }
+
+    private JavaType getJavaType(final MessageProperties messageProperties) {
+        return Optional.ofNullable(messageProperties.getInferredArgumentType())
+                .map(objectMapper::constructType)
+                .orElseGet(() -> javaTypeMapper.toJavaType(messageProperties));
+    }
+
+    private Set<String> findInstantPropertyNames(final Class<?> type) {
+        return objectMapper.getSerializationConfig().introspect(objectMapper.constructType(type)).findProperties().stream()
+                .filter(property -> Instant.class.equals(property.getRawPrimaryType()))
+                .map(BeanPropertyDefinition::getName)
+                .collect(Collectors.toSet());
+    }
+
+    private static ObjectMapper buildObjectMapper() {
+        final ObjectMapper objectMapper = new ObjectMapper(new CBORFactory()).registerModule(new JavaTimeModule());
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        objectMapper.configure(DeserializationFeature.READ_DATE_TIMESTAMPS_AS_NANOSECONDS, false);
+        objectMapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, true);
+        objectMapper.configure(SerializationFeature.WRITE_DATE_TIMESTAMPS_AS_NANOSECONDS, false);
+        return objectMapper;
+    }
+}
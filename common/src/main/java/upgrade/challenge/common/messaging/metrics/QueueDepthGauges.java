@@ -0,0 +1,60 @@
+package upgrade.challenge.common.messaging.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueInformation;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Slf4j
+public class QueueDepthGauges {
+
+    private final AmqpAdmin amqpAdmin;
+    private final List<String> queueNames;
+    private final Map<String, Double> depthsByQueueName = new ConcurrentHashMap<>();
+
+    public QueueDepthGauges(AmqpAdmin amqpAdmin,
+                            List<Queue> queues,
+                            List<Declarables> declarables,
+                            MeterRegistry meterRegistry,
+                            String meterName) {
+        this.amqpAdmin = amqpAdmin;
+        this.queueNames = Stream.concat(queues.stream(),
+                        declarables.stream().flatMap(declarable -> declarable.getDeclarablesByType(Queue.class).stream()))
+                .map(Queue::getName)
+                .distinct()
+                .collect(Collectors.toList());
+
+        queueNames.forEach(queueName -> Gauge.builder(meterName, depthsByQueueName,
+                        depths -> depths.getOrDefault(queueName, Double.NaN))
+                .tag("queue", queueName)
+                .register(meterRegistry));
+    }
+
+    public void refreshQueueDepths() {
+        for (final String queueName : queueNames) {
+            try {
+                final QueueInformation queueInformation = amqpAdmin.getQueueInfo(queueName);
+
+                if (queueInformation == null) {
+                    depthsByQueueName.remove(queueName);
+                } else {
+                    depthsByQueueName.put(queueName, (double) queueInformation.getMessageCount());
+                }
+            } catch (AmqpException e) {
+                log.debug("Could not read the depth of queue {}", queueName, e);
+                depthsByQueueName.clear();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package upgrade.challenge.common.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import upgrade.challenge.common.domain.ProcessedMessage;
+
+import java.time.Instant;
+
+@Repository
+public interface ProcessedMessageRepository extends JpaRepository<ProcessedMessage, String> {
+
+    @Modifying
+    @Query(value = "INSERT INTO processed_message (message_id, processed_date) VALUES (:messageId, :processedDate)", nativeQuery = true)
+    int insert(@Param("messageId") final String messageId, @Param("processedDate") final Instant processedDate);
+
+    @Modifying
+    @Query("DELETE FROM ProcessedMessage processedMessage WHERE processedMessage.processedDate < :processedDate")
+    int deleteProcessedBefore(@Param("processedDate") final Instant processedDate);
+}
@@ -0,0 +1,15 @@
+package upgrade.challenge.common.service;
+
+import lombok.Data;
+
+import java.time.Duration;
+
+@Data
+public class ProcessedMessageProperties {
+
+    private long maximumSize = 10_000L;
+
+    private Duration retention = Duration.ofDays(7L);
+
+    private long purgeIntervalMillis = 3_600_000L;
+}
@@ -0,0 +1,123 @@
+package upgrade.challenge.common.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import upgrade.challenge.common.domain.ProcessedMessage;
+import upgrade.challenge.common.repository.ProcessedMessageRepository;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+@Slf4j
+public class ProcessedMessageService {
+
+    private final ProcessedMessageRepository processedMessageRepository;
+    private final Cache<String, Boolean> processedMessageIds;
+    private final Duration retention;
+
+    public ProcessedMessageService(ProcessedMessageRepository processedMessageRepository,
+                                   ProcessedMessageProperties processedMessageProperties) {
+        this.processedMessageRepository = processedMessageRepository;
+        this.processedMessageIds = Caffeine.newBuilder()
+                .maximumSize(processedMessageProperties.getMaximumSize())
+                .expireAfterWrite(processedMessageProperties.getRetention())
+                .build();
+        this.retention = processedMessageProperties.getRetention();
+    }
+
+    @Transactional(rollbackFor = SQLException.class)
+    public void processOnce(final String messageId, final Runnable action) {
+        processAllOnce(Collections.singletonList(messageId), Collections.singletonList(messageId), messages -> action.run());
+    }
+
+    @Transactional(rollbackFor = SQLException.class)
+    public <T> void processAllOnce(final List<String> messageIds, final List<T> messages, final Consumer<List<T>> action) {
+        final Set<String> processedMessageIds = findProcessedMessageIds(messageIds);
+        final Set<String> newMessageIds = new LinkedHashSet<>();
+        final List<T> newMessages = new ArrayList<>();
+
+        for (int i = 0; i < messages.size(); i++) {
+            final String messageId = messageIds.get(i);
+
+            if (messageId == null || (!processedMessageIds.contains(messageId) && newMessageIds.add(messageId))) {
+                newMessages.add(messages.get(i));
+            } else {
+                log.debug("Skipping already processed message {}", messageId);
+            }
+        }
+
+        if (!newMessages.isEmpty()) {
+            action.accept(newMessages);
+        }
+
+        markProcessed(newMessageIds);
+    }
+
+    @Scheduled(fixedDelayString = "#{@processedMessageProperties.purgeIntervalMillis}")
+    @Transactional(rollbackFor = SQLException.class)
+    public void purgeExpiredProcessedMessages() {
+        processedMessageRepository.deleteProcessedBefore(Instant.now().minus(retention));
+    }
+
+    private Set<String> findProcessedMessageIds(final Collection<String> messageIds) {
+        final List<String> nonNullMessageIds = messageIds.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        final Set<String> foundMessageIds = new HashSet<>(processedMessageIds.getAllPresent(nonNullMessageIds).keySet());
+        final List<String> uncachedMessageIds = nonNullMessageIds.stream()
+                .filter(messageId -> !foundMessageIds.contains(messageId))
+                .collect(Collectors.toList());
+
+        if (!uncachedMessageIds.isEmpty()) {
+            processedMessageRepository.findAllById(uncachedMessageIds).stream()
+                    .map(ProcessedMessage::getMessageId)
+                    .forEach(messageId -> {
+                        foundMessageIds.add(messageId);
+                        processedMessageIds.put(messageId, Boolean.TRUE);
+                    });
+        }
+
+        return foundMessageIds;
+    }
+
+    private void markProcessed(final Set<String> messageIds) {
+        if (messageIds.isEmpty()) {
+            return;
+        }
+
+        final Instant processedDate = Instant.now();
+        messageIds.forEach(messageId -> processedMessageRepository.insert(messageId, processedDate));
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cacheProcessed(messageIds);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cacheProcessed(messageIds);
+            }
+        });
+    }
+
+    private void cacheProcessed(final Set<String> messageIds) {
+        messageIds.forEach(messageId -> processedMessageIds.put(messageId, Boolean.TRUE));
+    }
+}
@@ -0,0 +1,87 @@
+package upgrade.challenge.common.messaging.converter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+
+import java.time.Instant;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class Jackson2CborMessageConverterTest {
+
+    private Jackson2CborMessageConverter testee;
+
+    @BeforeEach
+    void setUp() {
+        testee = new Jackson2CborMessageConverter();
+    }
+
+    @Test
+    void toMessage_shouldSetCborContentTypeAndTypeId() {
+        final StayEvent stayEvent = StayEvent.builder().reservationId(1L).build();
+
+        final Message actual = testee.toMessage(stayEvent, new MessageProperties());
+
+        assertThat(actual.getMessageProperties().getContentType()).isEqualTo(Jackson2CborMessageConverter.CONTENT_TYPE_CBOR);
+        assertThat(actual.getMessageProperties().<String>getHeader("__TypeId__")).isEqualTo(StayEvent.class.getName());
+        assertThat(testee.fromMessage(actual)).isEqualTo(stayEvent);
+    }
+
+    @Test
+    void fromMessage_withEpochMillisInstants_shouldUseInferredArgumentType() throws Exception {
+        final Instant arrivalDate = Instant.parse("2022-02-02T12:00:00.000Z");
+        final Instant departureDate = Instant.parse("2022-02-03T19:01:00.000Z");
+        final byte[] body = new ObjectMapper(new CBORFactory()).writeValueAsBytes(Map.of(
+                "reservationId", 1L,
+                "arrivalDate", arrivalDate.toEpochMilli(),
+                "departureDate", departureDate.toEpochMilli()
+        ));
+        final MessageProperties messageProperties = new MessageProperties();
+        messageProperties.setContentType(Jackson2CborMessageConverter.CONTENT_TYPE_CBOR);
+        messageProperties.setHeader("__TypeId__", "upgrade.challenge.reservation.v1.messaging.eventmessage.ReservationDateSelectionEvent");
+        messageProperties.setInferredArgumentType(StayEvent.class);
+
+        final Object actual = testee.fromMessage(new Message(body, messageProperties));
+
+        assertThat(actual).isEqualTo(StayEvent.builder()
+                .reservationId(1L)
+                .arrivalDate(arrivalDate)
+                .departureDate(departureDate)
+                .build());
+    }
+
+    @Test
+    void transcodeJson_shouldWriteInstantPropertiesAsEpochMillis() throws Exception {
+        final String json = "{\"reservationId\":1,\"arrivalDate\":\"2022-02-02T12:00:00Z\",\"departureDate\":\"2022-02-03T19:01:00Z\"}";
+
+        final byte[] actual = testee.transcodeJson(json, StayEvent.class);
+
+        assertThat(new ObjectMapper(new CBORFactory()).readValue(actual, Map.class)).isEqualTo(Map.of(
+                "reservationId", 1,
+                "arrivalDate", Instant.parse("2022-02-02T12:00:00Z").toEpochMilli(),
+                "departureDate", Instant.parse("2022-02-03T19:01:00Z").toEpochMilli()
+        ));
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    static class StayEvent {
+
+        private Long reservationId;
+
+        private Instant arrivalDate;
+
+        private Instant departureDate;
+    }
+}
@@ -0,0 +1,82 @@
+package upgrade.challenge.common.messaging.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueInformation;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class QueueDepthGaugesTest {
+
+    private static final String METER_NAME = "availability.queue.depth";
+    private static final String QUEUE_NAME = "event.campsite.reserved";
+    private static final String DEAD_LETTER_QUEUE_NAME = "event.reservation.created.dlq";
+
+    private QueueDepthGauges testee;
+
+    @Mock
+    private AmqpAdmin amqpAdmin;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        testee = new QueueDepthGauges(amqpAdmin,
+                List.of(new Queue(QUEUE_NAME)),
+                List.of(new Declarables(new Queue(DEAD_LETTER_QUEUE_NAME))),
+                meterRegistry,
+                METER_NAME);
+    }
+
+    @Test
+    void refreshQueueDepths_shouldReportMessageCountPerQueue() {
+        when(amqpAdmin.getQueueInfo(QUEUE_NAME)).thenReturn(new QueueInformation(QUEUE_NAME, 12, 1));
+        when(amqpAdmin.getQueueInfo(DEAD_LETTER_QUEUE_NAME)).thenReturn(new QueueInformation(DEAD_LETTER_QUEUE_NAME, 3, 0));
+
+        testee.refreshQueueDepths();
+
+        assertThat(getQueueDepth(QUEUE_NAME)).isEqualTo(12.0);
+        assertThat(getQueueDepth(DEAD_LETTER_QUEUE_NAME)).isEqualTo(3.0);
+    }
+
+    @Test
+    void refreshQueueDepths_withMissingQueue_shouldReportNaN() {
+        when(amqpAdmin.getQueueInfo(QUEUE_NAME)).thenReturn(null);
+        when(amqpAdmin.getQueueInfo(DEAD_LETTER_QUEUE_NAME)).thenReturn(new QueueInformation(DEAD_LETTER_QUEUE_NAME, 3, 0));
+
+        testee.refreshQueueDepths();
+
+        assertThat(getQueueDepth(QUEUE_NAME)).isNaN();
+        assertThat(getQueueDepth(DEAD_LETTER_QUEUE_NAME)).isEqualTo(3.0);
+    }
+
+    @Test
+    void refreshQueueDepths_whenBrokerUnavailable_shouldReportNaN() {
+        when(amqpAdmin.getQueueInfo(QUEUE_NAME)).thenReturn(new QueueInformation(QUEUE_NAME, 12, 1));
+        when(amqpAdmin.getQueueInfo(DEAD_LETTER_QUEUE_NAME)).thenReturn(new QueueInformation(DEAD_LETTER_QUEUE_NAME, 3, 0));
+        testee.refreshQueueDepths();
+
+        when(amqpAdmin.getQueueInfo(QUEUE_NAME)).thenThrow(new AmqpConnectException(new RuntimeException("connection refused")));
+        testee.refreshQueueDepths();
+
+        assertThat(getQueueDepth(QUEUE_NAME)).isNaN();
+        assertThat(getQueueDepth(DEAD_LETTER_QUEUE_NAME)).isNaN();
+    }
+
+    private double getQueueDepth(final String queueName) {
+        return meterRegistry.get(METER_NAME).tag("queue", queueName).gauge().value();
+    }
+}
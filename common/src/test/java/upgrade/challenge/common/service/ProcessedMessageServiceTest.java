@@ -0,0 +1,111 @@
+package upgrade.challenge.common.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import upgrade.challenge.common.domain.ProcessedMessage;
+import upgrade.challenge.common.repository.ProcessedMessageRepository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProcessedMessageServiceTest {
+
+    private ProcessedMessageService testee;
+
+    @Mock
+    private ProcessedMessageRepository processedMessageRepository;
+
+    @BeforeEach
+    void setUp() {
+        final ProcessedMessageProperties processedMessageProperties = new ProcessedMessageProperties();
+        processedMessageProperties.setMaximumSize(100L);
+
+        testee = new ProcessedMessageService(processedMessageRepository, processedMessageProperties);
+    }
+
+    @Test
+    void processOnce_withNewMessage_shouldRunActionAndMarkProcessed() {
+        final List<String> processed = new ArrayList<>();
+
+        when(processedMessageRepository.findAllById(List.of("1"))).thenReturn(List.of());
+
+        testee.processOnce("1", () -> processed.add("1"));
+
+        assertThat(processed).containsExactly("1");
+        verify(processedMessageRepository).insert(eq("1"), any(Instant.class));
+    }
+
+    @Test
+    void processOnce_withProcessedMessage_shouldSkipActionWithoutQueryingTwice() {
+        final List<String> processed = new ArrayList<>();
+
+        when(processedMessageRepository.findAllById(List.of("1"))).thenReturn(List.of(buildProcessedMessage("1")));
+
+        testee.processOnce("1", () -> processed.add("1"));
+        testee.processOnce("1", () -> processed.add("1"));
+
+        assertThat(processed).isEmpty();
+        verify(processedMessageRepository, times(1)).findAllById(any());
+        verify(processedMessageRepository, never()).insert(anyString(), any(Instant.class));
+    }
+
+    @Test
+    void processOnce_afterProcessing_shouldSkipRedeliveryFromCache() {
+        final List<String> processed = new ArrayList<>();
+
+        when(processedMessageRepository.findAllById(List.of("1"))).thenReturn(List.of());
+
+        testee.processOnce("1", () -> processed.add("1"));
+        testee.processOnce("1", () -> processed.add("1"));
+
+        assertThat(processed).containsExactly("1");
+        verify(processedMessageRepository, times(1)).findAllById(any());
+    }
+
+    @Test
+    void processOnce_withoutMessageId_shouldAlwaysRunAction() {
+        final List<String> processed = new ArrayList<>();
+
+        testee.processOnce(null, () -> processed.add("1"));
+        testee.processOnce(null, () -> processed.add("2"));
+
+        assertThat(processed).containsExactly("1", "2");
+        verify(processedMessageRepository, never()).findAllById(any());
+        verify(processedMessageRepository, never()).insert(anyString(), any(Instant.class));
+    }
+
+    @Test
+    void processAllOnce_shouldOnlyPassNewAndDistinctMessages() {
+        final List<String> processed = new ArrayList<>();
+
+        when(processedMessageRepository.findAllById(List.of("1", "2", "2"))).thenReturn(List.of(buildProcessedMessage("1")));
+
+        testee.processAllOnce(Arrays.asList("1", "2", "2", null), List.of("a", "b", "c", "d"), processed::addAll);
+
+        assertThat(processed).containsExactly("b", "d");
+        verify(processedMessageRepository).insert(eq("2"), any(Instant.class));
+        verify(processedMessageRepository, never()).insert(eq("1"), any(Instant.class));
+    }
+
+    private ProcessedMessage buildProcessedMessage(final String messageId) {
+        return ProcessedMessage.builder()
+                .messageId(messageId)
+                .processedDate(Instant.now())
+                .build();
+    }
+}
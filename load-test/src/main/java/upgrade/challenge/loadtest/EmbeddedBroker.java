@@ -0,0 +1,41 @@
+package upgrade.challenge.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.qpid.server.SystemLauncher;
+import org.apache.qpid.server.model.SystemConfig;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+@Slf4j
+public class EmbeddedBroker implements AutoCloseable {
+
+    private static final String INITIAL_CONFIGURATION = "load-test-broker.json";
+    private static final String URL_STREAM_HANDLER_PACKAGES = "org.apache.qpid.server.util.urlstreamhandler";
+
+    private final SystemLauncher systemLauncher = new SystemLauncher();
+
+    public EmbeddedBroker(final int port, final Path workDirectory) throws Exception {
+        Files.createDirectories(workDirectory);
+        System.setProperty("java.protocol.handler.pkgs", URL_STREAM_HANDLER_PACKAGES);
+
+        systemLauncher.startup(Map.of(
+                SystemConfig.TYPE, "Memory",
+                SystemConfig.INITIAL_CONFIGURATION_LOCATION,
+                EmbeddedBroker.class.getClassLoader().getResource(INITIAL_CONFIGURATION).toExternalForm(),
+                SystemConfig.STARTUP_LOGGED_TO_SYSTEM_OUT, false,
+                SystemConfig.CONTEXT, Map.of(
+                        "qpid.amqp_port", String.valueOf(port),
+                        "qpid.work_dir", workDirectory.toAbsolutePath().toString(),
+                        "qpid.home_dir", workDirectory.toAbsolutePath().toString())
+        ));
+
+        log.info("AMQP broker started on port {}", port);
+    }
+
+    @Override
+    public void close() {
+        systemLauncher.shutdown();
+    }
+}
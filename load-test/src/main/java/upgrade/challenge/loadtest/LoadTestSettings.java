@@ -0,0 +1,64 @@
+package upgrade.challenge.loadtest;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Accessors(chain = true)
+public class LoadTestSettings {
+
+    private double rate;
+    private Duration duration;
+    private int hotDateCount;
+    private double hotDateRatio;
+    private Duration statusPollInterval;
+    private Duration sagaTimeout;
+    private Path availabilityJar;
+    private Path reservationJar;
+    private int availabilityPort;
+    private int reservationPort;
+    private int brokerPort;
+    private Path workDirectory;
+    private List<String> threadModes;
+    private Path serviceJava;
+
+    public static LoadTestSettings parse(final String[] args) {
+        final Map<String, String> options = Arrays.stream(args)
+                .filter(arg -> arg.startsWith("--") && arg.contains("="))
+                .map(arg -> arg.substring(2).split("=", 2))
+                .collect(Collectors.toMap(option -> option[0], option -> option[1]));
+
+        return LoadTestSettings.builder()
+                .rate(Double.parseDouble(options.getOrDefault("rate", "20")))
+                .duration(Duration.parse("PT" + options.getOrDefault("duration", "60s")))
+                .hotDateCount(Integer.parseInt(options.getOrDefault("hot-dates", "3")))
+                .hotDateRatio(Double.parseDouble(options.getOrDefault("hot-date-ratio", "0.8")))
+                .statusPollInterval(Duration.parse("PT" + options.getOrDefault("status-poll-interval", "0.02s")))
+                .sagaTimeout(Duration.parse("PT" + options.getOrDefault("saga-timeout", "60s")))
+                .availabilityJar(Path.of(options.getOrDefault("availability-jar",
+                        "../availability-service/target/availability-service-0.0.1-SNAPSHOT.jar")))
+                .reservationJar(Path.of(options.getOrDefault("reservation-jar",
+                        "../reservation-service/target/reservation-service-0.0.1-SNAPSHOT.jar")))
+                .availabilityPort(Integer.parseInt(options.getOrDefault("availability-port", "18081")))
+                .reservationPort(Integer.parseInt(options.getOrDefault("reservation-port", "18080")))
+                .brokerPort(Integer.parseInt(options.getOrDefault("broker-port", "35672")))
+                .workDirectory(Path.of(options.getOrDefault("work-directory", "target/load-test")))
+                .threadModes(List.of(options.getOrDefault("thread-modes", "platform").split(",")))
+                .serviceJava(Path.of(options.getOrDefault("service-java",
+                        Path.of(System.getProperty("java.home"), "bin", "java").toString())))
+                .build();
+    }
+}
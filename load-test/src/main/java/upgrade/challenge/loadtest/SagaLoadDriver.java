@@ -0,0 +1,171 @@
+package upgrade.challenge.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.time.temporal.ChronoUnit.DAYS;
+
+@Slf4j
+public class SagaLoadDriver {
+
+    private static final String RESERVATION_PATH = "/api/reservation/v1.1";
+    private static final String CONFIRMED_STATUS = "RESERVATION_CONFIRMED";
+    private static final String REJECTED_STATUS = "RESERVATION_REJECTED";
+    private static final int FIRST_ARRIVAL_DAY = 2;
+    private static final int LAST_ARRIVAL_DAY = 29;
+    private static final int MAXIMUM_STAY_DAYS = 3;
+    private static final long SEED = 42L;
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'")
+            .withZone(ZoneOffset.UTC);
+
+    private final LoadTestSettings settings;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final ScheduledExecutorService scheduler;
+    private final String runId;
+    private final List<Integer> hotArrivalDays;
+
+    public SagaLoadDriver(final LoadTestSettings settings, final HttpClient httpClient, final ObjectMapper objectMapper) {
+        final SplittableRandom random = new SplittableRandom(SEED);
+
+        this.settings = settings;
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.scheduler = Executors.newScheduledThreadPool(Runtime.getRuntime().availableProcessors());
+        this.runId = UUID.randomUUID().toString().substring(0, 8);
+        this.hotArrivalDays = IntStream.range(0, settings.getHotDateCount())
+                .mapToObj(i -> random.nextInt(FIRST_ARRIVAL_DAY, LAST_ARRIVAL_DAY + 1))
+                .collect(Collectors.toList());
+    }
+
+    public SagaLoadReport.Summary run() throws InterruptedException {
+        final int requestedSagas = (int) Math.round(settings.getRate() * settings.getDuration().toMillis() / 1000.0);
+        final long periodNanos = Math.round(TimeUnit.SECONDS.toNanos(1L) / settings.getRate());
+        final CountDownLatch completedSagas = new CountDownLatch(requestedSagas);
+        final SagaLoadReport report = new SagaLoadReport(System.nanoTime());
+        final SplittableRandom random = new SplittableRandom(SEED);
+        final Instant today = Instant.now().truncatedTo(DAYS);
+
+        log.info("Starting {} sagas at {}/s, {} hot arrival days {}", requestedSagas, settings.getRate(),
+                hotArrivalDays.size(), hotArrivalDays);
+
+        for (int sagaNumber = 0; sagaNumber < requestedSagas; sagaNumber++) {
+            final String requestBody = buildReservationRequestBody(sagaNumber, today, random);
+            final String guestEmail = buildGuestEmail(sagaNumber);
+
+            scheduler.schedule(() -> startSaga(guestEmail, requestBody, report, completedSagas),
+                    sagaNumber * periodNanos, TimeUnit.NANOSECONDS);
+        }
+
+        if (!completedSagas.await(settings.getDuration().plus(settings.getSagaTimeout()).toMillis() * 2L, TimeUnit.MILLISECONDS)) {
+            log.warn("{} sagas were still running when the load test ended", completedSagas.getCount());
+        }
+
+        scheduler.shutdownNow();
+
+        return report.summarize(requestedSagas);
+    }
+
+    private void startSaga(final String guestEmail, final String requestBody, final SagaLoadReport report,
+                           final CountDownLatch completedSagas) {
+        final long startNanos = System.nanoTime();
+        final HttpRequest request = HttpRequest.newBuilder(buildUri(RESERVATION_PATH))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(requestBody))
+                .build();
+
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, throwable) -> {
+                    if (throwable != null || response.statusCode() != 201) {
+                        report.recordHttpError();
+                        completedSagas.countDown();
+                    } else {
+                        pollStatus(guestEmail, startNanos, report, completedSagas);
+                    }
+                });
+    }
+
+    private void pollStatus(final String guestEmail, final long startNanos, final SagaLoadReport report,
+                            final CountDownLatch completedSagas) {
+        final HttpRequest request = HttpRequest.newBuilder(buildUri(RESERVATION_PATH + "?email="
+                        + URLEncoder.encode(guestEmail, StandardCharsets.UTF_8)))
+                .GET()
+                .build();
+
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, throwable) -> {
+                    final String status = throwable == null && response.statusCode() == 200 ? readStatus(response.body()) : null;
+
+                    if (CONFIRMED_STATUS.equals(status) || REJECTED_STATUS.equals(status)) {
+                        report.recordCompleted(status, System.nanoTime() - startNanos);
+                        completedSagas.countDown();
+                    } else if (System.nanoTime() - startNanos > settings.getSagaTimeout().toNanos()) {
+                        report.recordTimeout();
+                        completedSagas.countDown();
+                    } else {
+                        scheduler.schedule(() -> pollStatus(guestEmail, startNanos, report, completedSagas),
+                                settings.getStatusPollInterval().toNanos(), TimeUnit.NANOSECONDS);
+                    }
+                });
+    }
+
+    private String readStatus(final String responseBody) {
+        try {
+            final JsonNode reservations = objectMapper.readTree(responseBody);
+
+            return reservations.isArray() && reservations.size() > 0 ? reservations.get(0).path("status").asText(null) : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private String buildReservationRequestBody(final int sagaNumber, final Instant today, final SplittableRandom random) {
+        final int arrivalDay = random.nextDouble() < settings.getHotDateRatio() && !hotArrivalDays.isEmpty()
+                ? hotArrivalDays.get(random.nextInt(hotArrivalDays.size()))
+                : random.nextInt(FIRST_ARRIVAL_DAY, LAST_ARRIVAL_DAY + 1);
+        final Instant arrivalDate = today.plus(arrivalDay, DAYS).plus(12L, ChronoUnit.HOURS);
+        final Instant departureDate = arrivalDate.plus(random.nextInt(1, MAXIMUM_STAY_DAYS + 1), DAYS);
+
+        try {
+            return objectMapper.writeValueAsString(Map.of(
+                    "guestEmail", buildGuestEmail(sagaNumber),
+                    "firstName", "Load",
+                    "lastName", "Test " + sagaNumber,
+                    "arrivalDate", DATE_FORMATTER.format(arrivalDate),
+                    "departureDate", DATE_FORMATTER.format(departureDate)
+            ));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private String buildGuestEmail(final int sagaNumber) {
+        return "load-" + runId + "-" + sagaNumber + "@load.test";
+    }
+
+    private URI buildUri(final String pathAndQuery) {
+        return URI.create("http://localhost:" + settings.getReservationPort() + pathAndQuery);
+    }
+}
@@ -0,0 +1,112 @@
+package upgrade.challenge.loadtest;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+public class SagaLoadReport {
+
+    public static final String ALL_OUTCOMES = "ALL";
+
+    private final Map<String, Collection<Long>> latencyNanosByOutcome = new ConcurrentHashMap<>();
+    private final AtomicLong httpErrors = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong lastCompletionNanos = new AtomicLong();
+    private final long startNanos;
+
+    public SagaLoadReport(final long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    public void recordCompleted(final String status, final long latencyNanos) {
+        latencyNanosByOutcome.computeIfAbsent(status, key -> new ConcurrentLinkedQueue<>()).add(latencyNanos);
+        latencyNanosByOutcome.computeIfAbsent(ALL_OUTCOMES, key -> new ConcurrentLinkedQueue<>()).add(latencyNanos);
+        lastCompletionNanos.accumulateAndGet(System.nanoTime(), Math::max);
+    }
+
+    public void recordHttpError() {
+        httpErrors.incrementAndGet();
+    }
+
+    public void recordTimeout() {
+        timeouts.incrementAndGet();
+    }
+
+    public Summary summarize(final int requestedSagas) {
+        final Collection<Long> allLatencies = latencyNanosByOutcome.getOrDefault(ALL_OUTCOMES, new ConcurrentLinkedQueue<>());
+        final Duration elapsed = Duration.ofNanos(Math.max(lastCompletionNanos.get() - startNanos, 1L));
+
+        return Summary.builder()
+                .requestedSagas(requestedSagas)
+                .completedSagas(allLatencies.size())
+                .httpErrors(httpErrors.get())
+                .timeouts(timeouts.get())
+                .sagasPerSecond(allLatencies.size() / (elapsed.toNanos() / 1_000_000_000.0))
+                .latencies(latencyNanosByOutcome.entrySet().stream()
+                        .collect(Collectors.toMap(Map.Entry::getKey, entry -> LatencySummary.of(entry.getValue()))))
+                .build();
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Accessors(chain = true)
+    public static class Summary {
+
+        private int requestedSagas;
+        private int completedSagas;
+        private long httpErrors;
+        private long timeouts;
+        private double sagasPerSecond;
+        private Map<String, LatencySummary> latencies;
+    }
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    @Accessors(chain = true)
+    public static class LatencySummary {
+
+        private int count;
+        private double p50Millis;
+        private double p90Millis;
+        private double p99Millis;
+        private double maxMillis;
+
+        static LatencySummary of(final Collection<Long> latencyNanos) {
+            final long[] sortedLatencyNanos = latencyNanos.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sortedLatencyNanos);
+
+            return LatencySummary.builder()
+                    .count(sortedLatencyNanos.length)
+                    .p50Millis(percentileMillis(sortedLatencyNanos, 0.50))
+                    .p90Millis(percentileMillis(sortedLatencyNanos, 0.90))
+                    .p99Millis(percentileMillis(sortedLatencyNanos, 0.99))
+                    .maxMillis(percentileMillis(sortedLatencyNanos, 1.0))
+                    .build();
+        }
+
+        private static double percentileMillis(final long[] sortedLatencyNanos, final double percentile) {
+            if (sortedLatencyNanos.length == 0) {
+                return 0.0;
+            }
+
+            final int index = (int) Math.ceil(percentile * sortedLatencyNanos.length) - 1;
+
+            return sortedLatencyNanos[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+}
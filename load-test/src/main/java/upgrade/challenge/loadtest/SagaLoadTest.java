@@ -0,0 +1,107 @@
+package upgrade.challenge.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import lombok.extern.slf4j.Slf4j;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+public class SagaLoadTest {
+
+    private static final String POSTGRES_USER = "postgres";
+    private static final String AVAILABILITY_DATABASE = "availability";
+    private static final String RESERVATION_DATABASE = "reservation";
+    private static final String PLATFORM_THREAD_MODE = "platform";
+    private static final String VIRTUAL_THREAD_MODE = "virtual";
+
+    public static void main(final String[] args) throws Exception {
+        final LoadTestSettings settings = LoadTestSettings.parse(args);
+        final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        final HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5L))
+                .build();
+        final Map<String, SagaLoadReport.Summary> summariesByThreadMode = new LinkedHashMap<>();
+
+        for (final String threadMode : settings.getThreadModes()) {
+            final SagaLoadReport.Summary summary = run(settings, threadMode, httpClient, objectMapper);
+            final Path reportFile = settings.getWorkDirectory().resolve("saga-load-report-" + threadMode + ".json");
+
+            objectMapper.writeValue(reportFile.toFile(), summary);
+            log.info("Saga load report for {} threads ({}):\n{}", threadMode, reportFile, objectMapper.writeValueAsString(summary));
+            summariesByThreadMode.put(threadMode, summary);
+        }
+
+        summariesByThreadMode.forEach((threadMode, summary) -> {
+            final SagaLoadReport.LatencySummary latencies = summary.getLatencies()
+                    .getOrDefault(SagaLoadReport.ALL_OUTCOMES, new SagaLoadReport.LatencySummary());
+
+            log.info("{} threads: {} sagas/s, p50 {} ms, p99 {} ms, {} errors, {} timeouts", threadMode,
+                    String.format("%.1f", summary.getSagasPerSecond()), String.format("%.0f", latencies.getP50Millis()),
+                    String.format("%.0f", latencies.getP99Millis()), summary.getHttpErrors(), summary.getTimeouts());
+        });
+    }
+
+    private static SagaLoadReport.Summary run(final LoadTestSettings settings, final String threadMode, final HttpClient httpClient,
+                                              final ObjectMapper objectMapper) throws Exception {
+        if (!PLATFORM_THREAD_MODE.equals(threadMode) && !VIRTUAL_THREAD_MODE.equals(threadMode)) {
+            throw new IllegalArgumentException("Unsupported thread mode " + threadMode);
+        }
+
+        final boolean virtualThreads = VIRTUAL_THREAD_MODE.equals(threadMode);
+
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder()
+                .setDataDirectory(settings.getWorkDirectory().resolve("postgres"))
+                .setCleanDataDirectory(true)
+                .start();
+             EmbeddedBroker ignored = new EmbeddedBroker(settings.getBrokerPort(), settings.getWorkDirectory().resolve("broker"))) {
+            createDatabases(postgres);
+
+            try (ServiceProcess availabilityService = startService("availability-service", settings.getAvailabilityJar(),
+                    settings.getAvailabilityPort(), postgres.getJdbcUrl(POSTGRES_USER, AVAILABILITY_DATABASE), virtualThreads, settings);
+                 ServiceProcess reservationService = startService("reservation-service", settings.getReservationJar(),
+                         settings.getReservationPort(), postgres.getJdbcUrl(POSTGRES_USER, RESERVATION_DATABASE), virtualThreads, settings)) {
+                availabilityService.awaitReady(httpClient,
+                        URI.create("http://localhost:" + settings.getAvailabilityPort() + "/actuator/health"));
+                reservationService.awaitReady(httpClient,
+                        URI.create("http://localhost:" + settings.getReservationPort() + "/actuator/health"));
+
+                return new SagaLoadDriver(settings, httpClient, objectMapper).run();
+            }
+        }
+    }
+
+    private static void createDatabases(final EmbeddedPostgres postgres) throws Exception {
+        try (Connection connection = postgres.getPostgresDatabase().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE DATABASE " + AVAILABILITY_DATABASE);
+            statement.execute("CREATE DATABASE " + RESERVATION_DATABASE);
+        }
+    }
+
+    private static ServiceProcess startService(final String name, final Path jar, final int port, final String jdbcUrl,
+                                               final boolean virtualThreads, final LoadTestSettings settings) throws Exception {
+        return new ServiceProcess(name, settings.getServiceJava(), jar, settings.getWorkDirectory(), List.of(
+                "--server.port=" + port,
+                "--management.server.port=" + port,
+                "--spring.datasource.url=" + jdbcUrl,
+                "--spring.datasource.username=" + POSTGRES_USER,
+                "--spring.datasource.password=",
+                "--spring.rabbitmq.host=localhost",
+                "--spring.rabbitmq.port=" + settings.getBrokerPort(),
+                "--spring.rabbitmq.username=guest",
+                "--spring.rabbitmq.password=guest",
+                "--availability.virtual-threads.enabled=" + virtualThreads,
+                "--reservation.virtual-threads.enabled=" + virtualThreads
+        ));
+    }
+}
@@ -0,0 +1,77 @@
+package upgrade.challenge.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+public class ServiceProcess implements AutoCloseable {
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2L);
+    private static final Duration STARTUP_POLL_INTERVAL = Duration.ofMillis(500L);
+
+    private final String name;
+    private final Process process;
+
+    public ServiceProcess(final String name, final Path java, final Path jar, final Path workDirectory,
+                          final List<String> arguments) throws IOException {
+        final List<String> command = new ArrayList<>(List.of(java.toString(), "-jar", jar.toAbsolutePath().toString()));
+        command.addAll(arguments);
+
+        Files.createDirectories(workDirectory);
+
+        this.name = name;
+        this.process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(workDirectory.resolve(name + ".log").toFile())
+                .start();
+
+        log.info("Started {} (pid {}), logging to {}", name, process.pid(), workDirectory.resolve(name + ".log"));
+    }
+
+    public void awaitReady(final HttpClient httpClient, final URI readinessUri) throws InterruptedException {
+        final Instant deadline = Instant.now().plus(STARTUP_TIMEOUT);
+
+        while (Instant.now().isBefore(deadline)) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(name + " exited with code " + process.exitValue());
+            }
+
+            try {
+                final HttpResponse<Void> response = httpClient.send(HttpRequest.newBuilder(readinessUri).GET().build(),
+                        HttpResponse.BodyHandlers.discarding());
+
+                if (response.statusCode() == 200) {
+                    log.info("{} is ready", name);
+                    return;
+                }
+            } catch (IOException e) {
+                log.debug("{} is not ready yet: {}", name, e.getMessage());
+            }
+
+            Thread.sleep(STARTUP_POLL_INTERVAL.toMillis());
+        }
+
+        throw new IllegalStateException(name + " was not ready after " + STARTUP_TIMEOUT);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+
+        if (!process.waitFor(STARTUP_TIMEOUT.toSeconds(), TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+        }
+    }
+}
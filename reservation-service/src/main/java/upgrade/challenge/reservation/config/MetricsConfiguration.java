@@ -0,0 +1,36 @@
+package upgrade.challenge.reservation.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.Queue;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import upgrade.challenge.common.messaging.metrics.QueueDepthGauges;
+
+import java.util.stream.Collectors;
+
+@Configuration
+public class MetricsConfiguration {
+
+    @Bean
+    public QueueDepthGauges queueDepthGauges(final AmqpAdmin amqpAdmin,
+                                             final ObjectProvider<Queue> queues,
+                                             final ObjectProvider<Declarables> declarables,
+                                             final MeterRegistry meterRegistry) {
+        return new QueueDepthGauges(amqpAdmin,
+                queues.orderedStream().collect(Collectors.toList()),
+                declarables.orderedStream().collect(Collectors.toList()),
+                meterRegistry,
+                "reservation.queue.depth");
+    }
+
+    @Bean
+    public SchedulingConfigurer queueDepthRefreshScheduler(final QueueDepthGauges queueDepthGauges,
+                                                           @Value("${reservation.metrics.queue-depth-refresh-millis:10000}") final long refreshMillis) {
+        return taskRegistrar -> taskRegistrar.addFixedDelayTask(queueDepthGauges::refreshQueueDepths, refreshMillis);
+    }
+}
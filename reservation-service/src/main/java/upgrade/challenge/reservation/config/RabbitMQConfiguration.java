@@ -4,15 +4,27 @@ import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.amqp.core.MessageProperties;
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.ContentTypeDelegatingMessageConverter;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import upgrade.challenge.common.config.VirtualThreadConfiguration;
+import upgrade.challenge.common.messaging.converter.Jackson2CborMessageConverter;
 import upgrade.challenge.reservation.domain.EventType;
+import upgrade.challenge.reservation.v1.messaging.eventmessage.ReservationCancelledEvent;
+import upgrade.challenge.reservation.v1.messaging.eventmessage.ReservationDateSelectionEvent;
 
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 @Configuration
 public class RabbitMQConfiguration {
@@ -50,10 +62,20 @@ public class RabbitMQConfiguration {
         );
     }
 
+    @Bean
+    public Map<EventType, Class<?>> eventMessageTypesByEventType() {
+        return Map.of(
+                EventType.RESERVATION_CANCELLED, ReservationCancelledEvent.class,
+                EventType.RESERVATION_CREATED, ReservationDateSelectionEvent.class,
+                EventType.RESERVATION_MODIFIED, ReservationDateSelectionEvent.class
+        );
+    }
+
     @Bean
     public RabbitTemplate rabbitTemplate(final ConnectionFactory connectionFactory, final ObjectMapper objectMapper) {
         final RabbitTemplate rabbitTemplate = new RabbitTemplate(connectionFactory);
         rabbitTemplate.setMessageConverter(jackson2JsonMessageConverter(objectMapper));
+        rabbitTemplate.setMandatory(true);
 
         return rabbitTemplate;
     }
@@ -62,4 +84,32 @@ public class RabbitMQConfiguration {
     public Jackson2JsonMessageConverter jackson2JsonMessageConverter(final ObjectMapper objectMapper) {
         return new Jackson2JsonMessageConverter(objectMapper);
     }
+
+    @Bean
+    public Jackson2CborMessageConverter jackson2CborMessageConverter() {
+        return new Jackson2CborMessageConverter();
+    }
+
+    @Bean
+    @Primary
+    public ContentTypeDelegatingMessageConverter eventMessageConverter(final Jackson2JsonMessageConverter jackson2JsonMessageConverter,
+                                                                       final Jackson2CborMessageConverter jackson2CborMessageConverter) {
+        final ContentTypeDelegatingMessageConverter eventMessageConverter = new ContentTypeDelegatingMessageConverter(jackson2JsonMessageConverter);
+        eventMessageConverter.addDelegate(MessageProperties.CONTENT_TYPE_JSON, jackson2JsonMessageConverter);
+        eventMessageConverter.addDelegate(Jackson2CborMessageConverter.CONTENT_TYPE_CBOR, jackson2CborMessageConverter);
+
+        return eventMessageConverter;
+    }
+
+    @Bean
+    public SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(final SimpleRabbitListenerContainerFactoryConfigurer configurer,
+                                                                               final ConnectionFactory connectionFactory,
+                                                                               final ContentTypeDelegatingMessageConverter eventMessageConverter,
+                                                                               @Qualifier(VirtualThreadConfiguration.VIRTUAL_THREAD_EXECUTOR) final ObjectProvider<Executor> virtualThreadExecutor) {
+        final SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setMessageConverter(eventMessageConverter);
+        virtualThreadExecutor.ifAvailable(factory::setTaskExecutor);
+        return factory;
+    }
 }
@@ -1,11 +1,19 @@
 package upgrade.challenge.reservation.config;
 
+import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
+import upgrade.challenge.common.domain.ProcessedMessage;
+import upgrade.challenge.common.repository.ProcessedMessageRepository;
+import upgrade.challenge.reservation.domain.Reservation;
+import upgrade.challenge.reservation.repository.ReservationRepository;
 
 @Configuration
 @EnableJpaAuditing
+@EnableJpaRepositories(basePackageClasses = {ReservationRepository.class, ProcessedMessageRepository.class})
 @EnableTransactionManagement
+@EntityScan(basePackageClasses = {Reservation.class, ProcessedMessage.class})
 public class RepositoryConfiguration {
 }
@@ -0,0 +1,33 @@
+package upgrade.challenge.reservation.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.validation.constraints.NotNull;
+import java.time.Instant;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Accessors(chain = true)
+@Entity
+public class IdempotencyKey {
+
+    @Id
+    private String idempotencyKey;
+
+    @NotNull
+    private Long reservationId;
+
+    @NotNull
+    private String requestHash;
+
+    @NotNull
+    private Instant createdDate;
+}
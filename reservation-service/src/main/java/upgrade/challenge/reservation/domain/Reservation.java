@@ -21,11 +21,12 @@ import java.time.Instant;
 @Accessors(chain = true)
 @Entity
 @EntityListeners(AuditingEntityListener.class)
-@Table(indexes = @Index(name = "guest_email_idx", columnList = "guestEmail"))
+@Table(indexes = @Index(name = "guest_email_created_date_idx", columnList = "guestEmail, createdDate, id"))
 public class Reservation {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservation_id_generator")
+    @SequenceGenerator(name = "reservation_id_generator", sequenceName = "reservation_id_seq", allocationSize = 50)
     private Long id;
 
     @NotNull
@@ -48,6 +49,14 @@ public class Reservation {
     @NotNull
     private Instant departureDate;
 
+    private Instant sagaStartedDate;
+
+    private Instant sagaPublishedDate;
+
+    private Instant sagaValidatedDate;
+
+    private Instant sagaCompletedDate;
+
     @CreatedDate
     private Instant createdDate;
 
@@ -0,0 +1,16 @@
+package upgrade.challenge.reservation.domain;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+@Value
+public class ReservationCursor {
+
+    Instant createdDate;
+    Long id;
+
+    public static ReservationCursor after(final ReservationSummary reservationSummary) {
+        return new ReservationCursor(reservationSummary.getCreatedDate(), reservationSummary.getId());
+    }
+}
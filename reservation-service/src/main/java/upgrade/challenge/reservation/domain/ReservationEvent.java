@@ -24,7 +24,8 @@ import java.time.Instant;
 public class ReservationEvent {
 
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservation_event_id_generator")
+    @SequenceGenerator(name = "reservation_event_id_generator", sequenceName = "reservation_event_id_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -41,6 +42,9 @@ public class ReservationEvent {
     @NotBlank
     private String payload;
 
+    @Column(columnDefinition = "timestamp DEFAULT now()")
+    private Instant publishedAt;
+
     @CreatedDate
     private Instant createdDate;
 
@@ -0,0 +1,16 @@
+package upgrade.challenge.reservation.domain;
+
+import java.time.Instant;
+
+public interface ReservationSummary {
+
+    Long getId();
+
+    ReservationStatus getStatus();
+
+    Instant getArrivalDate();
+
+    Instant getDepartureDate();
+
+    Instant getCreatedDate();
+}
@@ -0,0 +1,10 @@
+package upgrade.challenge.reservation.exception;
+
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+    private static final String DEFAULT_ERROR_MESSAGE = "The Idempotency-Key was already used for a different reservation.";
+
+    public IdempotencyKeyReusedException() {
+        super(DEFAULT_ERROR_MESSAGE);
+    }
+}
@@ -0,0 +1,12 @@
+package upgrade.challenge.reservation.exception;
+
+public class InvalidRequestParameterException extends RuntimeException {
+
+    public InvalidRequestParameterException(final String message) {
+        super(message);
+    }
+
+    public InvalidRequestParameterException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,26 @@
+package upgrade.challenge.reservation.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import upgrade.challenge.reservation.domain.IdempotencyKey;
+
+import java.time.Instant;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_key (idempotency_key, reservation_id, request_hash, created_date) "
+            + "VALUES (:idempotencyKey, :reservationId, :requestHash, :createdDate)", nativeQuery = true)
+    int insert(@Param("idempotencyKey") final String idempotencyKey,
+               @Param("reservationId") final Long reservationId,
+               @Param("requestHash") final String requestHash,
+               @Param("createdDate") final Instant createdDate);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey idempotencyKey WHERE idempotencyKey.createdDate < :createdDate")
+    int deleteCreatedBefore(@Param("createdDate") final Instant createdDate);
+}
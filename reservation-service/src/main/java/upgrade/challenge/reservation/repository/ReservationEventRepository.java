@@ -1,9 +1,32 @@
 package upgrade.challenge.reservation.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import upgrade.challenge.reservation.domain.ReservationEvent;
 
+import java.time.Instant;
+import java.util.List;
+
 @Repository
 public interface ReservationEventRepository extends JpaRepository<ReservationEvent, Long> {
+
+    String NOTIFICATION_CHANNEL = "reservation_event";
+
+    @Query(value = "SELECT 1 FROM pg_notify('" + NOTIFICATION_CHANNEL + "', '')", nativeQuery = true)
+    int notifyReservationEventCreated();
+
+    @Query(value = "SELECT * FROM reservation_event"
+            + " WHERE published_at IS NULL"
+            + " ORDER BY id"
+            + " LIMIT :batchSize"
+            + " FOR UPDATE", nativeQuery = true)
+    List<ReservationEvent> findUnpublishedForUpdate(@Param("batchSize") final int batchSize);
+
+    @Modifying
+    @Query("UPDATE ReservationEvent reservationEvent SET reservationEvent.publishedAt = :publishedAt"
+            + " WHERE reservationEvent.id IN :ids")
+    int markPublished(@Param("ids") final List<Long> ids, @Param("publishedAt") final Instant publishedAt);
 }
@@ -1,13 +1,52 @@
 package upgrade.challenge.reservation.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import upgrade.challenge.reservation.domain.Reservation;
+import upgrade.challenge.reservation.domain.ReservationStatus;
+import upgrade.challenge.reservation.domain.ReservationSummary;
 
+import javax.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ReservationRepository extends JpaRepository<Reservation, Long> {
 
-    List<Reservation> findAllByGuestEmailOrderByCreatedDateDesc(final String email);
+    String SUMMARY_SELECT = "SELECT reservation.id AS id, reservation.status AS status,"
+            + " reservation.arrivalDate AS arrivalDate, reservation.departureDate AS departureDate,"
+            + " reservation.createdDate AS createdDate FROM Reservation reservation";
+    String SUMMARY_ORDER = " ORDER BY reservation.createdDate DESC, reservation.id DESC";
+    String FETCH_SIZE_HINT = "org.hibernate.fetchSize";
+    String SUMMARY_FETCH_SIZE = "100";
+
+    @QueryHints(@QueryHint(name = FETCH_SIZE_HINT, value = SUMMARY_FETCH_SIZE))
+    @Query(SUMMARY_SELECT + " WHERE reservation.guestEmail = :email" + SUMMARY_ORDER)
+    Stream<ReservationSummary> streamSummariesByGuestEmail(@Param("email") final String email, final Pageable pageable);
+
+    @QueryHints(@QueryHint(name = FETCH_SIZE_HINT, value = SUMMARY_FETCH_SIZE))
+    @Query(SUMMARY_SELECT + " WHERE reservation.guestEmail = :email"
+            + " AND reservation.createdDate <= :createdDate"
+            + " AND (reservation.createdDate < :createdDate OR reservation.id < :id)" + SUMMARY_ORDER)
+    Stream<ReservationSummary> streamSummariesByGuestEmailAfter(@Param("email") final String email,
+                                                                @Param("createdDate") final Instant createdDate,
+                                                                @Param("id") final Long id,
+                                                                final Pageable pageable);
+
+    List<Reservation> findTop100ByStatusInAndSagaStartedDateBeforeOrderBySagaStartedDate(final Collection<ReservationStatus> statuses,
+                                                                                         final Instant sagaStartedDate);
+
+    long countByStatusInAndSagaStartedDateBefore(final Collection<ReservationStatus> statuses, final Instant sagaStartedDate);
+
+    @Modifying
+    @Query("UPDATE Reservation reservation SET reservation.sagaPublishedDate = :sagaPublishedDate"
+            + " WHERE reservation.id IN :ids AND reservation.sagaPublishedDate IS NULL")
+    int markSagaPublished(@Param("ids") final List<Long> ids, @Param("sagaPublishedDate") final Instant sagaPublishedDate);
 }
@@ -1,9 +1,14 @@
 package upgrade.challenge.reservation.v1.messaging.consumer;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.AmqpHeaders;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
+import upgrade.challenge.common.service.ProcessedMessageService;
 import upgrade.challenge.reservation.v1.messaging.eventmessage.CampsiteReservedEvent;
 import upgrade.challenge.reservation.v1.messaging.eventmessage.ReservationRollbackEvent;
 import upgrade.challenge.reservation.v1.service.ReservationService;
@@ -12,19 +17,45 @@ import upgrade.challenge.reservation.v1.service.ReservationService;
 public class EventMessageConsumer {
 
     private final ReservationService reservationService;
+    private final ProcessedMessageService processedMessageService;
+    private final MeterRegistry meterRegistry;
 
     @Autowired
-    public EventMessageConsumer(ReservationService reservationService) {
+    public EventMessageConsumer(ReservationService reservationService,
+                                ProcessedMessageService processedMessageService,
+                                MeterRegistry meterRegistry) {
         this.reservationService = reservationService;
+        this.processedMessageService = processedMessageService;
+        this.meterRegistry = meterRegistry;
     }
 
     @RabbitListener(queues = {"event.campsite.reserved"})
-    public void consumeEventMessage(@Payload CampsiteReservedEvent eventMessage) {
-        reservationService.confirmReservation(eventMessage.getReservationId());
+    public void consumeEventMessage(@Payload CampsiteReservedEvent eventMessage,
+                                    @Header(name = AmqpHeaders.MESSAGE_ID, required = false) String messageId) {
+        consume("event.campsite.reserved", () -> processedMessageService
+                .processOnce(messageId, () -> reservationService
+                        .confirmReservation(eventMessage.getReservationId(), eventMessage.getValidatedDate())));
     }
 
     @RabbitListener(queues = {"event.reservation.rollback"})
-    public void consumeEventMessage(@Payload ReservationRollbackEvent eventMessage) {
-        reservationService.rollbackReservation(eventMessage.getReservationId());
+    public void consumeEventMessage(@Payload ReservationRollbackEvent eventMessage,
+                                    @Header(name = AmqpHeaders.MESSAGE_ID, required = false) String messageId) {
+        consume("event.reservation.rollback", () -> processedMessageService
+                .processOnce(messageId, () -> reservationService
+                        .rollbackReservation(eventMessage.getReservationId(), eventMessage.getValidatedDate())));
+    }
+
+    private void consume(final String queueName, final Runnable consumption) {
+        final Timer.Sample sample = Timer.start(meterRegistry);
+
+        try {
+            consumption.run();
+            sample.stop(meterRegistry.timer("reservation.consumer.processing", "queue", queueName, "result", "success"));
+        } catch (RuntimeException e) {
+            sample.stop(meterRegistry.timer("reservation.consumer.processing", "queue", queueName, "result", "error"));
+            meterRegistry.counter("reservation.consumer.errors", "queue", queueName, "exception", e.getClass().getSimpleName())
+                    .increment();
+            throw e;
+        }
     }
 }
@@ -6,6 +6,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.experimental.Accessors;
 
+import java.time.Instant;
+
 @Data
 @Builder
 @AllArgsConstructor
@@ -14,4 +16,5 @@ import lombok.experimental.Accessors;
 public class CampsiteReservedEvent {
 
     private Long reservationId;
+    private Instant validatedDate;
 }
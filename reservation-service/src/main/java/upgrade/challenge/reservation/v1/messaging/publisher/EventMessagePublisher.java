@@ -1,35 +1,135 @@
 package upgrade.challenge.reservation.v1.messaging.publisher;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.SneakyThrows;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageBuilder;
+import org.springframework.amqp.core.MessageProperties;
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import upgrade.challenge.common.messaging.converter.Jackson2CborMessageConverter;
 import upgrade.challenge.reservation.domain.EventType;
-import upgrade.challenge.reservation.v1.messaging.eventmessage.ReservationDateSelectionEvent;
+import upgrade.challenge.reservation.domain.ReservationEvent;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Component
 public class EventMessagePublisher {
 
-    private final ObjectMapper objectMapper;
+    private static final String MESSAGE_ID_PREFIX = "reservation-event-";
+
+    private final Map<EventType, Class<?>> eventMessageTypesByEventType;
     private final Map<EventType, Queue> queuesByEventType;
     private final RabbitTemplate rabbitTemplate;
+    private final Jackson2CborMessageConverter jackson2CborMessageConverter;
+    private final MeterRegistry meterRegistry;
+    private final Duration confirmTimeout;
+    private final boolean cborContentType;
 
     @Autowired
-    public EventMessagePublisher(ObjectMapper objectMapper,
+    public EventMessagePublisher(Map<EventType, Class<?>> eventMessageTypesByEventType,
                                  Map<EventType, Queue> queuesByEventType,
-                                 RabbitTemplate rabbitTemplate) {
-        this.objectMapper = objectMapper;
+                                 RabbitTemplate rabbitTemplate,
+                                 Jackson2CborMessageConverter jackson2CborMessageConverter,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${reservation.outbox.confirm-timeout:5s}") Duration confirmTimeout,
+                                 @Value("${reservation.messaging.content-type:application/json}") String contentType) {
+        if (!MessageProperties.CONTENT_TYPE_JSON.equals(contentType) && !Jackson2CborMessageConverter.CONTENT_TYPE_CBOR.equals(contentType)) {
+            throw new IllegalArgumentException("Unsupported event message content type " + contentType);
+        }
+
+        this.eventMessageTypesByEventType = eventMessageTypesByEventType;
         this.queuesByEventType = queuesByEventType;
         this.rabbitTemplate = rabbitTemplate;
+        this.jackson2CborMessageConverter = jackson2CborMessageConverter;
+        this.meterRegistry = meterRegistry;
+        this.confirmTimeout = confirmTimeout;
+        this.cborContentType = Jackson2CborMessageConverter.CONTENT_TYPE_CBOR.equals(contentType);
+    }
+
+    public List<Long> publishEvents(final List<ReservationEvent> reservationEvents) {
+        final Map<Long, CorrelationData> correlationDataByEventId = new LinkedHashMap<>();
+
+        reservationEvents.forEach(reservationEvent -> {
+            final CorrelationData correlationData = new CorrelationData(String.valueOf(reservationEvent.getId()));
+            publishEvent(reservationEvent, correlationData);
+            correlationDataByEventId.put(reservationEvent.getId(), correlationData);
+        });
+
+        final List<Long> confirmedEventIds = new ArrayList<>();
+
+        for (Map.Entry<Long, CorrelationData> entry : correlationDataByEventId.entrySet()) {
+            if (!isConfirmed(entry.getValue())) {
+                break;
+            }
+
+            confirmedEventIds.add(entry.getKey());
+        }
+
+        return confirmedEventIds;
+    }
+
+    private void publishEvent(final ReservationEvent reservationEvent, final CorrelationData correlationData) {
+        final String queueName = queuesByEventType.get(reservationEvent.getEventType()).getName();
+        final Timer.Sample sample = Timer.start(meterRegistry);
+
+        correlationData.getFuture().addCallback(
+                confirm -> recordPublishLatency(sample, queueName, confirm != null && confirm.isAck() && correlationData.getReturned() == null),
+                throwable -> recordPublishLatency(sample, queueName, false));
+
+        rabbitTemplate.send(rabbitTemplate.getExchange(), queueName, buildMessage(reservationEvent), correlationData);
+    }
+
+    private void recordPublishLatency(final Timer.Sample sample, final String queueName, final boolean confirmed) {
+        sample.stop(meterRegistry.timer("reservation.publisher.latency",
+                "queue", queueName, "result", confirmed ? "confirmed" : "unconfirmed"));
+    }
+
+    private Message buildMessage(final ReservationEvent reservationEvent) {
+        final Class<?> eventMessageType = eventMessageTypesByEventType.get(reservationEvent.getEventType());
+
+        if (cborContentType) {
+            return MessageBuilder.withBody(jackson2CborMessageConverter.transcodeJson(reservationEvent.getPayload(), eventMessageType))
+                    .setContentType(Jackson2CborMessageConverter.CONTENT_TYPE_CBOR)
+                    .setMessageId(buildMessageId(reservationEvent))
+                    .setHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME, eventMessageType.getName())
+                    .build();
+        }
+
+        return MessageBuilder.withBody(reservationEvent.getPayload().getBytes(StandardCharsets.UTF_8))
+                .setContentType(MessageProperties.CONTENT_TYPE_JSON)
+                .setContentEncoding(StandardCharsets.UTF_8.name())
+                .setMessageId(buildMessageId(reservationEvent))
+                .setHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME, eventMessageType.getName())
+                .build();
+    }
+
+    private String buildMessageId(final ReservationEvent reservationEvent) {
+        return MESSAGE_ID_PREFIX + reservationEvent.getId();
     }
 
-    @SneakyThrows
-    public void publishEvent(final String eventMessage, final EventType eventType) {
-        rabbitTemplate.convertAndSend(queuesByEventType.get(eventType).getName(),
-                objectMapper.readValue(eventMessage, ReservationDateSelectionEvent.class));
+    private boolean isConfirmed(final CorrelationData correlationData) {
+        try {
+            return correlationData.getFuture().get(confirmTimeout.toMillis(), TimeUnit.MILLISECONDS).isAck()
+                    && correlationData.getReturned() == null;
+        } catch (ExecutionException | TimeoutException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
     }
 }
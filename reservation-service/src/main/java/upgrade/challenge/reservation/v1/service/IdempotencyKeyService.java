@@ -0,0 +1,120 @@
+package upgrade.challenge.reservation.v1.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+import upgrade.challenge.reservation.domain.IdempotencyKey;
+import upgrade.challenge.reservation.domain.Reservation;
+import upgrade.challenge.reservation.exception.IdempotencyKeyReusedException;
+import upgrade.challenge.reservation.repository.IdempotencyKeyRepository;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Service
+public class IdempotencyKeyService {
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final Cache<String, IdempotencyKey> idempotencyKeys;
+    private final Duration retention;
+
+    @Autowired
+    public IdempotencyKeyService(IdempotencyKeyRepository idempotencyKeyRepository,
+                                 @Value("${reservation.idempotency.maximum-size:10000}") long maximumSize,
+                                 @Value("${reservation.idempotency.retention:24h}") Duration retention) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.idempotencyKeys = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(retention)
+                .build();
+        this.retention = retention;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Long> findReservationId(final String idempotencyKey, final Reservation reservation) {
+        return findIdempotencyKey(idempotencyKey)
+                .map(existingIdempotencyKey -> {
+                    if (!existingIdempotencyKey.getRequestHash().equals(hashRequest(reservation))) {
+                        throw new IdempotencyKeyReusedException();
+                    }
+
+                    return existingIdempotencyKey.getReservationId();
+                });
+    }
+
+    @Transactional(rollbackFor = SQLException.class)
+    public void create(final String idempotencyKey, final Reservation reservation) {
+        final IdempotencyKey createdIdempotencyKey = IdempotencyKey.builder()
+                .idempotencyKey(idempotencyKey)
+                .reservationId(reservation.getId())
+                .requestHash(hashRequest(reservation))
+                .createdDate(Instant.now())
+                .build();
+
+        idempotencyKeyRepository.insert(createdIdempotencyKey.getIdempotencyKey(), createdIdempotencyKey.getReservationId(),
+                createdIdempotencyKey.getRequestHash(), createdIdempotencyKey.getCreatedDate());
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            idempotencyKeys.put(idempotencyKey, createdIdempotencyKey);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                idempotencyKeys.put(idempotencyKey, createdIdempotencyKey);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${reservation.idempotency.purge-interval-millis:3600000}")
+    @Transactional(rollbackFor = SQLException.class)
+    public void purgeExpiredIdempotencyKeys() {
+        idempotencyKeyRepository.deleteCreatedBefore(Instant.now().minus(retention));
+    }
+
+    private Optional<IdempotencyKey> findIdempotencyKey(final String idempotencyKey) {
+        final IdempotencyKey cachedIdempotencyKey = idempotencyKeys.getIfPresent(idempotencyKey);
+
+        if (cachedIdempotencyKey != null) {
+            if (!isExpired(cachedIdempotencyKey)) {
+                return Optional.of(cachedIdempotencyKey);
+            }
+
+            idempotencyKeys.invalidate(idempotencyKey);
+            return Optional.empty();
+        }
+
+        final Optional<IdempotencyKey> storedIdempotencyKey = idempotencyKeyRepository.findById(idempotencyKey)
+                .filter(existingIdempotencyKey -> !isExpired(existingIdempotencyKey));
+        storedIdempotencyKey.ifPresent(existingIdempotencyKey -> idempotencyKeys.put(idempotencyKey, existingIdempotencyKey));
+
+        return storedIdempotencyKey;
+    }
+
+    private boolean isExpired(final IdempotencyKey idempotencyKey) {
+        return !idempotencyKey.getCreatedDate().plus(retention).isAfter(Instant.now());
+    }
+
+    private String hashRequest(final Reservation reservation) {
+        final String request = Stream.of(reservation.getGuestEmail(), reservation.getFirstName(), reservation.getLastName(),
+                        reservation.getArrivalDate(), reservation.getDepartureDate())
+                .map(Objects::toString)
+                .collect(Collectors.joining("\n"));
+
+        return DigestUtils.md5DigestAsHex(request.getBytes(StandardCharsets.UTF_8));
+    }
+}
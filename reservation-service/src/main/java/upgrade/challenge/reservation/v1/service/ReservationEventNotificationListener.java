@@ -0,0 +1,109 @@
+package upgrade.challenge.reservation.v1.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import upgrade.challenge.reservation.repository.ReservationEventRepository;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.ThreadFactory;
+
+@Slf4j
+@Component
+public class ReservationEventNotificationListener implements SmartLifecycle {
+
+    private static final int NOTIFICATION_TIMEOUT_MILLIS = 1_000;
+
+    private final DataSourceProperties dataSourceProperties;
+    private final ReservationEventRelay reservationEventRelay;
+    private final boolean enabled;
+    private final Duration reconnectDelay;
+    private final ObjectProvider<ThreadFactory> virtualThreadFactory;
+
+    private volatile Thread listenerThread;
+
+    @Autowired
+    public ReservationEventNotificationListener(DataSourceProperties dataSourceProperties,
+                                                ReservationEventRelay reservationEventRelay,
+                                                @Value("${reservation.outbox.listen-enabled:true}") boolean enabled,
+                                                @Value("${reservation.outbox.listen-reconnect-delay:5s}") Duration reconnectDelay,
+                                                @Qualifier("virtualThreadFactory") ObjectProvider<ThreadFactory> virtualThreadFactory) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.reservationEventRelay = reservationEventRelay;
+        this.enabled = enabled;
+        this.reconnectDelay = reconnectDelay;
+        this.virtualThreadFactory = virtualThreadFactory;
+    }
+
+    @Override
+    public void start() {
+        if (enabled) {
+            listenerThread = virtualThreadFactory.getIfAvailable(() -> Thread::new).newThread(this::listen);
+            listenerThread.setName("reservation-event-listener");
+            listenerThread.setDaemon(true);
+            listenerThread.start();
+        }
+    }
+
+    @Override
+    public void stop() {
+        final Thread thread = listenerThread;
+        listenerThread = null;
+
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return listenerThread != null;
+    }
+
+    private void listen() {
+        while (isListening()) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+                 Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + ReservationEventRepository.NOTIFICATION_CHANNEL);
+                final PGConnection pgConnection = connection.unwrap(PGConnection.class);
+
+                reservationEventRelay.requestRelay();
+
+                while (isListening()) {
+                    final PGNotification[] notifications = pgConnection.getNotifications(NOTIFICATION_TIMEOUT_MILLIS);
+
+                    if (notifications != null && notifications.length > 0) {
+                        reservationEventRelay.requestRelay();
+                    }
+                }
+            } catch (SQLException e) {
+                log.warn("Lost the reservation event notification connection, reconnecting in {}", reconnectDelay, e);
+                sleep(reconnectDelay);
+            }
+        }
+    }
+
+    private boolean isListening() {
+        return listenerThread == Thread.currentThread() && !Thread.currentThread().isInterrupted();
+    }
+
+    private void sleep(final Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
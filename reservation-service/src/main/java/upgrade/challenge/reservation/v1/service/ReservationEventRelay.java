@@ -0,0 +1,68 @@
+package upgrade.challenge.reservation.v1.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Slf4j
+@Component
+public class ReservationEventRelay implements DisposableBean {
+
+    private final ReservationEventService reservationEventService;
+    private final int batchSize;
+    private final ExecutorService relayExecutor;
+    private final AtomicBoolean relayRequested = new AtomicBoolean();
+
+    @Autowired
+    public ReservationEventRelay(ReservationEventService reservationEventService,
+                                 @Value("${reservation.outbox.batch-size:100}") int batchSize,
+                                 @Qualifier("virtualThreadFactory") ObjectProvider<ThreadFactory> virtualThreadFactory) {
+        this.reservationEventService = reservationEventService;
+        this.batchSize = batchSize;
+        this.relayExecutor = Executors.newSingleThreadExecutor(virtualThreadFactory.getIfAvailable(() -> runnable -> {
+            final Thread thread = new Thread(runnable, "reservation-event-relay");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    @Scheduled(fixedDelayString = "${reservation.outbox.poll-interval-millis:5000}")
+    public void requestRelay() {
+        if (relayRequested.compareAndSet(false, true)) {
+            relayExecutor.execute(this::relayRequestedEvents);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        relayExecutor.shutdownNow();
+    }
+
+    private void relayRequestedEvents() {
+        relayRequested.set(false);
+
+        try {
+            relayUnpublishedEvents();
+        } catch (RuntimeException e) {
+            log.warn("Failed to relay reservation events", e);
+        }
+    }
+
+    private void relayUnpublishedEvents() {
+        int publishedCount;
+
+        do {
+            publishedCount = reservationEventService.publishUnpublishedEvents(batchSize);
+        } while (publishedCount == batchSize);
+    }
+}
@@ -8,24 +8,50 @@ import upgrade.challenge.reservation.repository.ReservationEventRepository;
 import upgrade.challenge.reservation.v1.messaging.publisher.EventMessagePublisher;
 
 import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
 
 @Service
 public class ReservationEventService {
 
     private final EventMessagePublisher eventMessagePublisher;
     private final ReservationEventRepository reservationEventRepository;
+    private final ReservationSagaTracker reservationSagaTracker;
 
     @Autowired
     public ReservationEventService(EventMessagePublisher eventMessagePublisher,
-                                   ReservationEventRepository reservationEventRepository) {
+                                   ReservationEventRepository reservationEventRepository,
+                                   ReservationSagaTracker reservationSagaTracker) {
         this.eventMessagePublisher = eventMessagePublisher;
         this.reservationEventRepository = reservationEventRepository;
+        this.reservationSagaTracker = reservationSagaTracker;
     }
 
-    // TODO: 2022-01-26 Replace with outbox table pattern
     @Transactional(rollbackFor = SQLException.class)
     public void create(final ReservationEvent reservationEvent) {
         reservationEventRepository.save(reservationEvent);
-        eventMessagePublisher.publishEvent(reservationEvent.getPayload(), reservationEvent.getEventType());
+        reservationEventRepository.notifyReservationEventCreated();
+    }
+
+    @Transactional(rollbackFor = SQLException.class)
+    public int publishUnpublishedEvents(final int batchSize) {
+        final List<ReservationEvent> unpublishedEvents = reservationEventRepository.findUnpublishedForUpdate(batchSize);
+
+        if (unpublishedEvents.isEmpty()) {
+            return 0;
+        }
+
+        final List<Long> publishedEventIds = eventMessagePublisher.publishEvents(unpublishedEvents);
+
+        if (!publishedEventIds.isEmpty()) {
+            final Instant publishedDate = Instant.now();
+            reservationEventRepository.markPublished(publishedEventIds, publishedDate);
+            reservationSagaTracker.published(unpublishedEvents.stream()
+                    .filter(reservationEvent -> publishedEventIds.contains(reservationEvent.getId()))
+                    .collect(Collectors.toList()), publishedDate);
+        }
+
+        return publishedEventIds.size();
     }
 }
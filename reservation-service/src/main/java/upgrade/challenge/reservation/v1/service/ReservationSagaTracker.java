@@ -0,0 +1,99 @@
+package upgrade.challenge.reservation.v1.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import upgrade.challenge.reservation.domain.EventType;
+import upgrade.challenge.reservation.domain.Reservation;
+import upgrade.challenge.reservation.domain.ReservationEvent;
+import upgrade.challenge.reservation.domain.ReservationStatus;
+import upgrade.challenge.reservation.repository.ReservationRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+@Component
+public class ReservationSagaTracker {
+
+    public static final Set<ReservationStatus> PENDING_STATUSES =
+            Set.of(ReservationStatus.RESERVATION_PENDING, ReservationStatus.RESERVATION_CHANGE_PENDING);
+
+    private static final Set<EventType> SAGA_EVENT_TYPES = Set.of(EventType.RESERVATION_CREATED, EventType.RESERVATION_MODIFIED);
+
+    private final ReservationRepository reservationRepository;
+    private final MeterRegistry meterRegistry;
+    private final Duration stuckThreshold;
+    private final AtomicLong stuckReservationCount = new AtomicLong();
+
+    @Autowired
+    public ReservationSagaTracker(ReservationRepository reservationRepository,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${reservation.saga.stuck-threshold:1m}") Duration stuckThreshold) {
+        this.reservationRepository = reservationRepository;
+        this.meterRegistry = meterRegistry;
+        this.stuckThreshold = stuckThreshold;
+
+        meterRegistry.gauge("reservation.saga.stuck", Tags.empty(), stuckReservationCount);
+    }
+
+    public Duration getStuckThreshold() {
+        return stuckThreshold;
+    }
+
+    public void start(final Reservation reservation) {
+        reservation.setSagaStartedDate(Instant.now())
+                .setSagaPublishedDate(null)
+                .setSagaValidatedDate(null)
+                .setSagaCompletedDate(null);
+    }
+
+    public void published(final List<ReservationEvent> publishedEvents, final Instant publishedDate) {
+        final List<ReservationEvent> sagaEvents = publishedEvents.stream()
+                .filter(reservationEvent -> SAGA_EVENT_TYPES.contains(reservationEvent.getEventType()))
+                .collect(Collectors.toList());
+
+        if (sagaEvents.isEmpty()) {
+            return;
+        }
+
+        reservationRepository.markSagaPublished(sagaEvents.stream()
+                .map(ReservationEvent::getAggregateId)
+                .collect(Collectors.toList()), publishedDate);
+        sagaEvents.forEach(reservationEvent -> recordStage("published", reservationEvent.getCreatedDate(), publishedDate));
+    }
+
+    public void complete(final Reservation reservation, final Instant validatedDate) {
+        final Instant completedDate = Instant.now();
+        reservation.setSagaValidatedDate(validatedDate)
+                .setSagaCompletedDate(completedDate);
+
+        recordStage("validated", reservation.getSagaPublishedDate(), validatedDate);
+        recordStage("completed", validatedDate, completedDate);
+
+        if (reservation.getSagaStartedDate() != null) {
+            meterRegistry.timer("reservation.saga.duration", "outcome",
+                            ReservationStatus.RESERVATION_CONFIRMED.equals(reservation.getStatus()) ? "confirmed" : "rejected")
+                    .record(Duration.between(reservation.getSagaStartedDate(), completedDate));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${reservation.saga.stuck-refresh-millis:10000}")
+    public void refreshStuckReservationCount() {
+        stuckReservationCount.set(reservationRepository
+                .countByStatusInAndSagaStartedDateBefore(PENDING_STATUSES, Instant.now().minus(stuckThreshold)));
+    }
+
+    private void recordStage(final String stage, final Instant stageStartDate, final Instant stageEndDate) {
+        if (stageStartDate != null && stageEndDate != null) {
+            meterRegistry.timer("reservation.saga.stage", "stage", stage)
+                    .record(Duration.between(stageStartDate, stageEndDate));
+        }
+    }
+}
@@ -1,54 +1,81 @@
 package upgrade.challenge.reservation.v1.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.CollectionUtils;
 import org.springframework.validation.BeanPropertyBindingResult;
 import upgrade.challenge.reservation.domain.EventType;
 import upgrade.challenge.reservation.domain.Reservation;
+import upgrade.challenge.reservation.domain.ReservationCursor;
 import upgrade.challenge.reservation.domain.ReservationStatus;
+import upgrade.challenge.reservation.domain.ReservationSummary;
 import upgrade.challenge.reservation.exception.NotFoundException;
 import upgrade.challenge.reservation.exception.ValidationException;
 import upgrade.challenge.reservation.repository.ReservationRepository;
 import upgrade.challenge.reservation.validator.ReservationValidator;
 
 import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class ReservationService {
 
+    private final IdempotencyKeyService idempotencyKeyService;
     private final ReservationEventFactory reservationEventFactory;
     private final ReservationEventService reservationEventService;
     private final ReservationRepository reservationRepository;
+    private final ReservationSagaTracker reservationSagaTracker;
     private final ReservationValidator reservationValidator;
 
     @Autowired
-    public ReservationService(ReservationEventFactory reservationEventFactory,
+    public ReservationService(IdempotencyKeyService idempotencyKeyService,
+                              ReservationEventFactory reservationEventFactory,
                               ReservationEventService reservationEventService,
                               ReservationRepository reservationRepository,
+                              ReservationSagaTracker reservationSagaTracker,
                               ReservationValidator reservationValidator) {
+        this.idempotencyKeyService = idempotencyKeyService;
         this.reservationEventFactory = reservationEventFactory;
         this.reservationEventService = reservationEventService;
         this.reservationRepository = reservationRepository;
+        this.reservationSagaTracker = reservationSagaTracker;
         this.reservationValidator = reservationValidator;
     }
 
     @Transactional(rollbackFor = {SQLException.class})
-    public void confirmReservation(final Long id) {
+    public void confirmReservation(final Long id, final Instant validatedDate) {
         reservationRepository.findById(id)
-                .map(this::confirmReservation)
+                .map(reservation -> confirmReservation(reservation, validatedDate))
                 .orElseThrow(NotFoundException::new);
     }
 
     @Transactional(rollbackFor = {SQLException.class})
     public Reservation createReservation(final Reservation reservation) {
         validateReservation(reservation);
+        reservationSagaTracker.start(reservation);
 
         return saveAndPublishReservationEvent(reservation, EventType.RESERVATION_CREATED);
     }
 
+    @Transactional(rollbackFor = {SQLException.class})
+    public Reservation createReservation(final Reservation reservation, final String idempotencyKey) {
+        return findReservationByIdempotencyKey(idempotencyKey, reservation)
+                .orElseGet(() -> {
+                    final Reservation createdReservation = createReservation(reservation);
+                    idempotencyKeyService.create(idempotencyKey, createdReservation);
+
+                    return createdReservation;
+                });
+    }
+
     @Transactional(rollbackFor = {SQLException.class})
     public void cancelReservation(final Long id) {
         reservationRepository.findById(id)
@@ -56,8 +83,28 @@ public class ReservationService {
     }
 
     @Transactional(readOnly = true)
-    public List<Reservation> getAllReservationsByEmail(final String email) {
-        return reservationRepository.findAllByGuestEmailOrderByCreatedDateDesc(email);
+    public List<ReservationSummary> getReservationsByEmail(final String email, final ReservationCursor cursor, final int limit) {
+        final Pageable firstPage = PageRequest.of(0, limit);
+
+        try (Stream<ReservationSummary> reservationSummaries = cursor == null
+                ? reservationRepository.streamSummariesByGuestEmail(email, firstPage)
+                : reservationRepository.streamSummariesByGuestEmailAfter(email, cursor.getCreatedDate(), cursor.getId(), firstPage)) {
+            return reservationSummaries.collect(Collectors.toList());
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Reservation> findReservationByIdempotencyKey(final String idempotencyKey, final Reservation reservation) {
+        return idempotencyKeyService.findReservationId(idempotencyKey, reservation)
+                .map(id -> reservationRepository.findById(id).orElseThrow(NotFoundException::new));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Reservation> getStuckReservations(final Duration pendingFor) {
+        final Duration stuckThreshold = pendingFor == null ? reservationSagaTracker.getStuckThreshold() : pendingFor;
+
+        return reservationRepository.findTop100ByStatusInAndSagaStartedDateBeforeOrderBySagaStartedDate(
+                ReservationSagaTracker.PENDING_STATUSES, Instant.now().minus(stuckThreshold));
     }
 
     @Transactional(rollbackFor = {SQLException.class})
@@ -68,9 +115,9 @@ public class ReservationService {
     }
 
     @Transactional(rollbackFor = {SQLException.class})
-    public Reservation rollbackReservation(final Long id) {
+    public Reservation rollbackReservation(final Long id, final Instant validatedDate) {
         return reservationRepository.findById(id)
-                .map(this::rollbackReservation)
+                .map(reservation -> rollbackReservation(reservation, validatedDate))
                 .orElseThrow(NotFoundException::new);
     }
 
@@ -101,8 +148,9 @@ public class ReservationService {
         }
     }
 
-    private Reservation confirmReservation(final Reservation reservation) {
+    private Reservation confirmReservation(final Reservation reservation, final Instant validatedDate) {
         reservation.setStatus(ReservationStatus.RESERVATION_CONFIRMED);
+        reservationSagaTracker.complete(reservation, validatedDate);
         return reservationRepository.save(reservation);
     }
 
@@ -114,6 +162,7 @@ public class ReservationService {
             existingReservation.setStatus(ReservationStatus.RESERVATION_CHANGE_PENDING);
 
             validateReservation(existingReservation);
+            reservationSagaTracker.start(existingReservation);
 
             return saveAndPublishReservationEvent(existingReservation, EventType.RESERVATION_MODIFIED);
         }
@@ -121,8 +170,9 @@ public class ReservationService {
         return existingReservation;
     }
 
-    private Reservation rollbackReservation(final Reservation reservation) {
+    private Reservation rollbackReservation(final Reservation reservation, final Instant validatedDate) {
         reservation.setStatus(ReservationStatus.RESERVATION_REJECTED);
+        reservationSagaTracker.complete(reservation, validatedDate);
 
         return reservationRepository.save(reservation);
     }
@@ -1,14 +1,23 @@
 package upgrade.challenge.reservation.v1.v1.adapter;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 import upgrade.challenge.reservation.domain.Reservation;
+import upgrade.challenge.reservation.domain.ReservationCursor;
+import upgrade.challenge.reservation.domain.ReservationSummary;
+import upgrade.challenge.reservation.exception.InvalidRequestParameterException;
 import upgrade.challenge.reservation.v1.service.ReservationService;
 import upgrade.challenge.reservation.v1.v1.dto.ReservationDto;
+import upgrade.challenge.reservation.v1.v1.dto.ReservationPageDto;
 import upgrade.challenge.reservation.v1.v1.dto.ReservationResponseDto;
+import upgrade.challenge.reservation.v1.v1.dto.ReservationSagaDto;
 import upgrade.challenge.reservation.v1.v1.dto.UpdateReservationDatesDto;
 import upgrade.challenge.reservation.v1.v1.mapper.ReservationMapper;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -18,13 +27,22 @@ import static org.springframework.util.Assert.notNull;
 @Component
 public class ReservationAdapter {
 
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
     private final ReservationMapper reservationMapper;
     private final ReservationService reservationService;
+    private final int pageSize;
+    private final int maxPageSize;
 
     @Autowired
-    public ReservationAdapter(ReservationMapper reservationMapper, ReservationService reservationService) {
+    public ReservationAdapter(ReservationMapper reservationMapper,
+                              ReservationService reservationService,
+                              @Value("${reservation.search.page-size:100}") int pageSize,
+                              @Value("${reservation.search.max-page-size:1000}") int maxPageSize) {
         this.reservationMapper = reservationMapper;
         this.reservationService = reservationService;
+        this.pageSize = pageSize;
+        this.maxPageSize = maxPageSize;
     }
 
     public void deleteReservation(final Long id) {
@@ -33,21 +51,42 @@ public class ReservationAdapter {
         reservationService.cancelReservation(id);
     }
 
-    public List<ReservationResponseDto> getAllReservationsByEmail(final String email) {
+    public ReservationPageDto getReservationsByEmail(final String email, final String cursor, final Integer limit) {
         hasText(email, "The email parameter is mandatory.");
+        if (limit != null && limit <= 0) {
+            throw new InvalidRequestParameterException("The limit parameter must be positive.");
+        }
+
+        final int pageLimit = limit == null ? pageSize : Math.min(limit, maxPageSize);
+        final List<ReservationSummary> reservationSummaries = reservationService
+                .getReservationsByEmail(email, reservationMapper.mapToCursor(cursor), pageLimit);
+
+        return ReservationPageDto.builder()
+                .reservations(reservationSummaries.stream()
+                        .map(reservationMapper::mapToDto)
+                        .collect(Collectors.toList()))
+                .nextCursor(reservationSummaries.size() < pageLimit ? null : reservationMapper
+                        .mapToCursorToken(ReservationCursor.after(reservationSummaries.get(reservationSummaries.size() - 1))))
+                .build();
+    }
 
-        return reservationService.getAllReservationsByEmail(email).stream()
-                .map(reservationMapper::mapToDto)
+    public List<ReservationSagaDto> getStuckReservations(final Long pendingForSeconds) {
+        return reservationService.getStuckReservations(pendingForSeconds == null ? null : Duration.ofSeconds(pendingForSeconds)).stream()
+                .map(reservationMapper::mapToSagaDto)
                 .collect(Collectors.toList());
     }
 
-    public ReservationResponseDto makeReservation(final ReservationDto reservationDto) {
+    public ReservationResponseDto makeReservation(final ReservationDto reservationDto, final String idempotencyKey) {
         notNull(reservationDto, "The reservationDto is mandatory.");
+        if (idempotencyKey != null && (!StringUtils.hasText(idempotencyKey) || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH)) {
+            throw new InvalidRequestParameterException("The Idempotency-Key header must be between 1 and 255 characters long.");
+        }
 
-        final Reservation reservation = reservationService
-                .createReservation(reservationMapper.mapToEntity(reservationDto));
+        final Reservation reservation = reservationMapper.mapToEntity(reservationDto);
 
-        return reservationMapper.mapToDto(reservation);
+        return reservationMapper.mapToDto(idempotencyKey == null
+                ? reservationService.createReservation(reservation)
+                : createReservation(reservation, idempotencyKey));
     }
 
     public ReservationResponseDto updateReservationDates(final Long id,
@@ -62,4 +101,13 @@ public class ReservationAdapter {
 
         return reservationMapper.mapToDto(reservation);
     }
+
+    private Reservation createReservation(final Reservation reservation, final String idempotencyKey) {
+        try {
+            return reservationService.createReservation(reservation, idempotencyKey);
+        } catch (DataIntegrityViolationException exception) {
+            return reservationService.findReservationByIdempotencyKey(idempotencyKey, reservation)
+                    .orElseThrow(() -> exception);
+        }
+    }
 }
@@ -0,0 +1,20 @@
+package upgrade.challenge.reservation.v1.v1.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Accessors(chain = true)
+public class ReservationPageDto {
+
+    private List<ReservationResponseDto> reservations;
+    private String nextCursor;
+}
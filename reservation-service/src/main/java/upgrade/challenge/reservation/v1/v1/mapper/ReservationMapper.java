@@ -2,13 +2,24 @@ package upgrade.challenge.reservation.v1.v1.mapper;
 
 import org.springframework.stereotype.Component;
 import upgrade.challenge.reservation.domain.Reservation;
+import upgrade.challenge.reservation.domain.ReservationCursor;
+import upgrade.challenge.reservation.domain.ReservationSummary;
+import upgrade.challenge.reservation.exception.InvalidRequestParameterException;
 import upgrade.challenge.reservation.v1.v1.dto.ReservationDto;
 import upgrade.challenge.reservation.v1.v1.dto.ReservationResponseDto;
+import upgrade.challenge.reservation.v1.v1.dto.ReservationSagaDto;
 import upgrade.challenge.reservation.v1.v1.dto.UpdateReservationDatesDto;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
 @Component
 public class ReservationMapper {
 
+    private static final String CURSOR_SEPARATOR = "_";
+
     public ReservationResponseDto mapToDto(final Reservation reservation) {
         return ReservationResponseDto.builder()
                 .reservationId(reservation.getId().toString())
@@ -19,6 +30,48 @@ public class ReservationMapper {
                 .build();
     }
 
+    public ReservationResponseDto mapToDto(final ReservationSummary reservationSummary) {
+        return ReservationResponseDto.builder()
+                .reservationId(reservationSummary.getId().toString())
+                .status(reservationSummary.getStatus().toString())
+                .arrivalDate(reservationSummary.getArrivalDate())
+                .departureDate(reservationSummary.getDepartureDate())
+                .reservationCreationDate(reservationSummary.getCreatedDate())
+                .build();
+    }
+
+    public String mapToCursorToken(final ReservationCursor reservationCursor) {
+        final String cursor = reservationCursor.getCreatedDate() + CURSOR_SEPARATOR + reservationCursor.getId();
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public ReservationCursor mapToCursor(final String cursorToken) {
+        if (cursorToken == null) {
+            return null;
+        }
+
+        try {
+            final String[] cursor = new String(Base64.getUrlDecoder().decode(cursorToken), StandardCharsets.UTF_8)
+                    .split(CURSOR_SEPARATOR, 2);
+
+            return new ReservationCursor(Instant.parse(cursor[0]), Long.valueOf(cursor[1]));
+        } catch (IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException exception) {
+            throw new InvalidRequestParameterException("The cursor parameter is invalid.", exception);
+        }
+    }
+
+    public ReservationSagaDto mapToSagaDto(final Reservation reservation) {
+        return ReservationSagaDto.builder()
+                .reservationId(reservation.getId().toString())
+                .status(reservation.getStatus().toString())
+                .sagaStartedDate(reservation.getSagaStartedDate())
+                .sagaPublishedDate(reservation.getSagaPublishedDate())
+                .sagaValidatedDate(reservation.getSagaValidatedDate())
+                .sagaCompletedDate(reservation.getSagaCompletedDate())
+                .build();
+    }
+
     public Reservation mapToEntity(final ReservationDto reservationDto) {
         return Reservation.builder()
                 .guestEmail(reservationDto.getGuestEmail())
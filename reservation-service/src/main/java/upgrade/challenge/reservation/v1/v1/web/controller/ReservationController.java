@@ -2,10 +2,13 @@ package upgrade.challenge.reservation.v1.v1.web.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import upgrade.challenge.reservation.v1.v1.adapter.ReservationAdapter;
 import upgrade.challenge.reservation.v1.v1.dto.ReservationDto;
+import upgrade.challenge.reservation.v1.v1.dto.ReservationPageDto;
 import upgrade.challenge.reservation.v1.v1.dto.ReservationResponseDto;
+import upgrade.challenge.reservation.v1.v1.dto.ReservationSagaDto;
 import upgrade.challenge.reservation.v1.v1.dto.UpdateReservationDatesDto;
 
 import javax.validation.Valid;
@@ -15,6 +18,9 @@ import java.util.List;
 @RequestMapping("/api/reservation/v1.1")
 public class ReservationController {
 
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final ReservationAdapter reservationAdapter;
 
     @Autowired
@@ -23,14 +29,29 @@ public class ReservationController {
     }
 
     @GetMapping
-    public List<ReservationResponseDto> getAllReservationsByEmail(final @RequestParam("email") String email) {
-        return reservationAdapter.getAllReservationsByEmail(email);
+    public ResponseEntity<List<ReservationResponseDto>> getReservationsByEmail(final @RequestParam("email") String email,
+                                                                               final @RequestParam(value = "cursor", required = false) String cursor,
+                                                                               final @RequestParam(value = "limit", required = false) Integer limit) {
+        final ReservationPageDto reservationPageDto = reservationAdapter.getReservationsByEmail(email, cursor, limit);
+        final ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.ok();
+
+        if (reservationPageDto.getNextCursor() != null) {
+            responseBuilder.header(NEXT_CURSOR_HEADER, reservationPageDto.getNextCursor());
+        }
+
+        return responseBuilder.body(reservationPageDto.getReservations());
+    }
+
+    @GetMapping("/stuck")
+    public List<ReservationSagaDto> getStuckReservations(final @RequestParam(value = "pendingForSeconds", required = false) Long pendingForSeconds) {
+        return reservationAdapter.getStuckReservations(pendingForSeconds);
     }
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public ReservationResponseDto makeReservation(final @Valid @RequestBody ReservationDto reservationDto) {
-        return reservationAdapter.makeReservation(reservationDto);
+    public ReservationResponseDto makeReservation(final @Valid @RequestBody ReservationDto reservationDto,
+                                                  final @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        return reservationAdapter.makeReservation(reservationDto, idempotencyKey);
     }
 
     @DeleteMapping("/{id}")
@@ -7,6 +7,8 @@ import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import upgrade.challenge.reservation.exception.IdempotencyKeyReusedException;
+import upgrade.challenge.reservation.exception.InvalidRequestParameterException;
 import upgrade.challenge.reservation.exception.NotFoundException;
 import upgrade.challenge.reservation.exception.ValidationException;
 
@@ -54,6 +56,22 @@ public class WebExceptionHandler {
                 .build();
     }
 
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    @ExceptionHandler(value = {InvalidRequestParameterException.class})
+    public ErrorMessage invalidRequestParameterExceptionHandler(final InvalidRequestParameterException exception) {
+        return ErrorMessage.builder()
+                .message(exception.getMessage())
+                .build();
+    }
+
+    @ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+    @ExceptionHandler(value = {IdempotencyKeyReusedException.class})
+    public ErrorMessage idempotencyKeyReusedExceptionHandler(final IdempotencyKeyReusedException exception) {
+        return ErrorMessage.builder()
+                .message(exception.getMessage())
+                .build();
+    }
+
     @ResponseStatus(HttpStatus.NOT_FOUND)
     @ExceptionHandler(value = {NotFoundException.class})
     public ErrorMessage notFoundExceptionHandler(final NotFoundException exception) {
@@ -0,0 +1,8 @@
+CREATE INDEX IF NOT EXISTS reservation_event_unpublished_idx ON reservation_event (id) WHERE published_at IS NULL;
+CREATE INDEX IF NOT EXISTS reservation_saga_pending_idx ON reservation (saga_started_date)
+    WHERE status IN ('RESERVATION_PENDING', 'RESERVATION_CHANGE_PENDING');
+DROP INDEX IF EXISTS guest_email_idx;
+SELECT setval('reservation_id_seq', max_id) FROM (SELECT MAX(id) AS max_id FROM reservation) reservation_ids
+    WHERE max_id > (SELECT last_value FROM reservation_id_seq);
+SELECT setval('reservation_event_id_seq', max_id) FROM (SELECT MAX(id) AS max_id FROM reservation_event) reservation_event_ids
+    WHERE max_id > (SELECT last_value FROM reservation_event_id_seq);
@@ -0,0 +1,145 @@
+package upgrade.challenge.reservation.v1.messaging.publisher;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import upgrade.challenge.common.messaging.converter.Jackson2CborMessageConverter;
+import upgrade.challenge.reservation.domain.EventType;
+import upgrade.challenge.reservation.domain.ReservationEvent;
+import upgrade.challenge.reservation.v1.messaging.eventmessage.ReservationCancelledEvent;
+import upgrade.challenge.reservation.v1.messaging.eventmessage.ReservationDateSelectionEvent;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EventMessagePublisherTest {
+
+    private static final String PAYLOAD = "{\"reservationId\":123456789}";
+    private static final String DATE_SELECTION_PAYLOAD =
+            "{\"reservationId\":123456789,\"arrivalDate\":\"2022-02-02T12:00:00Z\",\"departureDate\":\"2022-02-03T19:01:00Z\"}";
+
+    private EventMessagePublisher testee;
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        testee = buildEventMessagePublisher("application/json");
+    }
+
+    @Test
+    void publishEvents_shouldSendStoredPayloadAndReturnConfirmedEventIds() {
+        final ArgumentCaptor<Message> messageArgumentCaptor = ArgumentCaptor.forClass(Message.class);
+
+        when(rabbitTemplate.getExchange()).thenReturn("");
+        doAnswer(invocation -> {
+            final CorrelationData correlationData = invocation.getArgument(3);
+            correlationData.getFuture().set(new CorrelationData.Confirm("1".equals(correlationData.getId()), null));
+            return null;
+        }).when(rabbitTemplate).send(eq(""), eq("event.reservation.cancelled"), messageArgumentCaptor.capture(), any());
+
+        final List<Long> actual = testee.publishEvents(List.of(buildReservationEvent(1L), buildReservationEvent(2L)));
+
+        assertThat(actual).containsExactly(1L);
+
+        final Message message = messageArgumentCaptor.getAllValues().get(0);
+        assertThat(new String(message.getBody(), StandardCharsets.UTF_8)).isEqualTo(PAYLOAD);
+        assertThat(message.getMessageProperties().getContentType()).isEqualTo("application/json");
+        assertThat(message.getMessageProperties().getMessageId()).isEqualTo("reservation-event-1");
+        assertThat(message.getMessageProperties().<String>getHeader("__TypeId__")).isEqualTo(ReservationCancelledEvent.class.getName());
+        assertThat(meterRegistry.get("reservation.publisher.latency")
+                .tags("queue", "event.reservation.cancelled", "result", "confirmed")
+                .timer().count()).isEqualTo(1L);
+        assertThat(meterRegistry.get("reservation.publisher.latency")
+                .tags("queue", "event.reservation.cancelled", "result", "unconfirmed")
+                .timer().count()).isEqualTo(1L);
+    }
+
+    @Test
+    void publishEvents_withUnconfirmedEvent_shouldStopAtFirstUnconfirmedEvent() {
+        when(rabbitTemplate.getExchange()).thenReturn("");
+        doAnswer(invocation -> {
+            final CorrelationData correlationData = invocation.getArgument(3);
+            correlationData.getFuture().set(new CorrelationData.Confirm(!"2".equals(correlationData.getId()), null));
+            return null;
+        }).when(rabbitTemplate).send(eq(""), eq("event.reservation.cancelled"), any(Message.class), any());
+
+        final List<Long> actual = testee.publishEvents(List.of(buildReservationEvent(1L), buildReservationEvent(2L), buildReservationEvent(3L)));
+
+        assertThat(actual).containsExactly(1L);
+    }
+
+    @Test
+    void publishEvents_withCborContentType_shouldTranscodePayloadWithEpochMillisInstants() throws Exception {
+        final ArgumentCaptor<Message> messageArgumentCaptor = ArgumentCaptor.forClass(Message.class);
+        final ReservationEvent reservationEvent = buildReservationEvent(1L)
+                .setEventType(EventType.RESERVATION_CREATED)
+                .setPayload(DATE_SELECTION_PAYLOAD);
+
+        testee = buildEventMessagePublisher("application/cbor");
+
+        when(rabbitTemplate.getExchange()).thenReturn("");
+        doAnswer(invocation -> {
+            final CorrelationData correlationData = invocation.getArgument(3);
+            correlationData.getFuture().set(new CorrelationData.Confirm(true, null));
+            return null;
+        }).when(rabbitTemplate).send(eq(""), eq("event.reservation.created"), messageArgumentCaptor.capture(), any());
+
+        final List<Long> actual = testee.publishEvents(List.of(reservationEvent));
+
+        assertThat(actual).containsExactly(1L);
+
+        final Message message = messageArgumentCaptor.getValue();
+        final Map<?, ?> body = new ObjectMapper(new CBORFactory()).readValue(message.getBody(), Map.class);
+        assertThat(message.getMessageProperties().getContentType()).isEqualTo("application/cbor");
+        assertThat(message.getMessageProperties().<String>getHeader("__TypeId__")).isEqualTo(ReservationDateSelectionEvent.class.getName());
+        assertThat(((Number) body.get("reservationId")).longValue()).isEqualTo(123456789L);
+        assertThat(((Number) body.get("arrivalDate")).longValue()).isEqualTo(1643803200000L);
+        assertThat(((Number) body.get("departureDate")).longValue()).isEqualTo(1643914860000L);
+    }
+
+    private EventMessagePublisher buildEventMessagePublisher(final String contentType) {
+        return new EventMessagePublisher(
+                Map.of(EventType.RESERVATION_CANCELLED, ReservationCancelledEvent.class,
+                        EventType.RESERVATION_CREATED, ReservationDateSelectionEvent.class),
+                Map.of(EventType.RESERVATION_CANCELLED, new Queue("event.reservation.cancelled"),
+                        EventType.RESERVATION_CREATED, new Queue("event.reservation.created")),
+                rabbitTemplate,
+                new Jackson2CborMessageConverter(),
+                meterRegistry,
+                Duration.ofMillis(100L),
+                contentType);
+    }
+
+    private ReservationEvent buildReservationEvent(final Long id) {
+        return ReservationEvent.builder()
+                .id(id)
+                .aggregateId(123456789L)
+                .eventType(EventType.RESERVATION_CANCELLED)
+                .payload(PAYLOAD)
+                .build();
+    }
+}
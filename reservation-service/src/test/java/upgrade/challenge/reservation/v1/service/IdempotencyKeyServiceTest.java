@@ -0,0 +1,141 @@
+package upgrade.challenge.reservation.v1.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import upgrade.challenge.reservation.domain.IdempotencyKey;
+import upgrade.challenge.reservation.domain.Reservation;
+import upgrade.challenge.reservation.exception.IdempotencyKeyReusedException;
+import upgrade.challenge.reservation.repository.IdempotencyKeyRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyKeyServiceTest {
+
+    private static final String IDEMPOTENCY_KEY = "8e03978e-40d5-43e8-bc93-6894a57f9324";
+    private static final Long RESERVATION_ID = 123456789L;
+
+    private IdempotencyKeyService testee;
+
+    @Mock
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    private Reservation reservation;
+
+    @BeforeEach
+    void setUp() {
+        testee = new IdempotencyKeyService(idempotencyKeyRepository, 100L, Duration.ofHours(24L));
+        reservation = buildReservation();
+    }
+
+    @Test
+    void findReservationId_withUnknownKey_shouldReturnEmpty() {
+        when(idempotencyKeyRepository.findById(IDEMPOTENCY_KEY)).thenReturn(Optional.empty());
+
+        final Optional<Long> actual = testee.findReservationId(IDEMPOTENCY_KEY, reservation);
+
+        assertThat(actual).isEmpty();
+    }
+
+    @Test
+    void create_shouldRecordKeyAndServeReplaysFromCache() {
+        final ArgumentCaptor<String> requestHashArgumentCaptor = ArgumentCaptor.forClass(String.class);
+
+        testee.create(IDEMPOTENCY_KEY, reservation);
+
+        final Optional<Long> actual = testee.findReservationId(IDEMPOTENCY_KEY, buildReservation());
+
+        assertThat(actual).contains(RESERVATION_ID);
+
+        verify(idempotencyKeyRepository).insert(eq(IDEMPOTENCY_KEY), eq(RESERVATION_ID), requestHashArgumentCaptor.capture(), any(Instant.class));
+        verify(idempotencyKeyRepository, never()).findById(anyString());
+        assertThat(requestHashArgumentCaptor.getValue()).hasSize(32);
+    }
+
+    @Test
+    void findReservationId_withStoredKey_shouldQueryRepositoryOnce() {
+        final ArgumentCaptor<String> requestHashArgumentCaptor = ArgumentCaptor.forClass(String.class);
+
+        testee.create("other-key", reservation);
+        verify(idempotencyKeyRepository).insert(eq("other-key"), eq(RESERVATION_ID), requestHashArgumentCaptor.capture(), any(Instant.class));
+
+        when(idempotencyKeyRepository.findById(IDEMPOTENCY_KEY))
+                .thenReturn(Optional.of(buildIdempotencyKey(requestHashArgumentCaptor.getValue())));
+
+        assertThat(testee.findReservationId(IDEMPOTENCY_KEY, reservation)).contains(RESERVATION_ID);
+        assertThat(testee.findReservationId(IDEMPOTENCY_KEY, reservation)).contains(RESERVATION_ID);
+
+        verify(idempotencyKeyRepository, times(1)).findById(IDEMPOTENCY_KEY);
+    }
+
+    @Test
+    void findReservationId_withStoredKeyOlderThanRetention_shouldReturnEmpty() {
+        final ArgumentCaptor<String> requestHashArgumentCaptor = ArgumentCaptor.forClass(String.class);
+
+        testee.create("other-key", reservation);
+        verify(idempotencyKeyRepository).insert(eq("other-key"), eq(RESERVATION_ID), requestHashArgumentCaptor.capture(), any(Instant.class));
+
+        when(idempotencyKeyRepository.findById(IDEMPOTENCY_KEY)).thenReturn(Optional.of(buildIdempotencyKey(requestHashArgumentCaptor.getValue())
+                .setCreatedDate(Instant.now().minus(Duration.ofHours(25L)))));
+
+        assertThat(testee.findReservationId(IDEMPOTENCY_KEY, reservation)).isEmpty();
+        assertThat(testee.findReservationId(IDEMPOTENCY_KEY, reservation)).isEmpty();
+
+        verify(idempotencyKeyRepository, times(2)).findById(IDEMPOTENCY_KEY);
+    }
+
+    @Test
+    void findReservationId_withDifferentRequest_shouldThrowException() {
+        testee.create(IDEMPOTENCY_KEY, reservation);
+
+        assertThatExceptionOfType(IdempotencyKeyReusedException.class)
+                .isThrownBy(() -> testee.findReservationId(IDEMPOTENCY_KEY, buildReservation().setFirstName("Other")))
+                .withMessage("The Idempotency-Key was already used for a different reservation.");
+    }
+
+    @Test
+    void purgeExpiredIdempotencyKeys_shouldDeleteKeysOlderThanRetention() {
+        final ArgumentCaptor<Instant> createdDateArgumentCaptor = ArgumentCaptor.forClass(Instant.class);
+
+        testee.purgeExpiredIdempotencyKeys();
+
+        verify(idempotencyKeyRepository).deleteCreatedBefore(createdDateArgumentCaptor.capture());
+        assertThat(createdDateArgumentCaptor.getValue()).isBefore(Instant.now().minus(Duration.ofHours(23L)));
+    }
+
+    private IdempotencyKey buildIdempotencyKey(final String requestHash) {
+        return IdempotencyKey.builder()
+                .idempotencyKey(IDEMPOTENCY_KEY)
+                .reservationId(RESERVATION_ID)
+                .requestHash(requestHash)
+                .createdDate(Instant.now())
+                .build();
+    }
+
+    private Reservation buildReservation() {
+        return Reservation.builder()
+                .id(RESERVATION_ID)
+                .guestEmail("email@test.com")
+                .firstName("First")
+                .lastName("Last")
+                .arrivalDate(Instant.parse("2022-02-02T12:00:00Z"))
+                .departureDate(Instant.parse("2022-02-03T19:01:00Z"))
+                .build();
+    }
+}
@@ -0,0 +1,81 @@
+package upgrade.challenge.reservation.v1.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationEventRelayTest {
+
+    private static final int BATCH_SIZE = 10;
+
+    private ReservationEventRelay testee;
+
+    @Mock
+    private ReservationEventService reservationEventService;
+
+    @BeforeEach
+    void setUp() {
+        testee = new ReservationEventRelay(reservationEventService, BATCH_SIZE,
+                new StaticListableBeanFactory().getBeanProvider(ThreadFactory.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        testee.destroy();
+    }
+
+    @Test
+    void requestRelay_shouldDrainFullBatches() {
+        when(reservationEventService.publishUnpublishedEvents(BATCH_SIZE)).thenReturn(BATCH_SIZE, BATCH_SIZE, 3);
+
+        testee.requestRelay();
+
+        verify(reservationEventService, timeout(1000L).times(3)).publishUnpublishedEvents(BATCH_SIZE);
+    }
+
+    @Test
+    void requestRelay_withPartialBatch_shouldStop() {
+        when(reservationEventService.publishUnpublishedEvents(BATCH_SIZE)).thenReturn(0);
+
+        testee.requestRelay();
+
+        verify(reservationEventService, timeout(1000L)).publishUnpublishedEvents(BATCH_SIZE);
+    }
+
+    @Test
+    void requestRelay_whileRelaying_shouldRunOneMoreRelay() throws InterruptedException {
+        final CountDownLatch relayStarted = new CountDownLatch(1);
+        final CountDownLatch releaseRelay = new CountDownLatch(1);
+
+        when(reservationEventService.publishUnpublishedEvents(BATCH_SIZE)).thenAnswer(invocation -> {
+            relayStarted.countDown();
+            releaseRelay.await(1L, TimeUnit.SECONDS);
+            return 0;
+        });
+
+        testee.requestRelay();
+        relayStarted.await(1L, TimeUnit.SECONDS);
+        testee.requestRelay();
+        testee.requestRelay();
+        testee.requestRelay();
+        releaseRelay.countDown();
+
+        verify(reservationEventService, timeout(1000L).times(2)).publishUnpublishedEvents(BATCH_SIZE);
+        Thread.sleep(100L);
+        verify(reservationEventService, times(2)).publishUnpublishedEvents(BATCH_SIZE);
+    }
+}
@@ -10,7 +10,16 @@ import upgrade.challenge.reservation.domain.ReservationEvent;
 import upgrade.challenge.reservation.repository.ReservationEventRepository;
 import upgrade.challenge.reservation.v1.messaging.publisher.EventMessagePublisher;
 
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class ReservationEventServiceTest {
@@ -23,11 +32,14 @@ class ReservationEventServiceTest {
     @Mock
     private ReservationEventRepository reservationEventRepository;
 
+    @Mock
+    private ReservationSagaTracker reservationSagaTracker;
+
     private ReservationEvent reservationEvent;
 
     @BeforeEach
     void setUp() {
-        testee = new ReservationEventService(eventMessagePublisher, reservationEventRepository);
+        testee = new ReservationEventService(eventMessagePublisher, reservationEventRepository, reservationSagaTracker);
         reservationEvent = buildReservationEvent();
     }
 
@@ -36,11 +48,41 @@ class ReservationEventServiceTest {
         testee.create(reservationEvent);
 
         verify(reservationEventRepository).save(reservationEvent);
-        verify(eventMessagePublisher).publishEvent("payload", EventType.RESERVATION_CREATED);
+        verify(reservationEventRepository).notifyReservationEventCreated();
+        verifyNoInteractions(eventMessagePublisher);
+    }
+
+    @Test
+    void publishUnpublishedEvents_shouldMarkConfirmedEventsAsPublished() {
+        final ReservationEvent otherReservationEvent = buildReservationEvent().setId(2L);
+
+        when(reservationEventRepository.findUnpublishedForUpdate(10)).thenReturn(List.of(reservationEvent, otherReservationEvent));
+        when(eventMessagePublisher.publishEvents(List.of(reservationEvent, otherReservationEvent))).thenReturn(List.of(1L));
+
+        final int actual = testee.publishUnpublishedEvents(10);
+
+        assertThat(actual).isEqualTo(1);
+
+        verify(reservationEventRepository).markPublished(eq(List.of(1L)), any(Instant.class));
+        verify(reservationSagaTracker).published(eq(List.of(reservationEvent)), any(Instant.class));
+    }
+
+    @Test
+    void publishUnpublishedEvents_withNothingToPublish_shouldNotPublish() {
+        when(reservationEventRepository.findUnpublishedForUpdate(10)).thenReturn(List.of());
+
+        final int actual = testee.publishUnpublishedEvents(10);
+
+        assertThat(actual).isEqualTo(0);
+
+        verifyNoInteractions(eventMessagePublisher);
+        verify(reservationEventRepository, never()).markPublished(any(), any());
+        verifyNoInteractions(reservationSagaTracker);
     }
 
     private ReservationEvent buildReservationEvent() {
         return ReservationEvent.builder()
+                .id(1L)
                 .payload("payload")
                 .aggregateId(123456789L)
                 .aggregateType("Reservation")
@@ -0,0 +1,127 @@
+package upgrade.challenge.reservation.v1.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import upgrade.challenge.reservation.domain.EventType;
+import upgrade.challenge.reservation.domain.Reservation;
+import upgrade.challenge.reservation.domain.ReservationEvent;
+import upgrade.challenge.reservation.domain.ReservationStatus;
+import upgrade.challenge.reservation.repository.ReservationRepository;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationSagaTrackerTest {
+
+    private static final Long RESERVATION_ID = 123456789L;
+
+    private ReservationSagaTracker testee;
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        testee = new ReservationSagaTracker(reservationRepository, meterRegistry, Duration.ofMinutes(1L));
+    }
+
+    @Test
+    void start_shouldResetSagaStages() {
+        final Reservation reservation = Reservation.builder()
+                .sagaPublishedDate(Instant.now())
+                .sagaValidatedDate(Instant.now())
+                .sagaCompletedDate(Instant.now())
+                .build();
+
+        testee.start(reservation);
+
+        assertThat(reservation.getSagaStartedDate()).isNotNull();
+        assertThat(reservation.getSagaPublishedDate()).isNull();
+        assertThat(reservation.getSagaValidatedDate()).isNull();
+        assertThat(reservation.getSagaCompletedDate()).isNull();
+    }
+
+    @Test
+    void published_shouldMarkSagaEventsAndRecordPublishedStage() {
+        final Instant publishedDate = Instant.now();
+        final ReservationEvent createdEvent = buildReservationEvent(EventType.RESERVATION_CREATED)
+                .setCreatedDate(publishedDate.minusMillis(250L));
+        final ReservationEvent cancelledEvent = buildReservationEvent(EventType.RESERVATION_CANCELLED)
+                .setAggregateId(987654321L)
+                .setCreatedDate(publishedDate.minusMillis(250L));
+
+        testee.published(List.of(createdEvent, cancelledEvent), publishedDate);
+
+        verify(reservationRepository).markSagaPublished(List.of(RESERVATION_ID), publishedDate);
+
+        assertThat(meterRegistry.get("reservation.saga.stage").tag("stage", "published").timer().count()).isEqualTo(1L);
+        assertThat(meterRegistry.get("reservation.saga.stage").tag("stage", "published").timer().totalTime(TimeUnit.MILLISECONDS))
+                .isEqualTo(250.0);
+    }
+
+    @Test
+    void complete_shouldRecordStagesAndSagaDuration() {
+        final Instant sagaStartedDate = Instant.now().minusSeconds(3L);
+        final Instant validatedDate = sagaStartedDate.plusSeconds(2L);
+        final Reservation reservation = Reservation.builder()
+                .status(ReservationStatus.RESERVATION_REJECTED)
+                .sagaStartedDate(sagaStartedDate)
+                .sagaPublishedDate(sagaStartedDate.plusSeconds(1L))
+                .build();
+
+        testee.complete(reservation, validatedDate);
+
+        assertThat(reservation.getSagaValidatedDate()).isEqualTo(validatedDate);
+        assertThat(reservation.getSagaCompletedDate()).isAfterOrEqualTo(validatedDate);
+        assertThat(meterRegistry.get("reservation.saga.stage").tag("stage", "validated").timer().totalTime(TimeUnit.SECONDS))
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("reservation.saga.stage").tag("stage", "completed").timer().count()).isEqualTo(1L);
+        assertThat(meterRegistry.get("reservation.saga.duration").tag("outcome", "rejected").timer().count()).isEqualTo(1L);
+    }
+
+    @Test
+    void complete_withoutValidatedDate_shouldOnlyRecordSagaDuration() {
+        final Reservation reservation = Reservation.builder()
+                .status(ReservationStatus.RESERVATION_CONFIRMED)
+                .sagaStartedDate(Instant.now().minusSeconds(1L))
+                .build();
+
+        testee.complete(reservation, null);
+
+        assertThat(meterRegistry.find("reservation.saga.stage").timer()).isNull();
+        assertThat(meterRegistry.get("reservation.saga.duration").tag("outcome", "confirmed").timer().count()).isEqualTo(1L);
+    }
+
+    @Test
+    void refreshStuckReservationCount_shouldCountPendingSagasOlderThanThreshold() {
+        when(reservationRepository.countByStatusInAndSagaStartedDateBefore(eq(ReservationSagaTracker.PENDING_STATUSES), any(Instant.class)))
+                .thenReturn(4L);
+
+        testee.refreshStuckReservationCount();
+
+        assertThat(meterRegistry.get("reservation.saga.stuck").gauge().value()).isEqualTo(4.0);
+    }
+
+    private ReservationEvent buildReservationEvent(final EventType eventType) {
+        return ReservationEvent.builder()
+                .aggregateId(RESERVATION_ID)
+                .eventType(eventType)
+                .build();
+    }
+}
@@ -6,20 +6,25 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.validation.Errors;
 import upgrade.challenge.reservation.domain.EventType;
 import upgrade.challenge.reservation.domain.Reservation;
+import upgrade.challenge.reservation.domain.ReservationCursor;
 import upgrade.challenge.reservation.domain.ReservationEvent;
 import upgrade.challenge.reservation.domain.ReservationStatus;
+import upgrade.challenge.reservation.domain.ReservationSummary;
 import upgrade.challenge.reservation.exception.NotFoundException;
 import upgrade.challenge.reservation.exception.ValidationException;
 import upgrade.challenge.reservation.repository.ReservationRepository;
 import upgrade.challenge.reservation.validator.ReservationValidator;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
@@ -29,10 +34,15 @@ import static org.mockito.Mockito.*;
 class ReservationServiceTest {
 
     private static final String EMAIL = "email@test.com";
+    private static final String IDEMPOTENCY_KEY = "8e03978e-40d5-43e8-bc93-6894a57f9324";
     private static final Long RESERVATION_ID = 123456789L;
+    private static final Instant VALIDATED_DATE = Instant.parse("2022-02-01T10:00:00Z");
 
     private ReservationService testee;
 
+    @Mock
+    private IdempotencyKeyService idempotencyKeyService;
+
     @Mock
     private ReservationEventFactory reservationEventFactory;
 
@@ -42,6 +52,9 @@ class ReservationServiceTest {
     @Mock
     private ReservationRepository reservationRepository;
 
+    @Mock
+    private ReservationSagaTracker reservationSagaTracker;
+
     @Mock
     private ReservationValidator reservationValidator;
 
@@ -50,7 +63,8 @@ class ReservationServiceTest {
 
     @BeforeEach
     void setUp() {
-        testee = new ReservationService(reservationEventFactory, reservationEventService, reservationRepository, reservationValidator);
+        testee = new ReservationService(idempotencyKeyService, reservationEventFactory, reservationEventService, reservationRepository,
+                reservationSagaTracker, reservationValidator);
         reservation = buildReservation(null);
         reservationEvent = ReservationEvent.builder().build();
     }
@@ -63,23 +77,39 @@ class ReservationServiceTest {
         when(reservationRepository.findById(RESERVATION_ID)).thenReturn(Optional.of(existingTransaction));
         when(reservationRepository.save(any(Reservation.class))).thenReturn(existingTransaction);
 
-        testee.confirmReservation(RESERVATION_ID);
+        testee.confirmReservation(RESERVATION_ID, VALIDATED_DATE);
 
         verify(reservationRepository).findById(RESERVATION_ID);
         verify(reservationRepository).save(argumentCaptor.capture());
 
+        verify(reservationSagaTracker).complete(existingTransaction, VALIDATED_DATE);
+
         final Reservation expected = existingTransaction.setStatus(ReservationStatus.RESERVATION_CONFIRMED);
         final Reservation actual = argumentCaptor.getValue();
 
         assertThat(actual).isEqualTo(expected);
     }
 
+    @Test
+    void rollbackReservation() {
+        final Reservation existingTransaction = buildReservation();
+
+        when(reservationRepository.findById(RESERVATION_ID)).thenReturn(Optional.of(existingTransaction));
+        when(reservationRepository.save(existingTransaction)).thenReturn(existingTransaction);
+
+        final Reservation actual = testee.rollbackReservation(RESERVATION_ID, VALIDATED_DATE);
+
+        assertThat(actual.getStatus()).isEqualTo(ReservationStatus.RESERVATION_REJECTED);
+
+        verify(reservationSagaTracker).complete(existingTransaction, VALIDATED_DATE);
+    }
+
     @Test
     void confirmReservation_withReservationNotFound_shouldThrowException() {
         when(reservationRepository.findById(RESERVATION_ID)).thenReturn(Optional.empty());
 
         assertThatExceptionOfType(NotFoundException.class)
-                .isThrownBy(() -> testee.confirmReservation(RESERVATION_ID));
+                .isThrownBy(() -> testee.confirmReservation(RESERVATION_ID, VALIDATED_DATE));
 
         verify(reservationRepository).findById(RESERVATION_ID);
         verifyNoMoreInteractions(reservationRepository);
@@ -113,7 +143,7 @@ class ReservationServiceTest {
         when(reservationRepository.findById(RESERVATION_ID)).thenReturn(Optional.empty());
 
         assertThatExceptionOfType(NotFoundException.class)
-                .isThrownBy(() -> testee.confirmReservation(RESERVATION_ID));
+                .isThrownBy(() -> testee.confirmReservation(RESERVATION_ID, VALIDATED_DATE));
 
         verify(reservationRepository).findById(RESERVATION_ID);
         verifyNoMoreInteractions(reservationRepository);
@@ -145,6 +175,7 @@ class ReservationServiceTest {
         assertThat(actual).isEqualTo(expected);
 
         verify(reservationValidator).validate(eq(reservation), isA(Errors.class));
+        verify(reservationSagaTracker).start(reservation);
         verify(reservationRepository).save(reservation);
         verify(reservationEventFactory).buildReservationEvent(expected, EventType.RESERVATION_CREATED);
         verify(reservationEventService).create(reservationEvent);
@@ -180,17 +211,81 @@ class ReservationServiceTest {
     }
 
     @Test
-    void getAllReservationsByEmail() {
-        final List<Reservation> expected = List.of(buildReservation(), buildReservation());
+    void createReservation_withNewIdempotencyKey_shouldCreateReservationAndRecordKey() {
+        final Reservation expected = reservation.setId(RESERVATION_ID);
 
-        when(reservationRepository.findAllByGuestEmailOrderByCreatedDateDesc(EMAIL))
-                .thenReturn(expected);
+        when(idempotencyKeyService.findReservationId(IDEMPOTENCY_KEY, reservation)).thenReturn(Optional.empty());
+        when(reservationRepository.save(reservation)).thenReturn(expected);
+        when(reservationEventFactory.buildReservationEvent(expected, EventType.RESERVATION_CREATED))
+                .thenReturn(reservationEvent);
+
+        final Reservation actual = testee.createReservation(reservation, IDEMPOTENCY_KEY);
+
+        assertThat(actual).isEqualTo(expected);
+
+        verify(reservationValidator).validate(eq(reservation), isA(Errors.class));
+        verify(reservationEventService).create(reservationEvent);
+        verify(idempotencyKeyService).create(IDEMPOTENCY_KEY, expected);
+    }
+
+    @Test
+    void createReservation_withKnownIdempotencyKey_shouldReturnExistingReservation() {
+        final Reservation expected = buildReservation();
+
+        when(idempotencyKeyService.findReservationId(IDEMPOTENCY_KEY, reservation)).thenReturn(Optional.of(RESERVATION_ID));
+        when(reservationRepository.findById(RESERVATION_ID)).thenReturn(Optional.of(expected));
 
-        final List<Reservation> actual = testee.getAllReservationsByEmail(EMAIL);
+        final Reservation actual = testee.createReservation(reservation, IDEMPOTENCY_KEY);
 
         assertThat(actual).isEqualTo(expected);
 
-        verify(reservationRepository).findAllByGuestEmailOrderByCreatedDateDesc(EMAIL);
+        verify(idempotencyKeyService, never()).create(any(), any());
+        verify(reservationRepository, never()).save(any());
+        verifyNoInteractions(reservationValidator, reservationSagaTracker, reservationEventFactory, reservationEventService);
+    }
+
+    @Test
+    void getReservationsByEmail_withoutCursor_shouldStreamFirstPage() {
+        final ReservationSummary reservationSummary = mock(ReservationSummary.class);
+
+        when(reservationRepository.streamSummariesByGuestEmail(EMAIL, PageRequest.of(0, 10)))
+                .thenReturn(Stream.of(reservationSummary));
+
+        final List<ReservationSummary> actual = testee.getReservationsByEmail(EMAIL, null, 10);
+
+        assertThat(actual).containsExactly(reservationSummary);
+
+        verify(reservationRepository).streamSummariesByGuestEmail(EMAIL, PageRequest.of(0, 10));
+    }
+
+    @Test
+    void getReservationsByEmail_withCursor_shouldStreamPageAfterCursor() {
+        final ReservationSummary reservationSummary = mock(ReservationSummary.class);
+        final ReservationCursor cursor = new ReservationCursor(Instant.now(), RESERVATION_ID);
+
+        when(reservationRepository.streamSummariesByGuestEmailAfter(EMAIL, cursor.getCreatedDate(), RESERVATION_ID, PageRequest.of(0, 10)))
+                .thenReturn(Stream.of(reservationSummary));
+
+        final List<ReservationSummary> actual = testee.getReservationsByEmail(EMAIL, cursor, 10);
+
+        assertThat(actual).containsExactly(reservationSummary);
+
+        verify(reservationRepository, never()).streamSummariesByGuestEmail(any(), any());
+    }
+
+    @Test
+    void getStuckReservations_withoutPendingDuration_shouldUseStuckThreshold() {
+        final List<Reservation> expected = List.of(buildReservation());
+        final Instant cutoffUpperBound = Instant.now().minus(Duration.ofMinutes(1L));
+
+        when(reservationSagaTracker.getStuckThreshold()).thenReturn(Duration.ofMinutes(1L));
+        when(reservationRepository.findTop100ByStatusInAndSagaStartedDateBeforeOrderBySagaStartedDate(
+                eq(ReservationSagaTracker.PENDING_STATUSES), argThat(cutoff -> !cutoff.isBefore(cutoffUpperBound))))
+                .thenReturn(expected);
+
+        final List<Reservation> actual = testee.getStuckReservations(null);
+
+        assertThat(actual).isEqualTo(expected);
     }
 
     @Test
@@ -216,6 +311,7 @@ class ReservationServiceTest {
 
         verify(reservationRepository).findById(RESERVATION_ID);
         verify(reservationValidator).validate(eq(expected), isA(Errors.class));
+        verify(reservationSagaTracker).start(expected);
         verify(reservationRepository).save(expected);
         verify(reservationEventFactory).buildReservationEvent(expected, EventType.RESERVATION_MODIFIED);
         verify(reservationEventService).create(reservationEvent);
@@ -10,10 +10,16 @@ import org.junit.jupiter.params.provider.NullAndEmptySource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 import upgrade.challenge.reservation.domain.Reservation;
+import upgrade.challenge.reservation.domain.ReservationCursor;
 import upgrade.challenge.reservation.domain.ReservationStatus;
+import upgrade.challenge.reservation.domain.ReservationSummary;
+import upgrade.challenge.reservation.exception.InvalidRequestParameterException;
 import upgrade.challenge.reservation.v1.service.ReservationService;
 import upgrade.challenge.reservation.v1.v1.dto.ReservationDto;
+import upgrade.challenge.reservation.v1.v1.dto.ReservationPageDto;
 import upgrade.challenge.reservation.v1.v1.dto.ReservationResponseDto;
 import upgrade.challenge.reservation.v1.v1.dto.UpdateReservationDatesDto;
 import upgrade.challenge.reservation.v1.v1.mapper.ReservationMapper;
@@ -22,17 +28,24 @@ import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class ReservationAdapterTest {
 
     private static final String EMAIL = "email@test.com";
+    private static final String IDEMPOTENCY_KEY = "8e03978e-40d5-43e8-bc93-6894a57f9324";
     private static final Long RESERVATION_ID = 123456789L;
+    private static final int PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
 
     private ReservationAdapter testee;
 
@@ -48,7 +61,7 @@ class ReservationAdapterTest {
 
     @BeforeEach
     void setUp() {
-        testee = new ReservationAdapter(reservationMapper, reservationService);
+        testee = new ReservationAdapter(reservationMapper, reservationService, PAGE_SIZE, MAX_PAGE_SIZE);
         reservation = buildReservation();
         reservationDto = buildReservationDto();
         updateReservationDatesDto = buildUpdateReservationDatesDto();
@@ -73,48 +86,75 @@ class ReservationAdapterTest {
     }
 
     @Test
-    void getAllReservationsByEmail() {
-        final Reservation reservation = Reservation.builder().build();
+    void getReservationsByEmail_withFullPage_shouldReturnNextCursor() {
+        final ReservationCursor cursor = new ReservationCursor(Instant.now(), RESERVATION_ID);
+        final ReservationSummary firstReservationSummary = buildReservationSummary(2L, Instant.now());
+        final ReservationSummary lastReservationSummary = buildReservationSummary(1L, Instant.now());
         final ReservationResponseDto reservationResponseDto = buildReservationResponseDto();
-        final List<ReservationResponseDto> expected = List.of(reservationResponseDto, reservationResponseDto);
 
-        when(reservationService.getAllReservationsByEmail(EMAIL))
-                .thenReturn(List.of(reservation, reservation));
-        when(reservationMapper.mapToDto(reservation)).thenReturn(reservationResponseDto);
+        when(reservationMapper.mapToCursor("cursor")).thenReturn(cursor);
+        when(reservationService.getReservationsByEmail(EMAIL, cursor, 2))
+                .thenReturn(List.of(firstReservationSummary, lastReservationSummary));
+        when(reservationMapper.mapToDto(any(ReservationSummary.class))).thenReturn(reservationResponseDto);
+        when(reservationMapper.mapToCursorToken(ReservationCursor.after(lastReservationSummary))).thenReturn("next-cursor");
 
-        final List<ReservationResponseDto> actual = testee.getAllReservationsByEmail(EMAIL);
+        final ReservationPageDto actual = testee.getReservationsByEmail(EMAIL, "cursor", 2);
 
-        assertThat(actual).isEqualTo(expected);
+        assertThat(actual.getReservations()).containsExactly(reservationResponseDto, reservationResponseDto);
+        assertThat(actual.getNextCursor()).isEqualTo("next-cursor");
 
-        verify(reservationService).getAllReservationsByEmail(EMAIL);
-        verify(reservationMapper, times(2)).mapToDto(reservation);
+        verify(reservationService).getReservationsByEmail(EMAIL, cursor, 2);
     }
 
     @Test
-    void getAllReservationsByEmail_withEmptyResult() {
-        final List<ReservationResponseDto> expected = Collections.emptyList();
+    void getReservationsByEmail_withLastPage_shouldNotReturnNextCursor() {
+        final ReservationSummary reservationSummary = buildReservationSummary(RESERVATION_ID, Instant.now());
+        final ReservationResponseDto reservationResponseDto = buildReservationResponseDto();
 
-        when(reservationService.getAllReservationsByEmail(EMAIL)).thenReturn(Collections.emptyList());
+        when(reservationService.getReservationsByEmail(EMAIL, null, PAGE_SIZE)).thenReturn(List.of(reservationSummary));
+        when(reservationMapper.mapToDto(reservationSummary)).thenReturn(reservationResponseDto);
 
-        final List<ReservationResponseDto> actual = testee.getAllReservationsByEmail(EMAIL);
+        final ReservationPageDto actual = testee.getReservationsByEmail(EMAIL, null, null);
 
-        assertThat(actual).isEqualTo(expected);
+        assertThat(actual.getReservations()).containsExactly(reservationResponseDto);
+        assertThat(actual.getNextCursor()).isNull();
+
+        verify(reservationMapper, never()).mapToCursorToken(any());
+    }
+
+    @Test
+    void getReservationsByEmail_withLimitAboveMaxPageSize_shouldUseMaxPageSize() {
+        when(reservationService.getReservationsByEmail(EMAIL, null, MAX_PAGE_SIZE)).thenReturn(Collections.emptyList());
+
+        final ReservationPageDto actual = testee.getReservationsByEmail(EMAIL, null, MAX_PAGE_SIZE + 1);
+
+        assertThat(actual.getReservations()).isEmpty();
+        assertThat(actual.getNextCursor()).isNull();
 
-        verify(reservationService).getAllReservationsByEmail(EMAIL);
-        verifyNoInteractions(reservationMapper);
+        verify(reservationService).getReservationsByEmail(EMAIL, null, MAX_PAGE_SIZE);
     }
 
     @ParameterizedTest
     @NullAndEmptySource
     @ValueSource(strings = {" "})
-    void getAllReservationsByEmail_withInvalidEmail_shouldThrowException(final String email) {
+    void getReservationsByEmail_withInvalidEmail_shouldThrowException(final String email) {
         assertThatIllegalArgumentException()
-                .isThrownBy(() -> testee.getAllReservationsByEmail(email))
+                .isThrownBy(() -> testee.getReservationsByEmail(email, null, null))
                 .withMessage("The email parameter is mandatory.");
 
         verifyNoInteractions(reservationService, reservationMapper);
     }
 
+    @ParameterizedTest
+    @ValueSource(ints = {0, -1})
+    void getReservationsByEmail_withInvalidLimit_shouldThrowException(final int limit) {
+        assertThatExceptionOfType(InvalidRequestParameterException.class)
+                .isThrownBy(() -> testee.getReservationsByEmail(EMAIL, null, limit))
+                .withMessage("The limit parameter must be positive.");
+
+        verifyNoInteractions(reservationService, reservationMapper);
+    }
+
     @Test
     void makeReservation() {
         final ReservationResponseDto expected = buildReservationResponseDto(reservationDto.getArrivalDate(),
@@ -124,7 +164,7 @@ class ReservationAdapterTest {
         when(reservationService.createReservation(reservation)).thenReturn(reservation);
         when(reservationMapper.mapToDto(reservation)).thenReturn(expected);
 
-        final ReservationResponseDto actual = testee.makeReservation(reservationDto);
+        final ReservationResponseDto actual = testee.makeReservation(reservationDto, null);
 
         assertThat(actual).isEqualTo(expected);
 
@@ -136,10 +176,66 @@ class ReservationAdapterTest {
     @Test
     void makeReservation_withMissingReservationDto_shouldThrowException() {
         assertThatIllegalArgumentException()
-                .isThrownBy(() -> testee.makeReservation(null))
+                .isThrownBy(() -> testee.makeReservation(null, null))
                 .withMessage("The reservationDto is mandatory.");
     }
 
+    @Test
+    void makeReservation_withIdempotencyKey_shouldCreateReservationOnce() {
+        final ReservationResponseDto expected = buildReservationResponseDto();
+
+        when(reservationMapper.mapToEntity(reservationDto)).thenReturn(reservation);
+        when(reservationService.createReservation(reservation, IDEMPOTENCY_KEY)).thenReturn(reservation);
+        when(reservationMapper.mapToDto(reservation)).thenReturn(expected);
+
+        final ReservationResponseDto actual = testee.makeReservation(reservationDto, IDEMPOTENCY_KEY);
+
+        assertThat(actual).isEqualTo(expected);
+
+        verify(reservationService).createReservation(reservation, IDEMPOTENCY_KEY);
+        verify(reservationService, never()).createReservation(reservation);
+    }
+
+    @Test
+    void makeReservation_withConcurrentlyRecordedIdempotencyKey_shouldReturnRecordedReservation() {
+        final Reservation existingReservation = buildReservation();
+        final ReservationResponseDto expected = buildReservationResponseDto();
+
+        when(reservationMapper.mapToEntity(reservationDto)).thenReturn(reservation);
+        when(reservationService.createReservation(reservation, IDEMPOTENCY_KEY))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(reservationService.findReservationByIdempotencyKey(IDEMPOTENCY_KEY, reservation))
+                .thenReturn(Optional.of(existingReservation));
+        when(reservationMapper.mapToDto(existingReservation)).thenReturn(expected);
+
+        final ReservationResponseDto actual = testee.makeReservation(reservationDto, IDEMPOTENCY_KEY);
+
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    void makeReservation_withDataIntegrityViolationAndNoRecordedKey_shouldThrowSameException() {
+        final DataIntegrityViolationException exception = new DataIntegrityViolationException("error");
+
+        when(reservationMapper.mapToEntity(reservationDto)).thenReturn(reservation);
+        when(reservationService.createReservation(reservation, IDEMPOTENCY_KEY)).thenThrow(exception);
+        when(reservationService.findReservationByIdempotencyKey(IDEMPOTENCY_KEY, reservation)).thenReturn(Optional.empty());
+
+        assertThatExceptionOfType(DataIntegrityViolationException.class)
+                .isThrownBy(() -> testee.makeReservation(reservationDto, IDEMPOTENCY_KEY))
+                .isSameAs(exception);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", " "})
+    void makeReservation_withBlankIdempotencyKey_shouldThrowException(final String idempotencyKey) {
+        assertThatExceptionOfType(InvalidRequestParameterException.class)
+                .isThrownBy(() -> testee.makeReservation(reservationDto, idempotencyKey))
+                .withMessage("The Idempotency-Key header must be between 1 and 255 characters long.");
+
+        verifyNoInteractions(reservationService);
+    }
+
     @Test
     void updateReservationDates() {
         final ReservationResponseDto expected = buildReservationResponseDto();
@@ -225,4 +321,13 @@ class ReservationAdapterTest {
                 .departureDate(now.plus(1L, ChronoUnit.DAYS))
                 .build();
     }
+
+    private ReservationSummary buildReservationSummary(final Long id, final Instant createdDate) {
+        return new SpelAwareProxyProjectionFactory().createProjection(ReservationSummary.class, Map.of(
+                "id", id,
+                "status", ReservationStatus.RESERVATION_CONFIRMED,
+                "arrivalDate", Instant.now(),
+                "departureDate", Instant.now(),
+                "createdDate", createdDate));
+    }
 }
@@ -2,16 +2,22 @@ package upgrade.challenge.reservation.v1.v1.mapper;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import upgrade.challenge.reservation.domain.Reservation;
+import upgrade.challenge.reservation.domain.ReservationCursor;
 import upgrade.challenge.reservation.domain.ReservationStatus;
+import upgrade.challenge.reservation.exception.InvalidRequestParameterException;
 import upgrade.challenge.reservation.v1.v1.dto.ReservationDto;
 import upgrade.challenge.reservation.v1.v1.dto.ReservationResponseDto;
+import upgrade.challenge.reservation.v1.v1.dto.ReservationSagaDto;
 import upgrade.challenge.reservation.v1.v1.dto.UpdateReservationDatesDto;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 class ReservationMapperTest {
 
@@ -40,6 +46,44 @@ class ReservationMapperTest {
         assertThat(actual).isEqualTo(expected);
     }
 
+    @Test
+    void mapToCursor_withCursorToken_shouldReturnEncodedCursor() {
+        final ReservationCursor expected = new ReservationCursor(arrivalDate, RESERVATION_ID);
+
+        final ReservationCursor actual = testee.mapToCursor(testee.mapToCursorToken(expected));
+
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    void mapToCursor_withNullCursorToken_shouldReturnNull() {
+        assertThat(testee.mapToCursor(null)).isNull();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"not base64!", "bm8tc2VwYXJhdG9y", "bm90LWEtZGF0ZV8x"})
+    void mapToCursor_withInvalidCursorToken_shouldThrowException(final String cursorToken) {
+        assertThatExceptionOfType(InvalidRequestParameterException.class)
+                .isThrownBy(() -> testee.mapToCursor(cursorToken))
+                .withMessage("The cursor parameter is invalid.");
+    }
+
+    @Test
+    void mapToSagaDto() {
+        final Reservation reservation = buildReservation()
+                .setSagaStartedDate(arrivalDate)
+                .setSagaPublishedDate(arrivalDate.plusSeconds(1L));
+
+        final ReservationSagaDto actual = testee.mapToSagaDto(reservation);
+
+        assertThat(actual).isEqualTo(ReservationSagaDto.builder()
+                .reservationId(RESERVATION_ID.toString())
+                .status(reservation.getStatus().toString())
+                .sagaStartedDate(arrivalDate)
+                .sagaPublishedDate(arrivalDate.plusSeconds(1L))
+                .build());
+    }
+
     @Test
     void mapToEntity() {
         final Reservation expected = buildReservation()
@@ -14,9 +14,13 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import upgrade.challenge.reservation.domain.ReservationStatus;
+import upgrade.challenge.reservation.exception.IdempotencyKeyReusedException;
+import upgrade.challenge.reservation.exception.InvalidRequestParameterException;
 import upgrade.challenge.reservation.v1.v1.adapter.ReservationAdapter;
 import upgrade.challenge.reservation.v1.v1.dto.ReservationDto;
+import upgrade.challenge.reservation.v1.v1.dto.ReservationPageDto;
 import upgrade.challenge.reservation.v1.v1.dto.ReservationResponseDto;
+import upgrade.challenge.reservation.v1.v1.dto.ReservationSagaDto;
 import upgrade.challenge.reservation.v1.v1.dto.UpdateReservationDatesDto;
 import upgrade.challenge.reservation.v1.v1.web.handler.ErrorMessage;
 
@@ -27,9 +31,12 @@ import java.util.List;
 import java.util.stream.Stream;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ReservationController.class)
@@ -37,6 +44,7 @@ class ReservationControllerTest {
 
     private static final String CONTROLLER_BASE_URL = "/api/reservation/v1.1";
     private static final String EMAIL = "email@test.com";
+    private static final String IDEMPOTENCY_KEY = "8e03978e-40d5-43e8-bc93-6894a57f9324";
     private static final String INVALID_FIELD_ERROR_MESSAGE = "Invalid field(s) provided";
     private static final Long RESERVATION_ID = 123456789L;
     private static final String REQUEST_BODY_MISSING_ERROR_MESSAGE = "Request body is missing";
@@ -57,26 +65,86 @@ class ReservationControllerTest {
     }
 
     @Test
-    void getAllReservationsByEmail_shouldReturn200Ok() throws Exception {
+    void getReservationsByEmail_shouldReturn200Ok() throws Exception {
         final List<ReservationResponseDto> expected = List.of(
                 buildReservationResponseDto(Instant.now(), Instant.now().plus(1L, ChronoUnit.DAYS)),
                 buildReservationResponseDto(Instant.now(), Instant.now().plus(1L, ChronoUnit.DAYS))
         );
 
-        when(reservationAdapter.getAllReservationsByEmail(EMAIL))
-                .thenReturn(expected);
+        when(reservationAdapter.getReservationsByEmail(EMAIL, null, null))
+                .thenReturn(ReservationPageDto.builder().reservations(expected).build());
 
         this.mockMvc.perform(get(CONTROLLER_BASE_URL)
                         .param("email", EMAIL))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
                 .andExpect(content().string(objectMapper.writeValueAsString(expected)));
 
-        verify(reservationAdapter).getAllReservationsByEmail(EMAIL);
+        verify(reservationAdapter).getReservationsByEmail(EMAIL, null, null);
+    }
+
+    @Test
+    void getReservationsByEmail_withCursorAndLimit_shouldReturnNextCursorHeader() throws Exception {
+        final List<ReservationResponseDto> expected = List.of(
+                buildReservationResponseDto(Instant.now(), Instant.now().plus(1L, ChronoUnit.DAYS)));
+
+        when(reservationAdapter.getReservationsByEmail(EMAIL, "cursor", 1))
+                .thenReturn(ReservationPageDto.builder().reservations(expected).nextCursor("next-cursor").build());
+
+        this.mockMvc.perform(get(CONTROLLER_BASE_URL)
+                        .param("email", EMAIL)
+                        .param("cursor", "cursor")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "next-cursor"))
+                .andExpect(content().string(objectMapper.writeValueAsString(expected)));
+
+        verify(reservationAdapter).getReservationsByEmail(EMAIL, "cursor", 1);
+    }
+
+    @Test
+    void getReservationsByEmail_withInvalidCursor_shouldReturn400BadRequest() throws Exception {
+        when(reservationAdapter.getReservationsByEmail(EMAIL, "invalid", null))
+                .thenThrow(new InvalidRequestParameterException("The cursor parameter is invalid."));
+
+        this.mockMvc.perform(get(CONTROLLER_BASE_URL)
+                        .param("email", EMAIL)
+                        .param("cursor", "invalid"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(objectMapper.writeValueAsString(
+                        buildErrorMessage("The cursor parameter is invalid."))));
+    }
+
+    @Test
+    void getReservationsByEmail_withIllegalArgumentException_shouldReturn500InternalServerError() throws Exception {
+        when(reservationAdapter.getReservationsByEmail(EMAIL, null, null))
+                .thenThrow(new IllegalArgumentException("Unexpected argument"));
+
+        this.mockMvc.perform(get(CONTROLLER_BASE_URL)
+                        .param("email", EMAIL))
+                .andExpect(status().isInternalServerError());
+    }
+
+    @Test
+    void getStuckReservations_shouldReturn200Ok() throws Exception {
+        final List<ReservationSagaDto> expected = List.of(ReservationSagaDto.builder()
+                .reservationId(RESERVATION_ID.toString())
+                .status("RESERVATION_PENDING")
+                .build());
+
+        when(reservationAdapter.getStuckReservations(300L)).thenReturn(expected);
+
+        this.mockMvc.perform(get(CONTROLLER_BASE_URL + "/stuck")
+                        .param("pendingForSeconds", "300"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(objectMapper.writeValueAsString(expected)));
+
+        verify(reservationAdapter).getStuckReservations(300L);
     }
 
     @ParameterizedTest
     @NullSource
-    void getAllReservationsByEmail_withMissingEmailRequestParameter_shouldReturn400BadRequest(final String email) throws Exception {
+    void getReservationsByEmail_withMissingEmailRequestParameter_shouldReturn400BadRequest(final String email) throws Exception {
         this.mockMvc.perform(get(CONTROLLER_BASE_URL)
                         .queryParam("email", email))
                 .andExpect(status().isBadRequest())
@@ -93,7 +161,7 @@ class ReservationControllerTest {
                 reservationDto.getArrivalDate(),
                 reservationDto.getDepartureDate());
 
-        when(reservationAdapter.makeReservation(any(ReservationDto.class)))
+        when(reservationAdapter.makeReservation(any(ReservationDto.class), isNull()))
                 .thenReturn(expected);
 
         this.mockMvc.perform(post(CONTROLLER_BASE_URL)
@@ -102,7 +170,56 @@ class ReservationControllerTest {
                 .andExpect(status().isCreated())
                 .andExpect(content().string(objectMapper.writeValueAsString(expected)));
 
-        verify(reservationAdapter).makeReservation(any(ReservationDto.class));
+        verify(reservationAdapter).makeReservation(any(ReservationDto.class), isNull());
+    }
+
+    @Test
+    void makeReservation_withIdempotencyKeyHeader_shouldPassKeyToAdapter() throws Exception {
+        final ReservationResponseDto expected = buildReservationResponseDto(
+                reservationDto.getArrivalDate(),
+                reservationDto.getDepartureDate());
+
+        when(reservationAdapter.makeReservation(any(ReservationDto.class), eq(IDEMPOTENCY_KEY)))
+                .thenReturn(expected);
+
+        this.mockMvc.perform(post(CONTROLLER_BASE_URL)
+                        .header("Idempotency-Key", IDEMPOTENCY_KEY)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(reservationDto)))
+                .andExpect(status().isCreated())
+                .andExpect(content().string(objectMapper.writeValueAsString(expected)));
+
+        verify(reservationAdapter).makeReservation(any(ReservationDto.class), eq(IDEMPOTENCY_KEY));
+    }
+
+    @Test
+    void makeReservation_withReusedIdempotencyKey_shouldReturn422UnprocessableEntity() throws Exception {
+        when(reservationAdapter.makeReservation(any(ReservationDto.class), eq(IDEMPOTENCY_KEY)))
+                .thenThrow(new IdempotencyKeyReusedException());
+
+        this.mockMvc.perform(post(CONTROLLER_BASE_URL)
+                        .header("Idempotency-Key", IDEMPOTENCY_KEY)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(reservationDto)))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(content().string(objectMapper.writeValueAsString(
+                        buildErrorMessage("The Idempotency-Key was already used for a different reservation."))));
+    }
+
+    @Test
+    void makeReservation_withInvalidIdempotencyKey_shouldReturn400BadRequest() throws Exception {
+        final String idempotencyKey = "k".repeat(256);
+
+        when(reservationAdapter.makeReservation(any(ReservationDto.class), eq(idempotencyKey)))
+                .thenThrow(new InvalidRequestParameterException("The Idempotency-Key header must be between 1 and 255 characters long."));
+
+        this.mockMvc.perform(post(CONTROLLER_BASE_URL)
+                        .header("Idempotency-Key", idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(reservationDto)))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(objectMapper.writeValueAsString(
+                        buildErrorMessage("The Idempotency-Key header must be between 1 and 255 characters long."))));
     }
 
     @Test